@@ -0,0 +1,89 @@
+package de.wagner1975.eezycollectionz;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Starts the application context for benchmarks. By default an embedded PostgreSQL is started
+ * within the benchmark JVM; an external database can be used by setting the system properties
+ * {@code benchmark.jdbc-url}, {@code benchmark.username} and {@code benchmark.password}.
+ * Further Spring profiles, e.g. {@code prod}, can be activated in addition to {@code benchmark}.
+ * Benchmarks of the HTTP layer start the embedded web server on a random port.
+ */
+public final class BenchmarkEnvironment implements AutoCloseable {
+
+  private static final String JDBC_URL_PROPERTY = "benchmark.jdbc-url";
+
+  private final EmbeddedPostgres embeddedPostgres;
+
+  private final ConfigurableApplicationContext context;
+
+  private BenchmarkEnvironment(EmbeddedPostgres embeddedPostgres, ConfigurableApplicationContext context) {
+    this.embeddedPostgres = embeddedPostgres;
+    this.context = context;
+  }
+
+  public static BenchmarkEnvironment start(String... additionalProperties) throws IOException {
+    return startWithProfiles(new String[0], additionalProperties);
+  }
+
+  public static BenchmarkEnvironment startWithProfiles(String[] profiles, String... additionalProperties) throws IOException {
+    return start(WebApplicationType.NONE, profiles, additionalProperties);
+  }
+
+  public static BenchmarkEnvironment startServer(String... additionalProperties) throws IOException {
+    return start(WebApplicationType.SERVLET, new String[0], additionalProperties);
+  }
+
+  private static BenchmarkEnvironment start(
+    WebApplicationType webApplicationType,
+    String[] profiles,
+    String... additionalProperties) throws IOException {
+    var jdbcUrl = System.getProperty(JDBC_URL_PROPERTY);
+    var username = System.getProperty("benchmark.username", "postgres");
+    var password = System.getProperty("benchmark.password", "postgres");
+
+    EmbeddedPostgres embeddedPostgres = null;
+    if (Objects.isNull(jdbcUrl)) {
+      embeddedPostgres = EmbeddedPostgres.builder().start();
+      jdbcUrl = embeddedPostgres.getJdbcUrl(username, "postgres");
+    }
+
+    var context = new SpringApplicationBuilder(Application.class)
+      .web(webApplicationType)
+      .profiles("benchmark")
+      .profiles(profiles)
+      .properties(
+        "spring.datasource.url=" + jdbcUrl,
+        "spring.datasource.username=" + username,
+        "spring.datasource.password=" + password,
+        "server.port=0",
+        "logging.level.root=WARN")
+      .properties(additionalProperties)
+      .run();
+
+    return new BenchmarkEnvironment(embeddedPostgres, context);
+  }
+
+  public <T> T getBean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  public int getServerPort() {
+    return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+  }
+
+  @Override
+  public void close() throws IOException {
+    context.close();
+    if (Objects.nonNull(embeddedPostgres)) {
+      embeddedPostgres.close();
+    }
+  }
+}
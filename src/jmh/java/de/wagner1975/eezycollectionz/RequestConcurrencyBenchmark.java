@@ -0,0 +1,93 @@
+package de.wagner1975.eezycollectionz;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.wagner1975.eezycollectionz.collection.CollectionController;
+import de.wagner1975.eezycollectionz.collection.CollectionInput;
+import de.wagner1975.eezycollectionz.entry.EntryController;
+import de.wagner1975.eezycollectionz.entry.EntryInput;
+
+/**
+ * Measures how long the server takes to answer a number of concurrent clients, each requesting a
+ * page of entries, with requests served on the Tomcat thread pool or on virtual threads. Virtual
+ * threads are only used on Java 24 or later. Client and server run in the same JVM and hold a
+ * socket per client each, so the open files limit has to exceed twice the number of clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+  @Param({ "1000", "10000" })
+  public int clients;
+
+  @Param({ "false", "true" })
+  public boolean virtualThreads;
+
+  private BenchmarkEnvironment environment;
+
+  private HttpClient httpClient;
+
+  private HttpRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    environment = BenchmarkEnvironment.startServer(
+      "spring.threads.virtual.enabled=" + virtualThreads,
+      "server.tomcat.max-connections=" + (clients * 2),
+      "server.tomcat.accept-count=" + clients);
+
+    var collectionId = environment.getBean(CollectionController.class)
+      .create(CollectionInput.builder().name("Benchmark collection").build())
+      .getId();
+    var entryController = environment.getBean(EntryController.class);
+    for (var i = 0; i < 100; i++) {
+      entryController.create(EntryInput.builder().name("Benchmark entry").build(), collectionId);
+    }
+
+    httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    request = HttpRequest.newBuilder(URI.create(String.format(
+      "http://localhost:%d/api/entries?collectionId=%s&size=10", environment.getServerPort(), collectionId)))
+      .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    environment.close();
+  }
+
+  @Benchmark
+  public long serveAllClients() {
+    var responses = new CompletableFuture<?>[clients];
+    for (var i = 0; i < clients; i++) {
+      responses[i] = httpClient.sendAsync(request, BodyHandlers.discarding())
+        .thenApply(HttpResponse::statusCode);
+    }
+    CompletableFuture.allOf(responses).join();
+    return responses.length;
+  }
+}
@@ -0,0 +1,120 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import de.wagner1975.eezycollectionz.BenchmarkEnvironment;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CollectionServiceBenchmark {
+
+  private static final int EXISTING_COLLECTIONS = 1_000;
+
+  private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Direction.ASC, "createdAt"));
+
+  private static final PageRequest LAST_PAGE = PageRequest.of(EXISTING_COLLECTIONS / 10 - 1, 10, Sort.by(Direction.ASC, "createdAt"));
+
+  private BenchmarkEnvironment environment;
+
+  private CollectionService service;
+
+  private CollectionIdProvider provider;
+
+  private List<UUID> existingIds;
+
+  private KeysetCursor lastPageCursor;
+
+  private CollectionInput input;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    environment = BenchmarkEnvironment.start();
+    service = environment.getBean(CollectionService.class);
+    provider = environment.getBean(CollectionIdProvider.class);
+    input = CollectionInput.builder().name("Benchmark collection").build();
+
+    existingIds = new ArrayList<>(EXISTING_COLLECTIONS);
+    for (var i = 0; i < EXISTING_COLLECTIONS; i++) {
+      existingIds.add(service.create(input).orElseThrow().getId());
+    }
+
+    var beforeLastPage = service.findAll(LAST_PAGE.previous()).getContent();
+    var lastOfBeforeLastPage = beforeLastPage.get(beforeLastPage.size() - 1);
+    lastPageCursor = new KeysetCursor(lastOfBeforeLastPage.getCreatedAt(), lastOfBeforeLastPage.getId());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    environment.close();
+  }
+
+  @Benchmark
+  public Object create() {
+    return service.create(input);
+  }
+
+  @Benchmark
+  public Object update() {
+    return service.update(input, randomExistingId(), null);
+  }
+
+  @Benchmark
+  public Object findById() {
+    return service.findById(randomExistingId());
+  }
+
+  @Benchmark
+  public Object findAll() {
+    return service.findAll(FIRST_PAGE);
+  }
+
+  @Benchmark
+  public Object findAllLastPage() {
+    return service.findAll(LAST_PAGE);
+  }
+
+  @Benchmark
+  public Object scrollFirst() {
+    return service.scroll(null, 10);
+  }
+
+  @Benchmark
+  public Object scrollLast() {
+    return service.scroll(lastPageCursor, 10);
+  }
+
+  @Benchmark
+  public UUID generateId() {
+    return provider.generateId();
+  }
+
+  private UUID randomExistingId() {
+    return existingIds.get(ThreadLocalRandom.current().nextInt(existingIds.size()));
+  }
+}
@@ -0,0 +1,76 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import de.wagner1975.eezycollectionz.BenchmarkEnvironment;
+import de.wagner1975.eezycollectionz.collection.CollectionController;
+import de.wagner1975.eezycollectionz.collection.CollectionInput;
+
+/**
+ * Compares insert throughput of random (v4) and time-ordered (v7) entry ids. The size of the
+ * primary key index is printed on tear down, since B-tree page splits caused by random ids show
+ * up as a larger index for the same number of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EntryInsertBenchmark {
+
+  @Param({ "RANDOM", "TIME_ORDERED" })
+  public String idGenerator;
+
+  private BenchmarkEnvironment environment;
+
+  private EntryService service;
+
+  private UUID collectionId;
+
+  private EntryInput input;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    environment = BenchmarkEnvironment.start("eezycollectionz.id-generator=" + idGenerator);
+    service = environment.getBean(EntryService.class);
+    input = EntryInput.builder().name("Benchmark entry").build();
+
+    collectionId = environment.getBean(CollectionController.class)
+      .create(CollectionInput.builder().name("Benchmark collection").build())
+      .getId();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    var jdbcTemplate = environment.getBean(JdbcTemplate.class);
+    var rows = jdbcTemplate.queryForObject("SELECT count(*) FROM entry", Long.class);
+    var indexSize = jdbcTemplate.queryForObject("SELECT pg_relation_size('entry_pkey')", Long.class);
+    System.out.printf("%n%s: %d rows, primary key index %d bytes%n", idGenerator, rows, indexSize);
+
+    jdbcTemplate.update("DELETE FROM entry");
+    environment.close();
+  }
+
+  @Benchmark
+  public Object create() {
+    return service.create(input, collectionId);
+  }
+}
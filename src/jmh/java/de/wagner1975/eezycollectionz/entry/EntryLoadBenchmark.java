@@ -0,0 +1,113 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import de.wagner1975.eezycollectionz.BenchmarkEnvironment;
+import de.wagner1975.eezycollectionz.collection.CollectionController;
+import de.wagner1975.eezycollectionz.collection.CollectionInput;
+
+/**
+ * Compares the default configuration with the {@code prod} profile under concurrent load. More
+ * threads than pooled connections are used, so the pool sizing is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(32)
+@Fork(1)
+public class EntryLoadBenchmark {
+
+  private static final int EXISTING_ENTRIES = 1_000;
+
+  private static final int BULK_SIZE = 100;
+
+  private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Direction.ASC, "createdAt"));
+
+  @Param({ "default", "prod" })
+  public String profile;
+
+  private BenchmarkEnvironment environment;
+
+  private EntryService service;
+
+  private UUID collectionId;
+
+  private List<UUID> existingIds;
+
+  private EntryInput input;
+
+  private List<EntryInput> bulkInputs;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    var profiles = "prod".equals(profile) ? new String[] { "prod" } : new String[0];
+    environment = BenchmarkEnvironment.startWithProfiles(profiles);
+    service = environment.getBean(EntryService.class);
+    input = EntryInput.builder().name("Benchmark entry").build();
+    bulkInputs = Collections.nCopies(BULK_SIZE, input);
+
+    collectionId = environment.getBean(CollectionController.class)
+      .create(CollectionInput.builder().name("Benchmark collection").build())
+      .getId();
+
+    existingIds = new ArrayList<>(EXISTING_ENTRIES);
+    for (var i = 0; i < EXISTING_ENTRIES; i++) {
+      existingIds.add(service.create(input, collectionId).orElseThrow().getId());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    environment.close();
+  }
+
+  @Benchmark
+  public Object create() {
+    return service.create(input, collectionId);
+  }
+
+  @Benchmark
+  public Object createAll() {
+    return service.createAll(bulkInputs, collectionId);
+  }
+
+  @Benchmark
+  public Object update() {
+    return service.update(input, randomExistingId(), null);
+  }
+
+  @Benchmark
+  public Object findByCollectionId() {
+    return service.findByCollectionId(collectionId, FIRST_PAGE);
+  }
+
+  private UUID randomExistingId() {
+    return existingIds.get(ThreadLocalRandom.current().nextInt(existingIds.size()));
+  }
+}
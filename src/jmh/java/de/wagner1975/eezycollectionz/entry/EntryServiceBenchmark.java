@@ -0,0 +1,141 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import de.wagner1975.eezycollectionz.BenchmarkEnvironment;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+import de.wagner1975.eezycollectionz.collection.CollectionController;
+import de.wagner1975.eezycollectionz.collection.CollectionInput;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntryServiceBenchmark {
+
+  private static final int EXISTING_ENTRIES = 1_000;
+
+  private static final int BULK_SIZE = 1_000;
+
+  private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Direction.ASC, "createdAt"));
+
+  private static final PageRequest LAST_PAGE = PageRequest.of(EXISTING_ENTRIES / 10 - 1, 10, Sort.by(Direction.ASC, "createdAt"));
+
+  private BenchmarkEnvironment environment;
+
+  private EntryService service;
+
+  private EntryIdProvider provider;
+
+  private UUID collectionId;
+
+  private List<UUID> existingIds;
+
+  private KeysetCursor lastPageCursor;
+
+  private EntryInput input;
+
+  private List<EntryInput> bulkInputs;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    environment = BenchmarkEnvironment.start();
+    service = environment.getBean(EntryService.class);
+    provider = environment.getBean(EntryIdProvider.class);
+    input = EntryInput.builder().name("Benchmark entry").build();
+    bulkInputs = Collections.nCopies(BULK_SIZE, input);
+
+    collectionId = environment.getBean(CollectionController.class)
+      .create(CollectionInput.builder().name("Benchmark collection").build())
+      .getId();
+
+    existingIds = new ArrayList<>(EXISTING_ENTRIES);
+    for (var i = 0; i < EXISTING_ENTRIES; i++) {
+      existingIds.add(service.create(input, collectionId).orElseThrow().getId());
+    }
+
+    var beforeLastPage = service.findByCollectionId(collectionId, LAST_PAGE.previous()).getContent();
+    var lastOfBeforeLastPage = beforeLastPage.get(beforeLastPage.size() - 1);
+    lastPageCursor = new KeysetCursor(lastOfBeforeLastPage.createdAt(), lastOfBeforeLastPage.id());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    environment.close();
+  }
+
+  @Benchmark
+  public Object create() {
+    return service.create(input, collectionId);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BULK_SIZE)
+  public Object createAll() {
+    return service.createAll(bulkInputs, collectionId);
+  }
+
+  @Benchmark
+  public Object update() {
+    return service.update(input, randomExistingId(), null);
+  }
+
+  @Benchmark
+  public Object findById() {
+    return service.findById(randomExistingId());
+  }
+
+  @Benchmark
+  public Object findByCollectionId() {
+    return service.findByCollectionId(collectionId, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public Object findByCollectionIdLastPage() {
+    return service.findByCollectionId(collectionId, LAST_PAGE);
+  }
+
+  @Benchmark
+  public Object scrollByCollectionIdFirst() {
+    return service.scrollByCollectionId(collectionId, null, 10);
+  }
+
+  @Benchmark
+  public Object scrollByCollectionIdLast() {
+    return service.scrollByCollectionId(collectionId, lastPageCursor, 10);
+  }
+
+  @Benchmark
+  public UUID generateId() {
+    return provider.generateId();
+  }
+
+  private UUID randomExistingId() {
+    return existingIds.get(ThreadLocalRandom.current().nextInt(existingIds.size()));
+  }
+}
@@ -0,0 +1,58 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupportBenchmark {
+
+  private final RandomUUIDGenerator randomUUIDGenerator = new RandomUUIDGenerator();
+
+  private final TimeOrderedUUIDGenerator timeOrderedUUIDGenerator = new TimeOrderedUUIDGenerator();
+
+  private final PooledIdGenerator<UUID> pooledRandomUUIDGenerator = new PooledIdGenerator<>(new RandomUUIDGenerator(), 4_096);
+
+  private final TimeFactory timeFactory = new TimeFactory();
+
+  @TearDown
+  public void tearDown() {
+    pooledRandomUUIDGenerator.close();
+  }
+
+  @Benchmark
+  public UUID randomUUIDGenerator() {
+    return randomUUIDGenerator.generate();
+  }
+
+  @Benchmark
+  public UUID pooledRandomUUIDGenerator() {
+    return pooledRandomUUIDGenerator.generate();
+  }
+
+  @Benchmark
+  public UUID timeOrderedUUIDGenerator() {
+    return timeOrderedUUIDGenerator.generate();
+  }
+
+  @Benchmark
+  public Instant timeFactoryNow() {
+    return timeFactory.now();
+  }
+}
@@ -3,6 +3,7 @@ package de.wagner1975.eezycollectionz;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
@@ -12,6 +13,7 @@ import io.swagger.v3.oas.annotations.info.Info;
     title = "eezyCollectionZ API",
     version = "0.0.1-SNAPSHOT"))
 @EnableConfigurationProperties(ApplicationProperties.class)
+@EnableCaching
 @SpringBootApplication
 public class Application {
 
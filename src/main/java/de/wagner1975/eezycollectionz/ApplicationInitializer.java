@@ -10,7 +10,7 @@ import de.wagner1975.eezycollectionz.collection.CollectionInput;
 import de.wagner1975.eezycollectionz.entry.EntryController;
 import de.wagner1975.eezycollectionz.entry.EntryInput;
 
-@Profile("!test")
+@Profile("!test & !reactive")
 @Component
 public class ApplicationInitializer implements CommandLineRunner {
 
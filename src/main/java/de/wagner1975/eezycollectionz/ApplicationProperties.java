@@ -1,7 +1,14 @@
 package de.wagner1975.eezycollectionz;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import de.wagner1975.eezycollectionz.support.IdGenerationStrategy;
+import de.wagner1975.eezycollectionz.support.IdGeneratorType;
+import de.wagner1975.eezycollectionz.support.ImportStrategy;
 
 @ConfigurationProperties(value = "eezycollectionz")
 public record ApplicationProperties(
@@ -9,6 +16,30 @@ public record ApplicationProperties(
   String author,
 
   @DefaultValue("3")
-  int maxRetriesToGenerateId
+  int maxRetriesToGenerateId,
+
+  @DefaultValue("CHECK_EXISTENCE")
+  IdGenerationStrategy idGenerationStrategy,
+
+  @DefaultValue("RANDOM")
+  IdGeneratorType idGenerator,
+
+  @DefaultValue("0")
+  int idPoolSize,
+
+  @DefaultValue("INSERT")
+  ImportStrategy importStrategy,
+
+  @DefaultValue("1000")
+  int importBatchSize,
+
+  @DefaultValue("1s")
+  Duration slowQueryThreshold,
+
+  @DefaultValue("64MB")
+  DataSize suggestIndexMaxSize,
+
+  @DefaultValue("10m")
+  Duration suggestIndexMaxAge
 ) {
 }
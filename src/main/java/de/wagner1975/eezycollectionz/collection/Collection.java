@@ -3,8 +3,17 @@ package de.wagner1975.eezycollectionz.collection;
 import java.time.Instant;
 import java.util.UUID;
 
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
@@ -13,6 +22,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.With;
 
 @Entity
 @Getter
@@ -20,7 +30,7 @@ import lombok.Setter;
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 @Builder
-public class Collection {
+public class Collection implements Persistable<UUID> {
   @Id
   @NotNull
   private UUID id;
@@ -33,4 +43,31 @@ public class Collection {
 
   @NotBlank
   private String name;
+
+  @Version
+  @JsonIgnore
+  private Long version;
+
+  // maintained by triggers on the entries, see V6__add_collection_entry_count.sql
+  @Column(insertable = false, updatable = false)
+  @With(AccessLevel.PACKAGE)
+  private long entryCount;
+
+  @Transient
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean persisted;
+
+  @Override
+  @JsonIgnore
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Builder
+public class CollectionBulkDeleteInput {
+
+  public static final int MAX_ITEMS = 10_000;
+
+  @NotNull
+  @Size(min = 1, max = MAX_ITEMS)
+  private Set<@NotNull UUID> ids;
+}
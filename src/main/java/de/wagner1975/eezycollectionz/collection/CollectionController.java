@@ -3,22 +3,37 @@ package de.wagner1975.eezycollectionz.collection;
 import java.util.UUID;
 
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+
+import de.wagner1975.eezycollectionz.support.BulkCreateResult;
+import de.wagner1975.eezycollectionz.support.BulkDeleteResult;
+import de.wagner1975.eezycollectionz.support.CursorPage;
+import de.wagner1975.eezycollectionz.support.ETags;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.RequestParameters;
+import de.wagner1975.eezycollectionz.support.SearchMode;
+import de.wagner1975.eezycollectionz.support.SliceResult;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +47,7 @@ import lombok.AllArgsConstructor;
 @Tag(
   name = "Collections",
   description = "This part of the API provides retrieval and management operations on collections")
+@Profile("!reactive")
 @RestController
 @RequestMapping("/api/collections")
 @AllArgsConstructor
@@ -53,6 +69,88 @@ public class CollectionController {
     return service.findAll(pageable);
   }
 
+  @Operation(
+    summary = "Get collections using pagination without total count",
+    description = "Finds page of collections like the paginated listing, but without counting all collections. "
+      + "Optionally an approximate total from the database statistics is added")
+  @Parameter(
+    name = "approximateTotal",
+    description = "Whether to add the approximate total number of collections")
+  @ApiResponse(
+    responseCode = "200",
+    description = "Page with collections and the information whether more collections follow",
+    useReturnTypeSchema = true)
+  @GetMapping(path = "/slice", produces = MediaType.APPLICATION_JSON_VALUE)
+  public SliceResult<Collection> findSlice(
+    @RequestParam(defaultValue = "false") boolean approximateTotal,
+    @ParameterObject
+    @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Direction.ASC)
+    Pageable pageable) {
+    return service.findSlice(pageable, approximateTotal);
+  }
+
+  @Operation(
+    summary = "Get collections using keyset pagination",
+    description = "Finds the next collections in order of creation, starting after the given cursor. "
+      + "Unlike the paginated listing no total count is determined and deep positions are as fast as the first one")
+  @Parameter(
+    name = "cursor",
+    description = "Continuation token from the previous response (nextCursor); omitted for the first collections")
+  @Parameter(
+    name = "size",
+    description = "Maximum number of collections to return (1 to " + CursorPage.MAX_SIZE + ")")
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Collections and the cursor for the next ones are returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Cursor or size is invalid",
+      content = { @Content(schema = @Schema()) })})
+  @GetMapping(path = "/scroll", produces = MediaType.APPLICATION_JSON_VALUE)
+  public CursorPage<Collection> scroll(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "10") int size) {
+    return service.scroll(RequestParameters.keysetCursor(cursor, size), size);
+  }
+
+  @Operation(
+    summary = "Search collections by name",
+    description = "Finds collections whose name starts with or is similar to the query, ignoring case. "
+      + "Matches are continued with keyset pagination, so type-ahead lookups stay fast on any number of collections")
+  @Parameter(
+    name = "q",
+    description = "Query to match the names against (1 to " + NameSearch.MAX_QUERY_LENGTH + " characters)",
+    required = true)
+  @Parameter(
+    name = "mode",
+    description = "PREFIX finds names starting with the query in alphabetical order, "
+      + "FUZZY finds similar names (e.g. with typos) in order of similarity")
+  @Parameter(
+    name = "cursor",
+    description = "Continuation token from the previous response (nextCursor) of the same search; omitted for the first collections")
+  @Parameter(
+    name = "size",
+    description = "Maximum number of collections to return (1 to " + CursorPage.MAX_SIZE + ")")
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Found collections and the cursor for the next ones are returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Query, cursor or size is invalid",
+      content = { @Content(schema = @Schema()) })})
+  @GetMapping(path = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  public CursorPage<Collection> search(
+    @RequestParam String q,
+    @RequestParam(defaultValue = "PREFIX") SearchMode mode,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "10") int size) {
+    return service.search(RequestParameters.nameSearch(q, mode, cursor, size));
+  }
+
   @Operation(
     summary = "Get a single collection",
     description = "Finds an existing collection by its identifier (UUID)")
@@ -65,14 +163,19 @@ public class CollectionController {
       responseCode = "200",
       description = "Found collection is returned",
       useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "304",
+      description = "Collection is unchanged since the version given in If-None-Match",
+      content = { @Content(schema = @Schema()) }),
     @ApiResponse(
       responseCode = "404",
       description = "No collection with the given id was found.",
       content = { @Content(schema = @Schema()) })})  
   @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-  public Collection findById(@PathVariable UUID id) {
-    return service.findById(id).orElseThrow(
+  public ResponseEntity<Collection> findById(@PathVariable UUID id) {
+    var collection = service.findById(id).orElseThrow(
       () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found"));
+    return ResponseEntity.ok().eTag(ETags.of(collection.getVersion(), collection.getEntryCount())).body(collection);
   }
 
   @Operation(
@@ -100,6 +203,30 @@ public class CollectionController {
       () -> new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Auto-generation of unique collection id failed")); 
   }
 
+  @Operation(
+    summary = "Create many collections",
+    description = "Creates up to " + CollectionBulkInput.MAX_ITEMS + " new collections in one transaction. "
+      + "The result reports every collection at its index, either as created or with the reasons of failure",
+    requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Data of the collections",
+      content = @Content(schema = @Schema(implementation = CollectionBulkInput.class),
+      mediaType = MediaType.APPLICATION_JSON_VALUE),
+      required = true))
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Result for every collection is returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "No collections or too many collections were given",
+      content = { @Content(schema = @Schema()) })})
+  @ResponseStatus(HttpStatus.OK)
+  @PostMapping(path = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+  public BulkCreateResult<Collection> createAll(@Valid @RequestBody CollectionBulkInput collectionBulkInput) {
+    return service.createAll(collectionBulkInput.getCollections());
+  }
+
   @Operation(
     summary = "Update a collection",
     description = "Gets an existing collection by its identifier (UUID) and updates the data",    
@@ -112,6 +239,9 @@ public class CollectionController {
     name = "id",
     description = "Identifies the collection to be updated",
     required = true)
+  @Parameter(
+    name = HttpHeaders.IF_MATCH,
+    description = "ETag of the collection as last seen; if the collection was modified since, it is not updated")
   @ApiResponses({
     @ApiResponse(
       responseCode = "200",
@@ -120,12 +250,26 @@ public class CollectionController {
     @ApiResponse(
       responseCode = "404",
       description = "No collection for given id was found",
+      content = { @Content(schema = @Schema()) }),
+    @ApiResponse(
+      responseCode = "412",
+      description = "Collection was modified since the version given in If-Match",
       content = { @Content(schema = @Schema()) })})    
   @ResponseStatus(HttpStatus.OK)
   @PutMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-  public Collection update(@Valid @RequestBody CollectionInput collectionInput, @PathVariable UUID id) {
-    return service.update(collectionInput, id).orElseThrow(
-      () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found"));
+  public ResponseEntity<Collection> update(
+    @Valid @RequestBody CollectionInput collectionInput,
+    @PathVariable UUID id,
+    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    try {
+      var expectedVersion = RequestParameters.expectedVersion(ifMatch, "Collection was modified");
+      var collection = service.update(collectionInput, id, expectedVersion).orElseThrow(
+        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found"));
+      return ResponseEntity.ok().eTag(ETags.of(collection.getVersion(), collection.getEntryCount())).body(collection);
+    }
+    catch (VersionMismatchException ex) {
+      throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Collection was modified");
+    }
   }
 
   @Operation(
@@ -135,12 +279,57 @@ public class CollectionController {
     name = "id",
     description = "Identifies the collection to be deleted",
     required = true)
-  @ApiResponse(
-    responseCode = "204",
-    description ="Collection is deleted")     
+  @Parameter(
+    name = HttpHeaders.IF_MATCH,
+    description = "ETag of the collection as last seen; if the collection was modified since, it is not deleted")
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "204",
+      description ="Collection is deleted"),
+    @ApiResponse(
+      responseCode = "404",
+      description = "No collection for given id was found",
+      content = { @Content(schema = @Schema()) }),
+    @ApiResponse(
+      responseCode = "412",
+      description = "Collection was modified since the version given in If-Match",
+      content = { @Content(schema = @Schema()) })})
   @ResponseStatus(HttpStatus.NO_CONTENT)
   @DeleteMapping("/{id}")
-  public void delete(@PathVariable UUID id) {
-    service.delete(id);
+  public void delete(
+    @PathVariable UUID id,
+    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    try {
+      if (!service.delete(id, RequestParameters.expectedVersion(ifMatch, "Collection was modified"))) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found");
+      }
+    }
+    catch (VersionMismatchException ex) {
+      throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Collection was modified");
+    }
+  }
+
+  @Operation(
+    summary = "Delete many collections",
+    description = "Deletes up to " + CollectionBulkDeleteInput.MAX_ITEMS + " collections together with their entries "
+      + "by their identifiers (UUID) in one transaction",
+    requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Identifiers of the collections",
+      content = @Content(schema = @Schema(implementation = CollectionBulkDeleteInput.class),
+      mediaType = MediaType.APPLICATION_JSON_VALUE),
+      required = true))
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Number of deleted collections is returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "No identifiers or too many identifiers were given",
+      content = { @Content(schema = @Schema()) })})
+  @ResponseStatus(HttpStatus.OK)
+  @PostMapping(path = "/bulk-delete", produces = MediaType.APPLICATION_JSON_VALUE)
+  public BulkDeleteResult deleteAll(@Valid @RequestBody CollectionBulkDeleteInput collectionBulkDeleteInput) {
+    return new BulkDeleteResult(service.deleteAll(collectionBulkDeleteInput.getIds()));
   }
 }
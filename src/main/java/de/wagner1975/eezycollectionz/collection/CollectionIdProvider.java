@@ -1,24 +1,36 @@
 package de.wagner1975.eezycollectionz.collection;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import de.wagner1975.eezycollectionz.support.GenerateIdOperationFactory;
-import de.wagner1975.eezycollectionz.support.RandomUUIDGenerator;
+import de.wagner1975.eezycollectionz.support.IdGenerator;
 
+@Profile("!reactive")
 @Component
 @AllArgsConstructor
 class CollectionIdProvider {
 
   private final GenerateIdOperationFactory factory;
 
-  private final RandomUUIDGenerator generator;
+  private final IdGenerator<UUID> generator;
 
   private final CollectionRepository repository;
 
   UUID generateId() {
     return factory.createForUUIDInRepository(generator, repository).execute();
   };
+
+  Collection saveWithGeneratedId(Function<UUID, Collection> collectionFactory) {
+    return factory.createSaveForUUIDInRepository(generator, repository).execute(collectionFactory);
+  }
+
+  List<Collection> saveAllWithGeneratedIds(List<Function<UUID, Collection>> collectionFactories) {
+    return factory.createSaveForUUIDInRepository(generator, repository).executeAll(collectionFactories);
+  }
 }
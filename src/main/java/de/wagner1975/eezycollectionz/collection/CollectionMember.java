@@ -0,0 +1,10 @@
+package de.wagner1975.eezycollectionz.collection;
+
+/**
+ * An entity belonging to a collection, which is removed together with it. Cached members are
+ * evicted when their collection is deleted.
+ */
+public interface CollectionMember {
+
+  Collection getCollection();
+}
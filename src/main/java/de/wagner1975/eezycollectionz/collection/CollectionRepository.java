@@ -1,11 +1,70 @@
 package de.wagner1975.eezycollectionz.collection;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 interface CollectionRepository extends
   PagingAndSortingRepository<Collection, UUID>,
   ListCrudRepository<Collection, UUID>
-{}
+{
+  Slice<Collection> findSliceBy(Pageable pageable);
+
+  @Query("select c from Collection c order by c.createdAt, c.id")
+  List<Collection> findFirst(Pageable pageable);
+
+  @Query("""
+    select c from Collection c
+    where (c.createdAt, c.id) > (:createdAt, :id)
+    order by c.createdAt, c.id""")
+  List<Collection> findAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable pageable);
+
+  @Query("select c.entryCount from Collection c where c.id = :id")
+  Optional<Long> findEntryCountById(@Param("id") UUID id);
+
+  @Transactional
+  @Modifying
+  @Query("delete from Collection c where c.id = :id")
+  int deleteDirectlyById(@Param("id") UUID id);
+
+  @Transactional
+  @Modifying
+  @Query("delete from Collection c where c.id = :id and c.version = :version")
+  int deleteDirectlyByIdAndVersion(@Param("id") UUID id, @Param("version") long version);
+
+  @Modifying
+  @Query("delete from Collection c where c.id in :ids")
+  int deleteByIdIn(@Param("ids") Set<UUID> ids);
+
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    update collection set name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+    where id = :id
+    returning *""")
+  Optional<Collection> updateNameById(
+    @Param("id") UUID id,
+    @Param("name") String name,
+    @Param("lastModifiedAt") Instant lastModifiedAt);
+
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    update collection set name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+    where id = :id and version = :version
+    returning *""")
+  Optional<Collection> updateNameByIdAndVersion(
+    @Param("id") UUID id,
+    @Param("version") long version,
+    @Param("name") String name,
+    @Param("lastModifiedAt") Instant lastModifiedAt);
+}
@@ -0,0 +1,50 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.google.common.base.Preconditions;
+
+import lombok.AllArgsConstructor;
+
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.SearchHit;
+
+/**
+ * Searches collections by name.
+ */
+@Profile("!reactive")
+@Repository
+@AllArgsConstructor
+class CollectionSearchRepository {
+
+  private static final String COLUMNS = "id, created_at, last_modified_at, name, version, entry_count";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  List<SearchHit<Collection>> search(NameSearch search) {
+    Preconditions.checkArgument(Objects.nonNull(search), "search is null");
+
+    return jdbcTemplate.query(search.sql("collection", COLUMNS), search.parameters(),
+      search.hitMapper((resultSet, rowNum) -> collection(resultSet)));
+  }
+
+  private static Collection collection(ResultSet resultSet) throws SQLException {
+    return Collection.builder()
+      .id(resultSet.getObject("id", UUID.class))
+      .createdAt(resultSet.getObject("created_at", OffsetDateTime.class).toInstant())
+      .lastModifiedAt(resultSet.getObject("last_modified_at", OffsetDateTime.class).toInstant())
+      .name(resultSet.getString("name"))
+      .version(resultSet.getLong("version"))
+      .entryCount(resultSet.getLong("entry_count"))
+      .build();
+  }
+}
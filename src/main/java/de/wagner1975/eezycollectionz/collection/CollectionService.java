@@ -1,80 +1,214 @@
 package de.wagner1975.eezycollectionz.collection;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.google.common.base.Preconditions;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 
+import de.wagner1975.eezycollectionz.support.BulkCreateResult;
+import de.wagner1975.eezycollectionz.support.CacheNames;
+import de.wagner1975.eezycollectionz.support.Caches;
+import de.wagner1975.eezycollectionz.support.CursorPage;
 import de.wagner1975.eezycollectionz.support.GenerateIdException;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+import de.wagner1975.eezycollectionz.support.MetricNames;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.RowCountEstimator;
+import de.wagner1975.eezycollectionz.support.SearchHit;
+import de.wagner1975.eezycollectionz.support.SliceResult;
 import de.wagner1975.eezycollectionz.support.TimeFactory;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
 
+@Profile("!reactive")
 @Service
 @AllArgsConstructor
 class CollectionService {
   
   private final CollectionRepository repository;
 
+  private final CollectionSearchRepository searchRepository;
+
   private final CollectionIdProvider provider;
 
   private final TimeFactory timeFactory;
 
+  private final Validator validator;
+
+  private final RowCountEstimator rowCountEstimator;
+
+  private final CacheManager cacheManager;
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
   Page<Collection> findAll(Pageable pageable) {
     Preconditions.checkArgument(Objects.nonNull(pageable), "pageable is null");
     return repository.findAll(pageable);
   }
 
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  SliceResult<Collection> findSlice(Pageable pageable, boolean withApproximateTotal) {
+    Preconditions.checkArgument(Objects.nonNull(pageable), "pageable is null");
+
+    var slice = repository.findSliceBy(pageable);
+    var approximateTotal = withApproximateTotal
+      ? rowCountEstimator.estimateTableRows("collection").orElse(null)
+      : null;
+
+    return SliceResult.of(slice, approximateTotal);
+  }
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  CursorPage<Collection> scroll(KeysetCursor after, int size) {
+    Preconditions.checkArgument(size > 0, "size is not positive");
+
+    var limit = PageRequest.ofSize(size + 1);
+    var found = Objects.isNull(after)
+      ? repository.findFirst(limit)
+      : repository.findAfter(after.createdAt(), after.id(), limit);
+
+    return CursorPage.of(found, size, collection -> new KeysetCursor(collection.getCreatedAt(), collection.getId()));
+  }
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  CursorPage<Collection> search(NameSearch search) {
+    Preconditions.checkArgument(Objects.nonNull(search), "search is null");
+
+    var found = searchRepository.search(search);
+    return CursorPage.of(found, search.size(), SearchHit::item, hit -> hit.cursor().encode());
+  }
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
   Optional<Collection> findById(UUID id) {
     Preconditions.checkArgument(Objects.nonNull(id), "id is null");
-    return repository.findById(id);
+
+    // the entry count is cached apart, so that writing entries leaves the collection cached
+    return Caches.getOrLoad(cache(), id, () -> repository.findById(id))
+      .flatMap(collection -> Caches.getOrLoad(entryCounts(), id, () -> repository.findEntryCountById(id))
+        .map(collection::withEntryCount));
   }
 
+  @Timed(value = MetricNames.SERVICE, histogram = true)
   Optional<Collection> create(CollectionInput collectionInput) { 
     Preconditions.checkArgument(Objects.nonNull(collectionInput), "collectionInput is null");
 
     try {
-      var generatedId = provider.generateId();
-
       var now = timeFactory.now();
 
-      var newCollection = Collection.builder()
+      var savedCollection = provider.saveWithGeneratedId(generatedId -> Collection.builder()
         .id(generatedId)
         .createdAt(now)
         .lastModifiedAt(now)
         .name(collectionInput.getName())
-        .build();
+        .build());
 
-      return Optional.ofNullable(repository.save(newCollection));         
+      return Optional.ofNullable(savedCollection);
     }
     catch (GenerateIdException ex) {
       return Optional.empty();
     }
   }
 
-  Optional<Collection> update(CollectionInput collectionInput, UUID id) {
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  BulkCreateResult<Collection> createAll(List<CollectionInput> collectionInputs) {
+    Preconditions.checkArgument(Objects.nonNull(collectionInputs), "collectionInputs is null");
+
+    var now = timeFactory.now();
+
+    return BulkCreateResult.create(collectionInputs, validator, validInputs -> provider.saveAllWithGeneratedIds(
+      validInputs.stream()
+        .<Function<UUID, Collection>>map(collectionInput -> generatedId -> Collection.builder()
+          .id(generatedId)
+          .createdAt(now)
+          .lastModifiedAt(now)
+          .name(collectionInput.getName())
+          .build())
+        .toList()),
+      "Auto-generation of unique collection id failed");
+  }
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  Optional<Collection> update(CollectionInput collectionInput, UUID id, Long expectedVersion) {
     Preconditions.checkArgument(Objects.nonNull(collectionInput), "collectionInput is null");
     Preconditions.checkArgument(Objects.nonNull(id), "id is null");
 
-    var foundCollection = repository.findById(id);
-    
-    if (foundCollection.isEmpty()) {
-      return Optional.empty();
+    var now = timeFactory.now();
+    var updatedCollection = Objects.isNull(expectedVersion)
+      ? repository.updateNameById(id, collectionInput.getName(), now)
+      : repository.updateNameByIdAndVersion(id, expectedVersion, collectionInput.getName(), now);
+    cache().evict(id);
+
+    if (updatedCollection.isEmpty() && Objects.nonNull(expectedVersion) && repository.existsById(id)) {
+      throw new VersionMismatchException();
     }
+    return updatedCollection;
+  }
 
-    var existingCollection = foundCollection.get();
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  boolean delete(UUID id, Long expectedVersion) {
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+
+    var deleted = (Objects.isNull(expectedVersion)
+      ? repository.deleteDirectlyById(id)
+      : repository.deleteDirectlyByIdAndVersion(id, expectedVersion)) > 0;
+    if (deleted) {
+      cache().evict(id);
+      entryCounts().evict(id);
+      Caches.evictIf(cacheManager.getCache(CacheNames.ENTRIES),
+        value -> value instanceof CollectionMember member && id.equals(member.getCollection().getId()));
+      cacheManager.getCache(CacheNames.ENTRY_NAME_INDEXES).evict(id);
+    }
+    else if (Objects.nonNull(expectedVersion) && repository.existsById(id)) {
+      throw new VersionMismatchException();
+    }
+    return deleted;
+  }  
 
-    existingCollection.setLastModifiedAt(timeFactory.now());
-    existingCollection.setName(collectionInput.getName());
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  @Transactional
+  int deleteAll(Set<UUID> ids) {
+    Preconditions.checkArgument(Objects.nonNull(ids), "ids is null");
 
-    return Optional.ofNullable(repository.save(existingCollection));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    var deleted = repository.deleteByIdIn(ids);
+
+    Caches.evictAfterCommit(() -> {
+      var cache = cache();
+      ids.forEach(cache::evict);
+      var entryCounts = entryCounts();
+      ids.forEach(entryCounts::evict);
+      Caches.evictIf(cacheManager.getCache(CacheNames.ENTRIES),
+        value -> value instanceof CollectionMember member && ids.contains(member.getCollection().getId()));
+      var nameIndexes = cacheManager.getCache(CacheNames.ENTRY_NAME_INDEXES);
+      ids.forEach(nameIndexes::evict);
+    });
+
+    return deleted;
   }
 
-  void delete(UUID id) {
-    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
-    repository.deleteById(id);
-  }  
+  private Cache cache() {
+    return cacheManager.getCache(CacheNames.COLLECTIONS);
+  }
+
+  private Cache entryCounts() {
+    return cacheManager.getCache(CacheNames.ENTRY_COUNTS);
+  }
 }
@@ -1,25 +1,56 @@
 package de.wagner1975.eezycollectionz.entry;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.wagner1975.eezycollectionz.support.BulkCreateResult;
+import de.wagner1975.eezycollectionz.support.CursorPage;
+import de.wagner1975.eezycollectionz.support.ETags;
+import de.wagner1975.eezycollectionz.support.ImportFormat;
+import de.wagner1975.eezycollectionz.support.ImportReader;
+import de.wagner1975.eezycollectionz.support.InvalidImportHeaderException;
+import de.wagner1975.eezycollectionz.support.ImportResult;
+import de.wagner1975.eezycollectionz.support.MissingReferenceException;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.RequestParameters;
+import de.wagner1975.eezycollectionz.support.SearchMode;
+import de.wagner1975.eezycollectionz.support.SliceResult;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,13 +65,22 @@ import lombok.AllArgsConstructor;
 @Tag(
   name = "Entries",
   description = "This part of the API provides retrieval and management operations on entries of any collection")  
+@Profile("!reactive")
 @RestController
 @RequestMapping("/api/entries")
 @AllArgsConstructor
 public class EntryController {
 
+  private static final int MAX_SUGGESTIONS = 100;
+
+  private static final Set<String> IMPORT_COLUMNS = Set.of("name");
+
   private final EntryService service;
 
+  private final EntryImportService importService;
+
+  private final ObjectMapper objectMapper;
+
   @Operation(
     summary = "Get entries of a collection using pagination",
     description = "Finds page of entries which are contained in a single collection")
@@ -53,7 +93,7 @@ public class EntryController {
     description ="Page with collections and additional information",
     useReturnTypeSchema = true)
   @GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
-  public Page<Entry> findByCollectionId(
+  public Page<EntryView> findByCollectionId(
     @RequestParam UUID collectionId,
     @ParameterObject
     @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Direction.ASC)
@@ -61,6 +101,165 @@ public class EntryController {
     return service.findByCollectionId(collectionId, pageable);
   }
 
+  @Operation(
+    summary = "Get entries using pagination without total count",
+    description = "Finds page of entries of a collection like the paginated listing, but without counting all entries. "
+      + "Optionally an approximate total from the database statistics is added")
+  @Parameter(
+    name = "collectionId",
+    description = "Identifies the collection, in which to find the entries",
+    required = true)
+  @Parameter(
+    name = "approximateTotal",
+    description = "Whether to add the approximate total number of entries")
+  @ApiResponse(
+    responseCode = "200",
+    description = "Page with entries and the information whether more entries follow",
+    useReturnTypeSchema = true)
+  @GetMapping(path = "/slice", produces = MediaType.APPLICATION_JSON_VALUE)
+  public SliceResult<EntryView> findSliceByCollectionId(
+    @RequestParam UUID collectionId,
+    @RequestParam(defaultValue = "false") boolean approximateTotal,
+    @ParameterObject
+    @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Direction.ASC)
+    Pageable pageable) {
+    return service.findSliceByCollectionId(collectionId, pageable, approximateTotal);
+  }
+
+  @Operation(
+    summary = "Get entries using keyset pagination",
+    description = "Finds the next entries of a collection in order of creation, starting after the given cursor. "
+      + "Unlike the paginated listing no total count is determined and deep positions are as fast as the first one")
+  @Parameter(
+    name = "collectionId",
+    description = "Identifies the collection, in which to find the entries",
+    required = true)
+  @Parameter(
+    name = "cursor",
+    description = "Continuation token from the previous response (nextCursor); omitted for the first entries")
+  @Parameter(
+    name = "size",
+    description = "Maximum number of entries to return (1 to " + CursorPage.MAX_SIZE + ")")
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Entries and the cursor for the next ones are returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Cursor or size is invalid",
+      content = { @Content(schema = @Schema()) })})
+  @GetMapping(path = "/scroll", produces = MediaType.APPLICATION_JSON_VALUE)
+  public CursorPage<EntryView> scrollByCollectionId(
+    @RequestParam UUID collectionId,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "10") int size) {
+    return service.scrollByCollectionId(collectionId, RequestParameters.keysetCursor(cursor, size), size);
+  }
+
+  @Operation(
+    summary = "Search entries by name",
+    description = "Finds entries whose name starts with or is similar to the query, ignoring case, "
+      + "either in a single collection or in all of them. "
+      + "Matches are continued with keyset pagination, so type-ahead lookups stay fast on large collections")
+  @Parameter(
+    name = "collectionId",
+    description = "Identifies the collection, in which to search; omitted to search all entries")
+  @Parameter(
+    name = "q",
+    description = "Query to match the names against (1 to " + NameSearch.MAX_QUERY_LENGTH + " characters)",
+    required = true)
+  @Parameter(
+    name = "mode",
+    description = "PREFIX finds names starting with the query in alphabetical order, "
+      + "FUZZY finds similar names (e.g. with typos) in order of similarity")
+  @Parameter(
+    name = "cursor",
+    description = "Continuation token from the previous response (nextCursor) of the same search; omitted for the first entries")
+  @Parameter(
+    name = "size",
+    description = "Maximum number of entries to return (1 to " + CursorPage.MAX_SIZE + ")")
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Found entries and the cursor for the next ones are returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Query, cursor or size is invalid",
+      content = { @Content(schema = @Schema()) })})
+  @GetMapping(path = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  public CursorPage<EntryView> search(
+    @RequestParam String q,
+    @RequestParam(required = false) UUID collectionId,
+    @RequestParam(defaultValue = "PREFIX") SearchMode mode,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "10") int size) {
+    return service.search(RequestParameters.nameSearch(q, mode, cursor, size), collectionId);
+  }
+
+  @Operation(
+    summary = "Suggest entries of a collection for a typed prefix",
+    description = "Finds entries of a single collection whose name starts with the prefix, ignoring case, "
+      + "in alphabetical order. The names are looked up in an index held in memory, which is built on the first "
+      + "request for the collection; use the search for fuzzy matches or further results")
+  @Parameter(
+    name = "collectionId",
+    description = "Identifies the collection, in which to find the entries",
+    required = true)
+  @Parameter(
+    name = "prefix",
+    description = "Typed beginning of the names (up to " + NameSearch.MAX_QUERY_LENGTH + " characters)",
+    required = true)
+  @Parameter(
+    name = "size",
+    description = "Maximum number of entries to return (1 to " + MAX_SUGGESTIONS + ")")
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Suggested entries are returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Prefix or size is invalid",
+      content = { @Content(schema = @Schema()) })})
+  @GetMapping(path = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+  public List<EntrySuggestion> suggest(
+    @RequestParam UUID collectionId,
+    @RequestParam String prefix,
+    @RequestParam(defaultValue = "10") int size) {
+    if (size < 1 || size > MAX_SUGGESTIONS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid size");
+    }
+    if (prefix.length() > NameSearch.MAX_QUERY_LENGTH) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid prefix");
+    }
+    return service.suggest(collectionId, prefix, size);
+  }
+
+  @Operation(
+    summary = "Export all entries of a collection",
+    description = "Streams every entry of a single collection in order of creation as newline-delimited JSON, "
+      + "one entry per line. The entries are read with a database cursor, so collections of any size can be exported")
+  @Parameter(
+    name = "collectionId",
+    description = "Identifies the collection, whose entries to export",
+    required = true)
+  @ApiResponse(
+    responseCode = "200",
+    description = "Entries are streamed",
+    content = { @Content(schema = @Schema(implementation = EntryView.class), mediaType = MediaType.APPLICATION_NDJSON_VALUE) })
+  @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportByCollectionId(@RequestParam UUID collectionId) {
+    StreamingResponseBody body = outputStream -> {
+      try (var generator = objectMapper.createGenerator(outputStream)) {
+        generator.setRootValueSeparator(null);
+        service.exportByCollectionId(collectionId, entry -> writeLine(generator, entry));
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
   @Operation(
     summary = "Get a single entry",
     description = "Finds an existing entry by its identifier (UUID)") 
@@ -76,14 +275,19 @@ public class EntryController {
         @Content(
           schema = @Schema(implementation = Entry.class),
           mediaType = "application/json") }),
+    @ApiResponse(
+      responseCode = "304",
+      description = "Entry is unchanged since the version given in If-None-Match",
+      content = { @Content(schema = @Schema()) }),
     @ApiResponse(
       responseCode = "404",
       description = "No entry for given id was found",
       content = { @Content(schema = @Schema()) })})
   @GetMapping("/{id}")
-  public Entry findById(@PathVariable UUID id) {
-    return service.findById(id).orElseThrow(
+  public ResponseEntity<Entry> findById(@PathVariable UUID id) {
+    var entry = service.findById(id).orElseThrow(
       () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
+    return ResponseEntity.ok().eTag(ETags.of(entry.getVersion())).body(entry);
   }
 
   @Operation(
@@ -104,6 +308,10 @@ public class EntryController {
       description = "New entry is returned",
       content = { @Content(schema = @Schema(implementation = Entry.class),
       mediaType = "application/json") }),
+    @ApiResponse(
+      responseCode = "404",
+      description = "No collection for given id was found",
+      content = { @Content(schema = @Schema()) }),
     @ApiResponse(
       responseCode = "422",
       description = "Auto-generation of unique entry id failed",
@@ -111,8 +319,105 @@ public class EntryController {
   @ResponseStatus(HttpStatus.CREATED)
   @PostMapping("/collection/{collectionId}")
   public Entry create(@Valid @RequestBody EntryInput entryInput, @PathVariable UUID collectionId) {
-    return service.create(entryInput, collectionId).orElseThrow(
-      () -> new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Auto-generation of unique entry id failed")); 
+    try {
+      return service.create(entryInput, collectionId).orElseThrow(
+        () -> new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Auto-generation of unique entry id failed"));
+    }
+    catch (MissingReferenceException ex) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found");
+    }
+  }
+
+  @Operation(
+    summary = "Create many entries",
+    description = "Creates up to " + EntryBulkInput.MAX_ITEMS + " new entries in one transaction and adds them to a single collection. "
+      + "The result reports every entry at its index, either as created or with the reasons of failure",
+    requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "Data of the entries",
+      content = @Content(schema = @Schema(implementation = EntryBulkInput.class),
+      mediaType = "application/json"),
+      required = true))
+  @Parameter(
+    name = "collectionId",
+    description = "Identifies the collection, to which the new entries will be added",
+    required = true)
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Result for every entry is returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "No entries or too many entries were given",
+      content = { @Content(schema = @Schema()) }),
+    @ApiResponse(
+      responseCode = "404",
+      description = "No collection for given id was found",
+      content = { @Content(schema = @Schema()) })})
+  @ResponseStatus(HttpStatus.OK)
+  @PostMapping("/collection/{collectionId}/bulk")
+  public BulkCreateResult<Entry> createAll(@Valid @RequestBody EntryBulkInput entryBulkInput, @PathVariable UUID collectionId) {
+    try {
+      return service.createAll(entryBulkInput.getEntries(), collectionId);
+    }
+    catch (MissingReferenceException ex) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found");
+    }
+  }
+
+  @Operation(
+    summary = "Import entries from an upload",
+    description = "Reads entries of a single collection from newline-delimited JSON or from CSV with a header line, "
+      + "and saves them in batches while the upload is read, so uploads of any size can be imported. "
+      + "Lines longer than " + ImportReader.MAX_LINE_LENGTH + " characters fail. "
+      + "The result counts the imported and failed lines and reports the first " + ImportResult.MAX_REPORTED_LINES
+      + " failed lines with the reasons of failure",
+    requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "One entry per line",
+      content = {
+        @Content(schema = @Schema(implementation = EntryInput.class), mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+        @Content(schema = @Schema(implementation = EntryInput.class), mediaType = ImportFormat.CSV_VALUE) },
+      required = true))
+  @Parameter(
+    name = "collectionId",
+    description = "Identifies the collection, to which the imported entries will be added",
+    required = true)
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "200",
+      description = "Result of the import is returned",
+      useReturnTypeSchema = true),
+    @ApiResponse(
+      responseCode = "400",
+      description = "CSV header cannot be read or lacks the name column",
+      content = { @Content(schema = @Schema()) }),
+    @ApiResponse(
+      responseCode = "404",
+      description = "No collection for given id was found",
+      content = { @Content(schema = @Schema()) })})
+  @ResponseStatus(HttpStatus.OK)
+  @PostMapping(
+    path = "/collection/{collectionId}/import",
+    consumes = { MediaType.APPLICATION_NDJSON_VALUE, ImportFormat.CSV_VALUE },
+    produces = MediaType.APPLICATION_JSON_VALUE)
+  public ImportResult importAll(
+    @PathVariable UUID collectionId,
+    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+    InputStream body) {
+    var format = ImportFormat.of(contentType).orElseThrow(
+      () -> new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported format"));
+    var charset = Objects.requireNonNullElse(contentType.getCharset(), StandardCharsets.UTF_8);
+    var reader = new ImportReader<>(
+      new BufferedReader(new InputStreamReader(body, charset)), format, objectMapper, EntryInput.class, IMPORT_COLUMNS);
+    try {
+      return importService.importAll(reader, collectionId);
+    }
+    catch (MissingReferenceException ex) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found");
+    }
+    catch (InvalidImportHeaderException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
   }
 
   @Operation(
@@ -127,6 +432,9 @@ public class EntryController {
     name = "id",
     description = "Identifies the entry to be updated",
     required = true)
+  @Parameter(
+    name = HttpHeaders.IF_MATCH,
+    description = "ETag of the entry as last seen; if the entry was modified since, it is not updated")
   @ApiResponses({
     @ApiResponse(
       responseCode = "200",
@@ -138,12 +446,26 @@ public class EntryController {
     @ApiResponse(
       responseCode = "404",
       description = "No entry for given id was found",
+      content = { @Content(schema = @Schema()) }),
+    @ApiResponse(
+      responseCode = "412",
+      description = "Entry was modified since the version given in If-Match",
       content = { @Content(schema = @Schema()) })})
   @ResponseStatus(HttpStatus.OK)
   @PutMapping("/{id}")
-  public Entry update(@Valid @RequestBody EntryInput entryInput, @PathVariable UUID id) {
-    return service.update(entryInput, id).orElseThrow(
-      () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
+  public ResponseEntity<Entry> update(
+    @Valid @RequestBody EntryInput entryInput,
+    @PathVariable UUID id,
+    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    try {
+      var expectedVersion = RequestParameters.expectedVersion(ifMatch, "Entry was modified");
+      var entry = service.update(entryInput, id, expectedVersion).orElseThrow(
+        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
+      return ResponseEntity.ok().eTag(ETags.of(entry.getVersion())).body(entry);
+    }
+    catch (VersionMismatchException ex) {
+      throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Entry was modified");
+    }
   }
 
   @Operation(
@@ -153,12 +475,43 @@ public class EntryController {
     name = "id",
     description = "Identifies the entry to be deleted",
     required = true)
-  @ApiResponse(
-    responseCode = "204",
-    description ="Entry is deleted")      
+  @Parameter(
+    name = HttpHeaders.IF_MATCH,
+    description = "ETag of the entry as last seen; if the entry was modified since, it is not deleted")
+  @ApiResponses({
+    @ApiResponse(
+      responseCode = "204",
+      description ="Entry is deleted"),
+    @ApiResponse(
+      responseCode = "404",
+      description = "No entry for given id was found",
+      content = { @Content(schema = @Schema()) }),
+    @ApiResponse(
+      responseCode = "412",
+      description = "Entry was modified since the version given in If-Match",
+      content = { @Content(schema = @Schema()) })})
   @ResponseStatus(HttpStatus.NO_CONTENT)
   @DeleteMapping("/{id}")
-  public void delete(@PathVariable UUID id) {
-    service.delete(id);
-  }  
+  public void delete(
+    @PathVariable UUID id,
+    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    try {
+      if (!service.delete(id, RequestParameters.expectedVersion(ifMatch, "Entry was modified"))) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found");
+      }
+    }
+    catch (VersionMismatchException ex) {
+      throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Entry was modified");
+    }
+  }
+
+  private static void writeLine(JsonGenerator generator, Object value) {
+    try {
+      generator.writeObject(value);
+      generator.writeRaw('\n');
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
 }
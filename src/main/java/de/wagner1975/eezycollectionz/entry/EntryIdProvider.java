@@ -1,24 +1,36 @@
 package de.wagner1975.eezycollectionz.entry;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import de.wagner1975.eezycollectionz.support.GenerateIdOperationFactory;
-import de.wagner1975.eezycollectionz.support.RandomUUIDGenerator;
+import de.wagner1975.eezycollectionz.support.IdGenerator;
 
+@Profile("!reactive")
 @Component
 @AllArgsConstructor
 class EntryIdProvider {
 
   private final GenerateIdOperationFactory factory;
 
-  private final RandomUUIDGenerator generator;
+  private final IdGenerator<UUID> generator;
 
   private final EntryRepository repository;
 
   UUID generateId() {
     return factory.createForUUIDInRepository(generator, repository).execute();
   };
+
+  Entry saveWithGeneratedId(Function<UUID, Entry> entryFactory) {
+    return factory.createSaveForUUIDInRepository(generator, repository).execute(entryFactory);
+  }
+
+  List<Entry> saveAllWithGeneratedIds(List<Function<UUID, Entry>> entryFactories) {
+    return factory.createSaveForUUIDInRepository(generator, repository).executeAll(entryFactories);
+  }
 }
@@ -0,0 +1,102 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.google.common.base.Preconditions;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import de.wagner1975.eezycollectionz.collection.Collection;
+import de.wagner1975.eezycollectionz.support.CacheNames;
+import de.wagner1975.eezycollectionz.support.IdGenerator;
+import de.wagner1975.eezycollectionz.support.ImportReader;
+import de.wagner1975.eezycollectionz.support.ImportResult;
+import de.wagner1975.eezycollectionz.support.ImportStrategy;
+import de.wagner1975.eezycollectionz.support.MetricNames;
+import de.wagner1975.eezycollectionz.support.TimeFactory;
+
+/**
+ * Imports entries of uploads in batches, each batch saved in its own transaction. Batches saved
+ * before a failure remain saved.
+ */
+@Profile("!reactive")
+@Service
+@AllArgsConstructor
+class EntryImportService {
+
+  private final EntryIdProvider provider;
+
+  private final EntryCopyRepository copyRepository;
+
+  private final IdGenerator<UUID> generator;
+
+  private final TimeFactory timeFactory;
+
+  private final Validator validator;
+
+  private final EntityManager entityManager;
+
+  private final EntryNameIndexes nameIndexes;
+
+  private final CacheManager cacheManager;
+
+  private final ApplicationProperties appProps;
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  ImportResult importAll(ImportReader<EntryInput> reader, UUID collectionId) {
+    Preconditions.checkArgument(Objects.nonNull(reader), "reader is null");
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+
+    var collection = entityManager.getReference(Collection.class, collectionId);
+
+    try {
+      return ImportResult.importAll(reader, validator, appProps.importBatchSize(),
+        appProps.importStrategy() == ImportStrategy.COPY
+          ? entryInputs -> copyAll(entryInputs, collection)
+          : entryInputs -> insertAll(entryInputs, collection),
+        "Auto-generation of unique entry id failed");
+    }
+    finally {
+      // batches saved before a failure remain saved as well, and counted in the collection
+      cacheManager.getCache(CacheNames.ENTRY_COUNTS).evict(collectionId);
+      nameIndexes.evict(collectionId);
+    }
+  }
+
+  private int insertAll(List<EntryInput> entryInputs, Collection collection) {
+    var now = timeFactory.now();
+    var entryFactories = entryInputs.stream()
+      .<Function<UUID, Entry>>map(entryInput -> generatedId -> newEntry(entryInput, generatedId, collection, now))
+      .toList();
+    return provider.saveAllWithGeneratedIds(entryFactories).size();
+  }
+
+  private int copyAll(List<EntryInput> entryInputs, Collection collection) {
+    var now = timeFactory.now();
+    return copyRepository.copyAll(entryInputs.stream()
+      .map(entryInput -> newEntry(entryInput, generator.generate(), collection, now))
+      .toList());
+  }
+
+  private static Entry newEntry(EntryInput entryInput, UUID id, Collection collection, Instant now) {
+    return Entry.builder()
+      .id(id)
+      .createdAt(now)
+      .lastModifiedAt(now)
+      .name(entryInput.getName())
+      .collection(collection)
+      .build();
+  }
+}
@@ -1,6 +1,7 @@
 package de.wagner1975.eezycollectionz.entry;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,5 +17,6 @@ import lombok.Setter;
 public class EntryInput {
 
   @NotBlank
+  @Size(max = 255)
   private String name;
 }
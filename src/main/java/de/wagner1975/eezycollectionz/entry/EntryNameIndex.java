@@ -0,0 +1,112 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Prefix index over the names of the entries of a single collection. The entries are kept sorted
+ * by lower-cased name, so all names with a given prefix are adjacent and found by a single seek,
+ * like a subtree of a trie. Unlike a trie or FST, the sorted map is updated in place when entries
+ * are created, renamed or deleted.
+ * <p>
+ * Lookups are lock-free; updates are serialized, as they change both the sorted and the id map.
+ */
+final class EntryNameIndex {
+
+  /**
+   * Estimated heap usage of an entry besides its names (compressed oops): the node of the sorted
+   * map with its share of index nodes, the key, the suggestion, the id, the node of the id map and
+   * the headers of the name strings.
+   */
+  static final int ENTRY_OVERHEAD_BYTES = 232;
+
+  private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+  private final NavigableMap<Key, EntrySuggestion> suggestionsByKey = new ConcurrentSkipListMap<>();
+
+  private final Map<UUID, Key> keysById = new ConcurrentHashMap<>();
+
+  private final AtomicLong estimatedBytes = new AtomicLong();
+
+  synchronized void put(UUID id, String name) {
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+    Preconditions.checkArgument(Objects.nonNull(name), "name is null");
+
+    remove(id);
+    var key = new Key(normalize(name), id);
+    suggestionsByKey.put(key, new EntrySuggestion(id, name));
+    keysById.put(id, key);
+    estimatedBytes.addAndGet(estimateBytes(key, name));
+  }
+
+  synchronized boolean remove(UUID id) {
+    var key = keysById.remove(id);
+    if (Objects.isNull(key)) {
+      return false;
+    }
+    var removed = suggestionsByKey.remove(key);
+    estimatedBytes.addAndGet(-estimateBytes(key, removed.name()));
+    return true;
+  }
+
+  boolean contains(UUID id) {
+    return keysById.containsKey(id);
+  }
+
+  /**
+   * @return up to {@code limit} entries whose name starts with the prefix, ignoring case, in
+   * alphabetical order
+   */
+  List<EntrySuggestion> suggest(String prefix, int limit) {
+    Preconditions.checkArgument(Objects.nonNull(prefix), "prefix is null");
+    Preconditions.checkArgument(limit > 0, "limit is not positive");
+
+    var normalizedPrefix = normalize(prefix);
+    var suggestions = new ArrayList<EntrySuggestion>(Math.min(limit, 16));
+    for (var entry : suggestionsByKey.tailMap(new Key(normalizedPrefix, LOWEST_ID)).entrySet()) {
+      if (suggestions.size() == limit || !entry.getKey().name().startsWith(normalizedPrefix)) {
+        break;
+      }
+      suggestions.add(entry.getValue());
+    }
+    return suggestions;
+  }
+
+  int size() {
+    return keysById.size();
+  }
+
+  long estimatedBytes() {
+    return estimatedBytes.get();
+  }
+
+  private static String normalize(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  // two bytes per character, which overestimates names of Latin-1 characters only; a name which is
+  // lower-case already is shared by the key
+  private static long estimateBytes(Key key, String name) {
+    var nameBytes = 2L * name.length();
+    return ENTRY_OVERHEAD_BYTES + (key.name().equals(name) ? nameBytes : 2 * nameBytes);
+  }
+
+  private record Key(String name, UUID id) implements Comparable<Key> {
+
+    @Override
+    public int compareTo(Key other) {
+      var byName = name.compareTo(other.name);
+      return byName != 0 ? byName : id.compareTo(other.id);
+    }
+  }
+}
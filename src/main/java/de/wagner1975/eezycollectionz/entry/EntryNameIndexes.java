@@ -0,0 +1,240 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import de.wagner1975.eezycollectionz.support.CacheNames;
+import de.wagner1975.eezycollectionz.support.MetricNames;
+
+/**
+ * Prefix indexes of the entry names per collection, which answer type-ahead lookups without the
+ * database. An index is built on the first lookup in its collection and then kept up to date with
+ * the entries created, renamed and deleted by this instance.
+ * <p>
+ * The indexes are held in a cache weighted by their estimated heap usage and bounded by
+ * {@code eezycollectionz.suggest-index-max-size}; when it is exceeded, the indexes of the least
+ * recently and frequently used collections are evicted as a whole. A collection whose index alone
+ * would exceed that size is not indexed at all, but remembered as such, so its lookups are left to
+ * the database instead of streaming the collection again and again. As other instances may change
+ * the entries as well, an index is rebuilt once it is older than
+ * {@code eezycollectionz.suggest-index-max-age}, regardless of its updates.
+ * <p>
+ * The cache holds futures of the indexes. An index is built by the first thread looking it up,
+ * outside of any lock of the cache, while further lookups of the collection wait for its future.
+ */
+@Slf4j
+@Profile("!reactive")
+@Component
+class EntryNameIndexes {
+
+  private final EntryRepository repository;
+
+  private final TransactionTemplate readOnlyTransaction;
+
+  private final AsyncCache<UUID, Optional<EntryNameIndex>> cache;
+
+  private final long maxBytes;
+
+  private final Timer buildTimer;
+
+  @SuppressWarnings("unchecked")
+  EntryNameIndexes(
+    EntryRepository repository,
+    PlatformTransactionManager transactionManager,
+    CacheManager cacheManager,
+    MeterRegistry registry,
+    ApplicationProperties appProps)
+  {
+    this.repository = repository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.maxBytes = appProps.suggestIndexMaxSize().toBytes();
+    this.cache = Caffeine.newBuilder()
+      .maximumWeight(maxBytes)
+      .weigher((UUID collectionId, Optional<EntryNameIndex> index) -> weigh(index))
+      .expireAfter(new MaxAgeExpiry(appProps.suggestIndexMaxAge().toNanos()))
+      .recordStats()
+      .buildAsync();
+
+    // registered for the collection service to clear and for the tests to reset
+    if (cacheManager instanceof CaffeineCacheManager caffeineCacheManager) {
+      caffeineCacheManager.registerCustomCache(
+        CacheNames.ENTRY_NAME_INDEXES, (Cache<Object, Object>) (Cache<?, ?>) cache.synchronous());
+    }
+
+    CaffeineCacheMetrics.monitor(registry, cache, CacheNames.ENTRY_NAME_INDEXES);
+    Gauge.builder(MetricNames.SUGGEST_INDEX_MEMORY, cache.synchronous(), EntryNameIndexes::weightedSize)
+      .description("Estimated heap usage of the prefix indexes of entry names")
+      .baseUnit("bytes")
+      .register(registry);
+    this.buildTimer = Timer.builder(MetricNames.SUGGEST_INDEX_BUILD)
+      .description("Duration of building the prefix index of the entry names of a collection")
+      .publishPercentileHistogram()
+      .register(registry);
+  }
+
+  /**
+   * @return up to {@code limit} entries of the collection whose name starts with the prefix,
+   * ignoring case, in alphabetical order, or empty if the collection is too large to be indexed
+   */
+  Optional<List<EntrySuggestion>> suggest(UUID collectionId, String prefix, int limit) {
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+    return index(collectionId).map(index -> index.suggest(prefix, limit));
+  }
+
+  /**
+   * Adds a created entry to the index of its collection, if there is one. An index being built
+   * meanwhile is updated after it is complete.
+   */
+  void added(UUID collectionId, UUID id, String name) {
+    update(collectionId, index -> index.put(id, name));
+  }
+
+  /**
+   * Renames an entry in the index of its collection, like {@link #added(UUID, UUID, String)}.
+   */
+  void renamed(UUID collectionId, UUID id, String name) {
+    update(collectionId, index -> index.put(id, name));
+  }
+
+  /**
+   * Removes a deleted entry from the index of its collection, like {@link #added(UUID, UUID, String)}.
+   */
+  void removed(UUID collectionId, UUID id) {
+    update(collectionId, index -> index.remove(id));
+  }
+
+  /**
+   * Drops the index of the collection, e.g. after a bulk change of its entries; it is rebuilt on
+   * the next lookup.
+   */
+  void evict(UUID collectionId) {
+    cache.synchronous().invalidate(collectionId);
+  }
+
+  private Optional<EntryNameIndex> index(UUID collectionId) {
+    var building = new CompletableFuture<Optional<EntryNameIndex>>();
+    var existing = cache.asMap().putIfAbsent(collectionId, building);
+    if (Objects.nonNull(existing)) {
+      try {
+        return existing.join();
+      }
+      catch (CompletionException ex) {
+        Throwables.throwIfUnchecked(ex.getCause());
+        throw ex;
+      }
+    }
+
+    // a failed future is removed by the cache, so the next lookup builds the index again
+    try {
+      var index = build(collectionId);
+      building.complete(index);
+      return index;
+    }
+    catch (RuntimeException ex) {
+      building.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  // the update of an index being built is chained to its future; replacing the future of a built
+  // index by a completed one makes the cache reweigh it
+  private void update(UUID collectionId, Consumer<EntryNameIndex> update) {
+    cache.asMap().computeIfPresent(collectionId, (key, future) -> future.thenApply(index -> {
+      index.ifPresent(update);
+      return index;
+    }));
+  }
+
+  private Optional<EntryNameIndex> build(UUID collectionId) {
+    var sample = Timer.start();
+    var index = new EntryNameIndex();
+    var complete = readOnlyTransaction.execute(status -> {
+      // the overhead per entry alone is a lower bound, which spares streaming most large collections
+      var entryCount = repository.findEntryCountByCollectionId(collectionId).orElse(0L);
+      if (entryCount * EntryNameIndex.ENTRY_OVERHEAD_BYTES > maxBytes) {
+        return false;
+      }
+      try (var suggestions = repository.streamSuggestionsByCollectionId(collectionId)) {
+        var iterator = suggestions.iterator();
+        while (iterator.hasNext()) {
+          var suggestion = iterator.next();
+          index.put(suggestion.id(), suggestion.name());
+          if (index.estimatedBytes() > maxBytes) {
+            return false;
+          }
+        }
+      }
+      return true;
+    });
+    var nanos = sample.stop(buildTimer);
+    if (!Boolean.TRUE.equals(complete)) {
+      log.info("Name index of collection {} exceeds {} bytes, its suggestions are looked up in the database", collectionId, maxBytes);
+      return Optional.empty();
+    }
+    log.debug("Built name index of collection {} with {} entries in {} ms", collectionId, index.size(), nanos / 1_000_000);
+    return Optional.of(index);
+  }
+
+  private static int weigh(Optional<EntryNameIndex> index) {
+    return (int) Math.min(index.map(EntryNameIndex::estimatedBytes).orElse(0L), Integer.MAX_VALUE);
+  }
+
+  // the weights of updated indexes are applied by the pending maintenance of the cache
+  private static double weightedSize(Cache<UUID, Optional<EntryNameIndex>> cache) {
+    cache.cleanUp();
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  /**
+   * Expires an index a fixed time after it was built, as well as the note that a collection is too
+   * large to be indexed. Updates reweigh an index, but must not defer its rebuild.
+   */
+  private record MaxAgeExpiry(long maxAgeNanos) implements Expiry<UUID, Optional<EntryNameIndex>> {
+
+    @Override
+    public long expireAfterCreate(UUID collectionId, Optional<EntryNameIndex> index, long currentTime) {
+      return maxAgeNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(
+      UUID collectionId, Optional<EntryNameIndex> index, long currentTime, long currentDuration)
+    {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+      UUID collectionId, Optional<EntryNameIndex> index, long currentTime, long currentDuration)
+    {
+      return currentDuration;
+    }
+  }
+}
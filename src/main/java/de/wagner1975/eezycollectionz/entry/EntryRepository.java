@@ -1,15 +1,116 @@
 package de.wagner1975.eezycollectionz.entry;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 public interface EntryRepository extends
   PagingAndSortingRepository<Entry, UUID>,
   ListCrudRepository<Entry, UUID>
 {
-  Page<Entry> findByCollectionId(UUID collectionId, Pageable pageable);
+  Page<EntryView> findByCollectionId(UUID collectionId, Pageable pageable);
+
+  Slice<EntryView> findSliceByCollectionId(UUID collectionId, Pageable pageable);
+
+  @Query("""
+    select new de.wagner1975.eezycollectionz.entry.EntryView(e.id, e.createdAt, e.lastModifiedAt, e.name)
+    from Entry e
+    where e.collection.id = :collectionId
+    order by e.createdAt, e.id""")
+  List<EntryView> findFirstByCollectionId(@Param("collectionId") UUID collectionId, Pageable pageable);
+
+  @Query("""
+    select new de.wagner1975.eezycollectionz.entry.EntryView(e.id, e.createdAt, e.lastModifiedAt, e.name)
+    from Entry e
+    where e.collection.id = :collectionId and (e.createdAt, e.id) > (:createdAt, :id)
+    order by e.createdAt, e.id""")
+  List<EntryView> findByCollectionIdAfter(
+    @Param("collectionId") UUID collectionId,
+    @Param("createdAt") Instant createdAt,
+    @Param("id") UUID id,
+    Pageable pageable);
+
+  /**
+   * Reads all entries of the collection through a server-side cursor, which PostgreSQL only opens
+   * within a transaction; without the fetch size the driver would load all rows at once.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("""
+    select new de.wagner1975.eezycollectionz.entry.EntryView(e.id, e.createdAt, e.lastModifiedAt, e.name)
+    from Entry e
+    where e.collection.id = :collectionId
+    order by e.createdAt, e.id""")
+  Stream<EntryView> streamByCollectionId(@Param("collectionId") UUID collectionId);
+
+  /**
+   * Reads id and name of all entries of the collection through a server-side cursor, see
+   * {@link #streamByCollectionId(UUID)}.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("""
+    select new de.wagner1975.eezycollectionz.entry.EntrySuggestion(e.id, e.name)
+    from Entry e
+    where e.collection.id = :collectionId""")
+  Stream<EntrySuggestion> streamSuggestionsByCollectionId(@Param("collectionId") UUID collectionId);
+
+  /**
+   * @return the number of entries of the collection, as maintained by the database, or empty if the
+   * collection does not exist
+   */
+  @Query("select c.entryCount from Collection c where c.id = :collectionId")
+  Optional<Long> findEntryCountByCollectionId(@Param("collectionId") UUID collectionId);
+
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    update entry set name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+    where id = :id
+    returning *""")
+  Optional<Entry> updateNameById(
+    @Param("id") UUID id,
+    @Param("name") String name,
+    @Param("lastModifiedAt") Instant lastModifiedAt);
+
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    update entry set name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+    where id = :id and version = :version
+    returning *""")
+  Optional<Entry> updateNameByIdAndVersion(
+    @Param("id") UUID id,
+    @Param("version") long version,
+    @Param("name") String name,
+    @Param("lastModifiedAt") Instant lastModifiedAt);
+
+  /**
+   * @return the id of the collection of the deleted entry, or empty if there was none
+   */
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    delete from entry where id = :id
+    returning collection_id""")
+  Optional<UUID> deleteDirectlyById(@Param("id") UUID id);
+
+  /**
+   * @return the id of the collection of the deleted entry, or empty if there was none of the version
+   */
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    delete from entry where id = :id and version = :version
+    returning collection_id""")
+  Optional<UUID> deleteDirectlyByIdAndVersion(@Param("id") UUID id, @Param("version") long version);
 }
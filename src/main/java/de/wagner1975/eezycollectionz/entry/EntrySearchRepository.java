@@ -0,0 +1,87 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.google.common.base.Preconditions;
+
+import lombok.AllArgsConstructor;
+
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.SearchHit;
+
+/**
+ * Searches entries by name, within a single collection or in all of them.
+ */
+@Profile("!reactive")
+@Repository
+@AllArgsConstructor
+class EntrySearchRepository {
+
+  private static final String COLUMNS = "id, created_at, last_modified_at, name";
+
+  private static final String SUGGEST_SQL = """
+    SELECT id, name FROM entry
+    WHERE collection_id = :collectionId AND lower(name) COLLATE "C" LIKE lower(:pattern)
+    ORDER BY lower(name) COLLATE "C", id
+    LIMIT :limit""";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * @param collectionId restricts the search to a single collection, if not null
+   */
+  List<SearchHit<EntryView>> search(NameSearch search, UUID collectionId) {
+    Preconditions.checkArgument(Objects.nonNull(search), "search is null");
+
+    var parameters = search.parameters();
+    String sql;
+    if (Objects.isNull(collectionId)) {
+      sql = search.sql("entry", COLUMNS);
+    }
+    else {
+      sql = search.sql("entry", COLUMNS, "collection_id = :collectionId");
+      parameters.addValue("collectionId", collectionId);
+    }
+
+    return jdbcTemplate.query(sql, parameters, search.hitMapper((resultSet, rowNum) -> entryView(resultSet)));
+  }
+
+  /**
+   * Type-ahead lookup for collections too large for an {@link EntryNameIndex}. It is answered by the
+   * b-tree index of prefix searches, in the order of the name index.
+   *
+   * @return up to {@code limit} entries of the collection whose name starts with the prefix,
+   * ignoring case, in alphabetical order
+   */
+  List<EntrySuggestion> suggest(UUID collectionId, String prefix, int limit) {
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+    Preconditions.checkArgument(Objects.nonNull(prefix), "prefix is null");
+    Preconditions.checkArgument(limit > 0, "limit is not positive");
+
+    var parameters = new MapSqlParameterSource()
+      .addValue("collectionId", collectionId)
+      .addValue("pattern", NameSearch.escapeLike(prefix) + "%")
+      .addValue("limit", limit);
+    return jdbcTemplate.query(SUGGEST_SQL, parameters, (resultSet, rowNum) -> new EntrySuggestion(
+      resultSet.getObject("id", UUID.class),
+      resultSet.getString("name")));
+  }
+
+  private static EntryView entryView(ResultSet resultSet) throws SQLException {
+    return new EntryView(
+      resultSet.getObject("id", UUID.class),
+      resultSet.getObject("created_at", OffsetDateTime.class).toInstant(),
+      resultSet.getObject("last_modified_at", OffsetDateTime.class).toInstant(),
+      resultSet.getString("name"));
+  }
+}
@@ -1,86 +1,244 @@
 package de.wagner1975.eezycollectionz.entry;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.google.common.base.Preconditions;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 
 import de.wagner1975.eezycollectionz.collection.Collection;
+import de.wagner1975.eezycollectionz.support.BulkCreateResult;
+import de.wagner1975.eezycollectionz.support.CacheNames;
+import de.wagner1975.eezycollectionz.support.Caches;
+import de.wagner1975.eezycollectionz.support.CursorPage;
 import de.wagner1975.eezycollectionz.support.GenerateIdException;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+import de.wagner1975.eezycollectionz.support.MetricNames;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.RowCountEstimator;
+import de.wagner1975.eezycollectionz.support.SearchHit;
+import de.wagner1975.eezycollectionz.support.SliceResult;
 import de.wagner1975.eezycollectionz.support.TimeFactory;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
 
+@Profile("!reactive")
 @Service
 @AllArgsConstructor
 class EntryService {
 
   private final EntryRepository repository;
 
+  private final EntrySearchRepository searchRepository;
+
+  private final EntryNameIndexes nameIndexes;
+
   private final EntryIdProvider provider;
 
   private final TimeFactory timeFactory;
 
-  Page<Entry> findByCollectionId(UUID collectionId, Pageable pageable) {
+  private final Validator validator;
+
+  private final RowCountEstimator rowCountEstimator;
+
+  private final CacheManager cacheManager;
+
+  private final EntityManager entityManager;
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  Page<EntryView> findByCollectionId(UUID collectionId, Pageable pageable) {
     Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
     Preconditions.checkArgument(Objects.nonNull(pageable), "pageable is null");
     return repository.findByCollectionId(collectionId, pageable);   
   }
 
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  SliceResult<EntryView> findSliceByCollectionId(UUID collectionId, Pageable pageable, boolean withApproximateTotal) {
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+    Preconditions.checkArgument(Objects.nonNull(pageable), "pageable is null");
+
+    var slice = repository.findSliceByCollectionId(collectionId, pageable);
+    var approximateTotal = withApproximateTotal
+      ? rowCountEstimator.estimateQueryRows("SELECT 1 FROM entry WHERE collection_id = ?", collectionId).orElse(null)
+      : null;
+
+    return SliceResult.of(slice, approximateTotal);
+  }
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  CursorPage<EntryView> scrollByCollectionId(UUID collectionId, KeysetCursor after, int size) {
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+    Preconditions.checkArgument(size > 0, "size is not positive");
+
+    var limit = PageRequest.ofSize(size + 1);
+    var found = Objects.isNull(after)
+      ? repository.findFirstByCollectionId(collectionId, limit)
+      : repository.findByCollectionIdAfter(collectionId, after.createdAt(), after.id(), limit);
+
+    return CursorPage.of(found, size, entry -> new KeysetCursor(entry.createdAt(), entry.id()));
+  }
+
+  /**
+   * @param collectionId restricts the search to a single collection, if not null
+   */
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  CursorPage<EntryView> search(NameSearch search, UUID collectionId) {
+    Preconditions.checkArgument(Objects.nonNull(search), "search is null");
+
+    var found = searchRepository.search(search, collectionId);
+    return CursorPage.of(found, search.size(), SearchHit::item, hit -> hit.cursor().encode());
+  }
+
+  /**
+   * Looks up the prefix in the in-memory name index of the collection, or in the database if the
+   * collection is too large to be indexed.
+   */
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  List<EntrySuggestion> suggest(UUID collectionId, String prefix, int limit) {
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+    Preconditions.checkArgument(Objects.nonNull(prefix), "prefix is null");
+    Preconditions.checkArgument(limit > 0, "limit is not positive");
+    return nameIndexes.suggest(collectionId, prefix, limit)
+      .orElseGet(() -> searchRepository.suggest(collectionId, prefix, limit));
+  }
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  @Transactional(readOnly = true)
+  void exportByCollectionId(UUID collectionId, Consumer<EntryView> consumer) {
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+    Preconditions.checkArgument(Objects.nonNull(consumer), "consumer is null");
+
+    try (var entries = repository.streamByCollectionId(collectionId)) {
+      entries.forEach(consumer);
+    }
+  }
+
+  @Timed(value = MetricNames.SERVICE, histogram = true)
   Optional<Entry> findById(UUID id) {
     Preconditions.checkArgument(Objects.nonNull(id), "id is null");
-    return repository.findById(id);
+
+    return Caches.getOrLoad(cache(), id, () -> repository.findById(id));
   }
 
+  @Timed(value = MetricNames.SERVICE, histogram = true)
   Optional<Entry> create(EntryInput entryInput, UUID collectionId) {
     Preconditions.checkArgument(Objects.nonNull(entryInput), "entryInput is null");    
     Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
 
     try {
-      var generatedId = provider.generateId();
-
       var now = timeFactory.now();
 
-      var newEntry = Entry.builder()
+      var savedEntry = provider.saveWithGeneratedId(generatedId -> Entry.builder()
         .id(generatedId)
         .createdAt(now)
         .lastModifiedAt(now)
         .name(entryInput.getName())
-        .collection(Collection.builder().id(collectionId).build())
-        .build();
-
-      return Optional.ofNullable(repository.save(newEntry));         
+        .collection(collectionReference(collectionId))
+        .build());
+
+      if (Objects.nonNull(savedEntry)) {
+        countChanged(collectionId);
+        nameIndexes.added(collectionId, savedEntry.getId(), savedEntry.getName());
+      }
+      return Optional.ofNullable(savedEntry);
     }
     catch (GenerateIdException ex) {
       return Optional.empty();
     }
   }
 
-  Optional<Entry> update(EntryInput entryInput, UUID id) {
-    Preconditions.checkArgument(Objects.nonNull(entryInput), "entryInput is null");
-    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  BulkCreateResult<Entry> createAll(List<EntryInput> entryInputs, UUID collectionId) {
+    Preconditions.checkArgument(Objects.nonNull(entryInputs), "entryInputs is null");
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
 
-    var foundEntry = repository.findById(id);
-    
-    if (foundEntry.isEmpty()) {
-      return Optional.empty();
+    var now = timeFactory.now();
+    var collection = collectionReference(collectionId);
+
+    var result = BulkCreateResult.create(entryInputs, validator, validInputs -> provider.saveAllWithGeneratedIds(
+      validInputs.stream()
+        .<Function<UUID, Entry>>map(entryInput -> generatedId -> Entry.builder()
+          .id(generatedId)
+          .createdAt(now)
+          .lastModifiedAt(now)
+          .name(entryInput.getName())
+          .collection(collection)
+          .build())
+        .toList()),
+      "Auto-generation of unique entry id failed");
+    if (result.getItems().stream().anyMatch(BulkCreateResult.Item::isCreated)) {
+      countChanged(collectionId);
     }
+    result.getItems().stream()
+      .filter(BulkCreateResult.Item::isCreated)
+      .map(BulkCreateResult.Item::getEntity)
+      .forEach(entry -> nameIndexes.added(collectionId, entry.getId(), entry.getName()));
+    return result;
+  }
 
-    var existingEntry = foundEntry.get();
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  Optional<Entry> update(EntryInput entryInput, UUID id, Long expectedVersion) {
+    Preconditions.checkArgument(Objects.nonNull(entryInput), "entryInput is null");
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
 
-    existingEntry.setLastModifiedAt(timeFactory.now());
-    existingEntry.setName(entryInput.getName());
+    var now = timeFactory.now();
+    var updatedEntry = Objects.isNull(expectedVersion)
+      ? repository.updateNameById(id, entryInput.getName(), now)
+      : repository.updateNameByIdAndVersion(id, expectedVersion, entryInput.getName(), now);
+    cache().evict(id);
+    updatedEntry.ifPresent(entry -> nameIndexes.renamed(entry.getCollection().getId(), id, entry.getName()));
 
-    return Optional.ofNullable(repository.save(existingEntry));
+    if (updatedEntry.isEmpty() && Objects.nonNull(expectedVersion) && repository.existsById(id)) {
+      throw new VersionMismatchException();
+    }
+    return updatedEntry;
   }  
 
-  void delete(UUID id) {
+  @Timed(value = MetricNames.SERVICE, histogram = true)
+  boolean delete(UUID id, Long expectedVersion) {
     Preconditions.checkArgument(Objects.nonNull(id), "id is null");
-    repository.deleteById(id);
-  } 
+
+    var collectionId = Objects.isNull(expectedVersion)
+      ? repository.deleteDirectlyById(id)
+      : repository.deleteDirectlyByIdAndVersion(id, expectedVersion);
+    if (collectionId.isPresent()) {
+      cache().evict(id);
+      countChanged(collectionId.get());
+      nameIndexes.removed(collectionId.get(), id);
+    }
+    else if (Objects.nonNull(expectedVersion) && repository.existsById(id)) {
+      throw new VersionMismatchException();
+    }
+    return collectionId.isPresent();
+  }
+
+  // an uninitialized proxy, so the insert needs no select; a missing collection fails the insert
+  private Collection collectionReference(UUID collectionId) {
+    return entityManager.getReference(Collection.class, collectionId);
+  }
+
+  // the database counts the entries of the collection, so its cached count is outdated
+  private void countChanged(UUID collectionId) {
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).evict(collectionId);
+  }
+
+  private Cache cache() {
+    return cacheManager.getCache(CacheNames.ENTRIES);
+  }
 }
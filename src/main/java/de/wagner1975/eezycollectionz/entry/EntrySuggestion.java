@@ -0,0 +1,9 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.util.UUID;
+
+/**
+ * Entry proposed for a typed prefix of its name, held in memory by {@link EntryNameIndex}.
+ */
+public record EntrySuggestion(UUID id, String name) {
+}
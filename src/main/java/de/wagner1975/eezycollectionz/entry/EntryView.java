@@ -0,0 +1,11 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Serialized data of an entry in listings. It is read directly from the entry table, so neither
+ * the collection nor the entity itself is loaded.
+ */
+public record EntryView(UUID id, Instant createdAt, Instant lastModifiedAt, String name) {
+}
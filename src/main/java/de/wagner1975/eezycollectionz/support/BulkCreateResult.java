@@ -0,0 +1,98 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a bulk create request. Every input item is reported at its index, either with the
+ * created entity or with the reasons why it was not created.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkCreateResult<T> {
+
+  private final int created;
+
+  private final int failed;
+
+  private final List<Item<T>> items;
+
+  /**
+   * Validates every input on its own and passes all valid inputs to {@code saveAll} at once, which
+   * must return the saved entities in the order of the given inputs.
+   */
+  public static <I, T> BulkCreateResult<T> create(
+    List<I> inputs, Validator validator, Function<List<I>, List<T>> saveAll, String generateIdFailedMessage) {
+
+    var items = new ArrayList<Item<T>>(inputs.size());
+    var validIndexes = new ArrayList<Integer>(inputs.size());
+
+    for (var i = 0; i < inputs.size(); i++) {
+      var errors = validate(inputs.get(i), validator);
+      items.add(errors.isEmpty() ? null : Item.failed(i, errors));
+      if (errors.isEmpty()) {
+        validIndexes.add(i);
+      }
+    }
+
+    if (!validIndexes.isEmpty()) {
+      try {
+        var saved = saveAll.apply(validIndexes.stream().map(inputs::get).toList());
+        for (var k = 0; k < validIndexes.size(); k++) {
+          items.set(validIndexes.get(k), Item.created(validIndexes.get(k), saved.get(k)));
+        }
+      }
+      catch (GenerateIdException ex) {
+        validIndexes.forEach(i -> items.set(i, Item.failed(i, List.of(generateIdFailedMessage))));
+      }
+    }
+
+    return of(items);
+  }
+
+  public static <T> BulkCreateResult<T> of(List<Item<T>> items) {
+    var created = (int) items.stream().filter(Item::isCreated).count();
+    return new BulkCreateResult<>(created, items.size() - created, List.copyOf(items));
+  }
+
+  private static List<String> validate(Object input, Validator validator) {
+    if (Objects.isNull(input)) {
+      return List.of("must not be null");
+    }
+    return validator.validate(input).stream()
+      .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+      .sorted()
+      .toList();
+  }
+
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Item<T> {
+
+    private final int index;
+
+    private final boolean created;
+
+    private final T entity;
+
+    private final List<String> errors;
+
+    public static <T> Item<T> created(int index, T entity) {
+      return new Item<>(index, true, entity, null);
+    }
+
+    public static <T> Item<T> failed(int index, List<String> errors) {
+      return new Item<>(index, false, null, List.copyOf(errors));
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package de.wagner1975.eezycollectionz.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a bulk delete request. Ids which did not exist are not counted as deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkDeleteResult {
+
+  private final int deleted;
+}
@@ -0,0 +1,26 @@
+package de.wagner1975.eezycollectionz.support;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Names of the caches configured in {@code spring.cache.cache-names}. The caches of collections and
+ * entries map the id of an entity to the entity itself. The cache of the entry name indexes is
+ * registered separately, as it is bounded by memory instead of a number of entries.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CacheNames {
+
+  public static final String COLLECTIONS = "collections";
+
+  public static final String ENTRIES = "entries";
+
+  /**
+   * Maps the id of a collection to the number of its entries, which changes with every entry
+   * written and is therefore cached apart from the collection.
+   */
+  public static final String ENTRY_COUNTS = "entryCounts";
+
+  /** Maps the id of a collection to the prefix index of the names of its entries. */
+  public static final String ENTRY_NAME_INDEXES = "entryNameIndexes";
+}
@@ -0,0 +1,87 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueRetrievalException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.base.Preconditions;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reads entities through the caches of {@link CacheNames} and evicts them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Caches {
+
+  /**
+   * Returns the cached value of the key, or loads and caches it. The value is loaded within the
+   * computation of the cache for the key, so an eviction of the key waits for a load in progress and
+   * a value loaded before a change is never cached after its eviction. Absent values are not cached.
+   * The computation locks by {@code synchronized}, which pins virtual threads before Java 24, see
+   * {@link VirtualThreadConfiguration}.
+   */
+  public static <T> Optional<T> getOrLoad(Cache cache, Object key, Supplier<Optional<T>> loader) {
+    Preconditions.checkArgument(Objects.nonNull(cache), "cache is null");
+    Preconditions.checkArgument(Objects.nonNull(key), "key is null");
+    Preconditions.checkArgument(Objects.nonNull(loader), "loader is null");
+
+    try {
+      return Optional.of(cache.get(key, () -> loader.get().orElseThrow()));
+    }
+    catch (ValueRetrievalException ex) {
+      if (ex.getCause() instanceof NoSuchElementException) {
+        return Optional.empty();
+      }
+      throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+    }
+  }
+
+  /**
+   * Evicts the cached values matching the predicate. Caches of unknown implementations are cleared.
+   */
+  public static void evictIf(Cache cache, Predicate<Object> predicate) {
+    Preconditions.checkArgument(Objects.nonNull(cache), "cache is null");
+    Preconditions.checkArgument(Objects.nonNull(predicate), "predicate is null");
+
+    var nativeCache = cache.getNativeCache();
+    if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+      caffeineCache.asMap().values().removeIf(predicate);
+    }
+    else if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+      map.values().removeIf(predicate);
+    }
+    else {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Runs the eviction after the current transaction has committed, or at once outside of a
+   * transaction. Evicted before the commit, the old values could be loaded and cached again by a
+   * concurrent read, which still sees the uncommitted change as not made.
+   */
+  public static void evictAfterCommit(Runnable eviction) {
+    Preconditions.checkArgument(Objects.nonNull(eviction), "eviction is null");
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      eviction.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        eviction.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,52 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Slice of a keyset-paginated listing. There is no total count; {@code nextCursor} is set as long as
+ * more items follow.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorPage<T> {
+
+  public static final int MAX_SIZE = 1_000;
+
+  private final List<T> content;
+
+  private final int size;
+
+  private final boolean hasNext;
+
+  private final String nextCursor;
+
+  /**
+   * @param found up to {@code size + 1} items, where the additional item only indicates that there
+   * is a next slice
+   */
+  public static <T> CursorPage<T> of(List<T> found, int size, Function<T, KeysetCursor> cursorOf) {
+    return of(found, size, Function.identity(), item -> cursorOf.apply(item).encode());
+  }
+
+  /**
+   * @param found up to {@code size + 1} results, where the additional result only indicates that
+   * there is a next slice
+   * @param contentOf maps a result to the returned item
+   * @param nextCursorOf maps the last returned result to the token of the next slice
+   */
+  public static <R, T> CursorPage<T> of(
+    List<R> found, int size, Function<R, T> contentOf, Function<R, String> nextCursorOf)
+  {
+    var returned = found.size() <= size ? found : found.subList(0, size);
+    var content = returned.stream().map(contentOf).toList();
+    if (found.size() <= size) {
+      return new CursorPage<>(content, size, false, null);
+    }
+    return new CursorPage<>(content, size, true, nextCursorOf.apply(returned.get(size - 1)));
+  }
+}
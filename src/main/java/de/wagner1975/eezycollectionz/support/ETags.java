@@ -0,0 +1,44 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps entity versions to strong entity tags and back. An entity tag only changes when the entity
+ * is modified, so clients can revalidate with {@code If-None-Match} and update conditionally with
+ * {@code If-Match}. Representations with a count maintained apart from the version, like the
+ * entry count of a collection, carry it in the tag as well, while {@code If-Match} only compares the
+ * version.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ETags {
+
+  public static final String ANY = "*";
+
+  private static final Pattern STRONG_VERSION_TAG = Pattern.compile("\"(\\d{1,18})(?:\\.\\d{1,18})?\"");
+
+  public static String of(Long version) {
+    return "\"" + Objects.requireNonNullElse(version, 0L) + "\"";
+  }
+
+  public static String of(Long version, long count) {
+    return "\"" + Objects.requireNonNullElse(version, 0L) + "." + count + "\"";
+  }
+
+  /**
+   * Returns the version of a single strong entity tag. Weak tags, lists of tags and anything else
+   * yield empty, as they can never match under the strong comparison of {@code If-Match}.
+   */
+  public static Optional<Long> parseVersion(String eTag) {
+    if (Objects.isNull(eTag)) {
+      return Optional.empty();
+    }
+
+    var matcher = STRONG_VERSION_TAG.matcher(eTag.trim());
+    return matcher.matches() ? Optional.of(Long.parseLong(matcher.group(1))) : Optional.empty();
+  }
+}
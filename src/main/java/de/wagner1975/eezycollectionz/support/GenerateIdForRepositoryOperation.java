@@ -13,16 +13,24 @@ public class GenerateIdForRepositoryOperation<ID> {
   
   private final int maxRetries;
 
+  private final IdGenerationMetrics metrics;
+
   public ID execute() {
+    var sample = metrics.start();
     ID generatedId = null;
     var suitable = false;
     var i = 0;
-    do {
-      generatedId = generator.generate();
-      suitable = Objects.nonNull(generatedId) && !repository.existsById(generatedId);
-      i++;
+    try {
+      do {
+        generatedId = generator.generate();
+        suitable = Objects.nonNull(generatedId) && !repository.existsById(generatedId);
+        i++;
+      }
+      while (!suitable && i <= maxRetries);
+    }
+    finally {
+      metrics.stop(sample, "generate", i, suitable);
     }
-    while (!suitable && i <= maxRetries);
 
     if (!suitable) {
       throw new GenerateIdException();
@@ -14,7 +14,14 @@ public class GenerateIdOperationFactory {
 
   private final ApplicationProperties appProps;
 
+  private final IdGenerationMetrics metrics;
+
   public GenerateIdForRepositoryOperation<UUID> createForUUIDInRepository(IdGenerator<UUID> generator, CrudRepository<?, UUID> repository) {
-    return new GenerateIdForRepositoryOperation<>(generator, repository, appProps.maxRetriesToGenerateId());
+    return new GenerateIdForRepositoryOperation<>(generator, repository, appProps.maxRetriesToGenerateId(), metrics);
+  }
+
+  public <T> SaveWithGeneratedIdOperation<T, UUID> createSaveForUUIDInRepository(IdGenerator<UUID> generator, CrudRepository<T, UUID> repository) {
+    return new SaveWithGeneratedIdOperation<>(
+      generator, repository, appProps.maxRetriesToGenerateId(), appProps.idGenerationStrategy(), metrics);
   }
 }
@@ -0,0 +1,51 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Preconditions;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Records duration and attempts of the id generating operations, tagged with the {@code operation}
+ * and its {@code outcome}, so retries caused by key collisions become visible.
+ */
+@Component
+public class IdGenerationMetrics {
+
+  /** Records nothing, for operations created outside of the application context. */
+  public static final IdGenerationMetrics NONE = new IdGenerationMetrics(new CompositeMeterRegistry());
+
+  private final MeterRegistry registry;
+
+  public IdGenerationMetrics(MeterRegistry registry) {
+    Preconditions.checkArgument(Objects.nonNull(registry), "registry is null");
+    this.registry = registry;
+  }
+
+  public Timer.Sample start() {
+    return Timer.start(registry);
+  }
+
+  public void stop(Timer.Sample sample, String operation, int attempts, boolean succeeded) {
+    var outcome = succeeded ? "success" : "failure";
+
+    sample.stop(Timer.builder(MetricNames.ID_GENERATION)
+      .description("Duration of generating a unique id")
+      .tags("operation", operation, "outcome", outcome)
+      .publishPercentileHistogram()
+      .register(registry));
+
+    DistributionSummary.builder(MetricNames.ID_GENERATION_ATTEMPTS)
+      .description("Number of generated ids until one was unique")
+      .tags("operation", operation, "outcome", outcome)
+      .serviceLevelObjectives(1, 2, 3, 4, 6)
+      .register(registry)
+      .record(attempts);
+  }
+}
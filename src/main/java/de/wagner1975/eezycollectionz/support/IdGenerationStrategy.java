@@ -0,0 +1,9 @@
+package de.wagner1975.eezycollectionz.support;
+
+public enum IdGenerationStrategy {
+  /** Checks the repository for an existing id before the entity is saved. */
+  CHECK_EXISTENCE,
+
+  /** Saves the entity directly and generates a new id only if the primary key is violated. */
+  OPTIMISTIC
+}
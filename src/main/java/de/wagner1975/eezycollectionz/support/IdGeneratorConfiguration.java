@@ -0,0 +1,35 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.UUID;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class IdGeneratorConfiguration {
+
+  @Bean
+  IdGenerator<UUID> uuidGenerator(ApplicationProperties appProps) {
+    IdGenerator<UUID> generator = switch (appProps.idGenerator()) {
+      case RANDOM -> new RandomUUIDGenerator();
+      case TIME_ORDERED -> new TimeOrderedUUIDGenerator();
+    };
+
+    if (appProps.idPoolSize() > 0) {
+      return new PooledIdGenerator<>(generator, appProps.idPoolSize());
+    }
+    return generator;
+  }
+
+  @Bean
+  MeterBinder idPoolMetrics(IdGenerator<UUID> uuidGenerator) {
+    return registry -> {
+      if (uuidGenerator instanceof PooledIdGenerator<?> pooledGenerator) {
+        pooledGenerator.bindTo(registry);
+      }
+    };
+  }
+}
@@ -0,0 +1,9 @@
+package de.wagner1975.eezycollectionz.support;
+
+public enum IdGeneratorType {
+  /** Random version 4 UUIDs, see {@link RandomUUIDGenerator}. */
+  RANDOM,
+
+  /** Time-ordered version 7 UUIDs, see {@link TimeOrderedUUIDGenerator}. */
+  TIME_ORDERED
+}
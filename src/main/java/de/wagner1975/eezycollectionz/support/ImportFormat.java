@@ -0,0 +1,33 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ImportFormat {
+  /** One JSON object per line. */
+  NDJSON(MediaType.APPLICATION_NDJSON),
+
+  /** One record per line, preceded by a header line with the property names. */
+  CSV(new MediaType("text", "csv"));
+
+  public static final String CSV_VALUE = "text/csv";
+
+  private final MediaType mediaType;
+
+  public static Optional<ImportFormat> of(MediaType contentType) {
+    if (Objects.isNull(contentType)) {
+      return Optional.empty();
+    }
+    return Arrays.stream(values())
+      .filter(format -> format.getMediaType().isCompatibleWith(contentType))
+      .findFirst();
+  }
+}
@@ -0,0 +1,240 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+
+/**
+ * Reads the records of an upload one at a time, so uploads of any size are never held in memory. A
+ * record ends at a line break and holds at most {@link #MAX_LINE_LENGTH} characters; the rest of a
+ * longer record is skipped. A record which cannot be read is returned with an error and reading
+ * continues with the next record. CSV fields may be quoted, quotes within quoted fields are doubled,
+ * and line breaks within quoted fields belong to the field. A CSV header which cannot be read or
+ * lacks one of the required columns fails the whole upload with an
+ * {@link InvalidImportHeaderException}.
+ */
+public class ImportReader<T> {
+
+  public static final int MAX_LINE_LENGTH = 65_536;
+
+  private final BufferedReader reader;
+
+  private final ImportFormat format;
+
+  private final ObjectMapper objectMapper;
+
+  private final Class<T> type;
+
+  private final Set<String> requiredColumns;
+
+  private List<String> csvHeader;
+
+  private final char[] buffer = new char[8192];
+
+  private int position;
+
+  private int limit;
+
+  private long lineNumber;
+
+  /**
+   * @param requiredColumns columns a CSV header must contain
+   */
+  public ImportReader(
+    BufferedReader reader, ImportFormat format, ObjectMapper objectMapper, Class<T> type, Set<String> requiredColumns)
+  {
+    Preconditions.checkArgument(Objects.nonNull(reader), "reader is null");
+    Preconditions.checkArgument(Objects.nonNull(format), "format is null");
+    Preconditions.checkArgument(Objects.nonNull(objectMapper), "objectMapper is null");
+    Preconditions.checkArgument(Objects.nonNull(type), "type is null");
+    Preconditions.checkArgument(Objects.nonNull(requiredColumns), "requiredColumns is null");
+    this.reader = reader;
+    this.format = format;
+    this.objectMapper = objectMapper;
+    this.type = type;
+    this.requiredColumns = requiredColumns;
+  }
+
+  /**
+   * @return next non-blank record, numbered by the line it starts on, empty at the end of the upload
+   */
+  public Optional<Line<T>> next() throws IOException {
+    Record record;
+    do {
+      record = readRecord();
+      if (Objects.isNull(record)) {
+        return Optional.empty();
+      }
+    } while (!record.tooLong() && record.text().isBlank());
+
+    if (format == ImportFormat.CSV && Objects.isNull(csvHeader)) {
+      csvHeader = readCsvHeader(record);
+      return next();
+    }
+
+    if (record.tooLong()) {
+      return Optional.of(Line.failed(record.number(), "Line is longer than " + MAX_LINE_LENGTH + " characters"));
+    }
+    try {
+      return Optional.of(Line.of(record.number(),
+        format == ImportFormat.CSV ? readCsv(record.text()) : readJson(record.text())));
+    }
+    catch (IllegalArgumentException | JsonProcessingException ex) {
+      return Optional.of(Line.failed(record.number(), "Line cannot be read"));
+    }
+  }
+
+  /**
+   * Reads up to the next line break, in CSV only outside of quoted fields. At most
+   * {@link #MAX_LINE_LENGTH} characters are kept.
+   *
+   * @return the record, null at the end of the upload
+   */
+  private Record readRecord() throws IOException {
+    var number = lineNumber + 1;
+    var text = new StringBuilder();
+    var tooLong = false;
+    var quoted = false;
+
+    int c;
+    while ((c = read()) != -1) {
+      if (c == '\n') {
+        lineNumber++;
+        if (!quoted) {
+          return new Record(number, stripCarriageReturn(text), tooLong);
+        }
+      }
+      else if (c == '"' && format == ImportFormat.CSV) {
+        // doubled quotes within quoted fields toggle twice
+        quoted = !quoted;
+      }
+
+      if (text.length() < MAX_LINE_LENGTH) {
+        text.append((char) c);
+      }
+      else {
+        tooLong = true;
+      }
+    }
+
+    if (text.isEmpty() && !tooLong) {
+      return null;
+    }
+    lineNumber++;
+    return new Record(number, stripCarriageReturn(text), tooLong);
+  }
+
+  private int read() throws IOException {
+    if (position == limit) {
+      limit = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit == -1) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position++];
+  }
+
+  private static String stripCarriageReturn(StringBuilder text) {
+    var length = text.length();
+    return length > 0 && text.charAt(length - 1) == '\r' ? text.substring(0, length - 1) : text.toString();
+  }
+
+  private List<String> readCsvHeader(Record record) {
+    if (record.tooLong()) {
+      throw new InvalidImportHeaderException("CSV header is longer than " + MAX_LINE_LENGTH + " characters");
+    }
+
+    List<String> header;
+    try {
+      header = splitCsv(record.text());
+    }
+    catch (IllegalArgumentException ex) {
+      throw new InvalidImportHeaderException("CSV header cannot be read");
+    }
+
+    var missingColumns = requiredColumns.stream().filter(column -> !header.contains(column)).sorted().toList();
+    if (!missingColumns.isEmpty()) {
+      throw new InvalidImportHeaderException("CSV header lacks the columns " + String.join(", ", missingColumns));
+    }
+    return header;
+  }
+
+  private T readJson(String text) throws JsonProcessingException {
+    return objectMapper.readValue(text, type);
+  }
+
+  private T readCsv(String text) {
+    var fields = splitCsv(text);
+    Preconditions.checkArgument(fields.size() == csvHeader.size(), "number of fields differs from header");
+
+    var values = new HashMap<String, String>();
+    for (var i = 0; i < fields.size(); i++) {
+      values.put(csvHeader.get(i), fields.get(i));
+    }
+    return objectMapper.convertValue(values, type);
+  }
+
+  static List<String> splitCsv(String text) {
+    var fields = new ArrayList<String>();
+    var field = new StringBuilder();
+    var quoted = false;
+
+    for (var i = 0; i < text.length(); i++) {
+      var c = text.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+          field.append(c);
+          i++;
+        }
+        else if (c == '"') {
+          quoted = false;
+        }
+        else {
+          field.append(c);
+        }
+      }
+      else if (c == '"') {
+        quoted = true;
+      }
+      else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      }
+      else {
+        field.append(c);
+      }
+    }
+    Preconditions.checkArgument(!quoted, "quoted field is not closed");
+
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private record Record(long number, String text, boolean tooLong) {
+  }
+
+  /**
+   * Record read from the upload, either with its value or with the reason why it was not read.
+   */
+  public record Line<T>(long number, T value, String error) {
+
+    public static <T> Line<T> of(long number, T value) {
+      return new Line<>(number, value, null);
+    }
+
+    public static <T> Line<T> failed(long number, String error) {
+      return new Line<>(number, null, error);
+    }
+  }
+}
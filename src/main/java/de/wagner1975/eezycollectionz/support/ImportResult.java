@@ -0,0 +1,119 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+import org.springframework.dao.DataAccessException;
+
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Result of an import. Unlike a bulk create result, only lines which failed are reported, and
+ * only the first {@link #MAX_REPORTED_LINES} of them, so the result stays small for uploads of
+ * any size.
+ */
+@Slf4j
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ImportResult {
+
+  public static final int MAX_REPORTED_LINES = 100;
+
+  private static final String SAVE_BATCH_FAILED_MESSAGE = "Batch of this line could not be saved";
+
+  private final long imported;
+
+  private final long failed;
+
+  private final int batches;
+
+  private final List<FailedLine> failedLines;
+
+  /**
+   * Reads all lines, validates every value on its own and passes the valid values to
+   * {@code saveBatch} in batches of {@code batchSize}, which must save the whole batch or throw.
+   * The next lines are read only after a batch was saved, so a client uploading faster than the
+   * database writes is slowed down by the transport instead of filling the memory.
+   * <p>
+   * The lines of a batch which cannot be saved are reported as failed and the import continues;
+   * only a {@link MissingReferenceException}, which would fail every batch alike, ends it.
+   */
+  public static <I> ImportResult importAll(
+    ImportReader<I> reader, Validator validator, int batchSize, ToIntFunction<List<I>> saveBatch,
+    String generateIdFailedMessage) {
+
+    var imported = 0L;
+    var failed = 0L;
+    var batches = 0;
+    var failedLines = new ArrayList<FailedLine>();
+    var batch = new ArrayList<ImportReader.Line<I>>(batchSize);
+
+    try {
+      for (var line = reader.next(); line.isPresent() || !batch.isEmpty(); line = reader.next()) {
+        if (line.isPresent()) {
+          var errors = validate(line.get(), validator);
+          if (errors.isEmpty()) {
+            batch.add(line.get());
+          }
+          else {
+            failed++;
+            report(failedLines, line.get().number(), errors);
+          }
+        }
+
+        if (batch.size() == batchSize || (line.isEmpty() && !batch.isEmpty())) {
+          try {
+            imported += saveBatch.applyAsInt(batch.stream().map(ImportReader.Line::value).toList());
+          }
+          catch (GenerateIdException ex) {
+            failed += batch.size();
+            batch.forEach(batchLine -> report(failedLines, batchLine.number(), List.of(generateIdFailedMessage)));
+          }
+          catch (DataAccessException ex) {
+            log.warn("Import batch {} could not be saved", batches + 1, ex);
+            failed += batch.size();
+            batch.forEach(batchLine -> report(failedLines, batchLine.number(), List.of(SAVE_BATCH_FAILED_MESSAGE)));
+          }
+          batches++;
+          batch.clear();
+          log.debug("Import progress: {} imported, {} failed in {} batches", imported, failed, batches);
+        }
+      }
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    return new ImportResult(imported, failed, batches, List.copyOf(failedLines));
+  }
+
+  private static <I> List<String> validate(ImportReader.Line<I> line, Validator validator) {
+    if (Objects.nonNull(line.error())) {
+      return List.of(line.error());
+    }
+    if (Objects.isNull(line.value())) {
+      return List.of("must not be null");
+    }
+    return validator.validate(line.value()).stream()
+      .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+      .sorted()
+      .toList();
+  }
+
+  private static void report(List<FailedLine> failedLines, long number, List<String> errors) {
+    if (failedLines.size() < MAX_REPORTED_LINES) {
+      failedLines.add(new FailedLine(number, List.copyOf(errors)));
+    }
+  }
+
+  public record FailedLine(long line, List<String> errors) {
+  }
+}
@@ -0,0 +1,9 @@
+package de.wagner1975.eezycollectionz.support;
+
+public enum ImportStrategy {
+  /** Saves every batch through the repository with the configured {@link IdGenerationStrategy}. */
+  INSERT,
+
+  /** Streams every batch into the table with the PostgreSQL COPY command, bypassing Hibernate. */
+  COPY
+}
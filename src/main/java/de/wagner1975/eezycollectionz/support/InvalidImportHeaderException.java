@@ -0,0 +1,12 @@
+package de.wagner1975.eezycollectionz.support;
+
+/**
+ * The header of a CSV upload cannot be read or lacks a required column, so none of its lines can be
+ * imported.
+ */
+public class InvalidImportHeaderException extends RuntimeException {
+
+  public InvalidImportHeaderException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,47 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Position after the last returned item of a listing which is ordered by {@code createdAt} and
+ * {@code id}. It is handed to clients as an opaque token.
+ */
+public record KeysetCursor(Instant createdAt, UUID id) {
+
+  private static final String SEPARATOR = "|";
+
+  public KeysetCursor {
+    Preconditions.checkArgument(Objects.nonNull(createdAt), "createdAt is null");
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+  }
+
+  public String encode() {
+    var value = createdAt + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws IllegalArgumentException if the token was not created by {@link #encode()}
+   */
+  public static KeysetCursor decode(String token) {
+    Preconditions.checkArgument(Objects.nonNull(token), "token is null");
+    try {
+      var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      var separatorIndex = value.indexOf(SEPARATOR);
+      Preconditions.checkArgument(separatorIndex > 0, "token is malformed");
+      return new KeysetCursor(
+        Instant.parse(value.substring(0, separatorIndex)),
+        UUID.fromString(value.substring(separatorIndex + 1)));
+    }
+    catch (DateTimeParseException ex) {
+      throw new IllegalArgumentException("token is malformed", ex);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package de.wagner1975.eezycollectionz.support;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Names of the meters recorded by the application, exported to Prometheus with {@code _} instead
+ * of {@code .} and with the base unit appended.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MetricNames {
+
+  /** Duration of service operations, tagged with {@code class} and {@code method}. */
+  public static final String SERVICE = "eezycollectionz.service";
+
+  /** Number of SQL statements per request, tagged with {@code method} and {@code uri}. */
+  public static final String HTTP_STATEMENTS = "eezycollectionz.http.statements";
+
+  /** Duration of generating a unique id, including saving the entity if the operation does. */
+  public static final String ID_GENERATION = "eezycollectionz.id.generation";
+
+  /** Number of generated ids until one was unique, or until the retries were exhausted. */
+  public static final String ID_GENERATION_ATTEMPTS = "eezycollectionz.id.generation.attempts";
+
+  /** Number of pre-generated ids in the pool of the id generator. */
+  public static final String ID_POOL_DEPTH = "eezycollectionz.id.pool.depth";
+
+  /** Number of ids generated on the calling thread because the pool was empty. */
+  public static final String ID_POOL_STALLS = "eezycollectionz.id.pool.stalls";
+
+  /** Number of completed refills of the id pool. */
+  public static final String ID_POOL_REFILLS = "eezycollectionz.id.pool.refills";
+
+  /** Duration of building the in-memory prefix index of the entry names of a collection. */
+  public static final String SUGGEST_INDEX_BUILD = "eezycollectionz.suggest.index.build";
+
+  /** Estimated heap usage of all in-memory prefix indexes of entry names. */
+  public static final String SUGGEST_INDEX_MEMORY = "eezycollectionz.suggest.index.memory";
+}
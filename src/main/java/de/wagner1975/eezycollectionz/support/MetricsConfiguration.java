@@ -0,0 +1,20 @@
+package de.wagner1975.eezycollectionz.support;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Enables {@code @Timed} on beans other than controllers, whose requests are timed by Spring
+ * Boot as {@code http.server.requests} anyway.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  @Bean
+  TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+}
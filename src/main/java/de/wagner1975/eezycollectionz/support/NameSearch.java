@@ -0,0 +1,115 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Search of collections or entries by name, shared by their repositories. It is run as plain SQL,
+ * since neither collations nor trigram operators can be expressed in JPQL.
+ * <p>
+ * Prefix matches compare the lower-cased names in "C" collation, so a b-tree index on that
+ * expression answers the LIKE condition as a range and delivers the keyset order. Fuzzy matches use
+ * the similarity operator {@code %} of pg_trgm (threshold {@code pg_trgm.similarity_threshold}) and
+ * are ordered by trigram distance alone, which a GiST index returns as nearest neighbours without
+ * sorting; any further sort key would make the database fetch and sort all similar names. Names at
+ * the same distance come in no particular order, so they are told apart by the ids of the cursor.
+ */
+public record NameSearch(SearchMode mode, String query, SearchCursor after, int size) {
+
+  public static final int MAX_QUERY_LENGTH = 100;
+
+  public NameSearch {
+    Preconditions.checkArgument(Objects.nonNull(mode), "mode is null");
+    Preconditions.checkArgument(Objects.nonNull(query) && !query.isBlank(), "query is blank");
+    Preconditions.checkArgument(query.length() <= MAX_QUERY_LENGTH, "query is too long");
+    Preconditions.checkArgument(Objects.isNull(after) || after.mode() == mode, "after is of another mode");
+    Preconditions.checkArgument(size > 0, "size is not positive");
+  }
+
+  /**
+   * Selects one more row than {@code size}, which only indicates that there is a next slice.
+   *
+   * @param columns selected columns besides the key of the cursor
+   * @param conditions further conditions, whose parameters are added to {@link #parameters()}
+   */
+  public String sql(String table, String columns, String... conditions) {
+    var where = new StringBuilder();
+    for (var condition : conditions) {
+      where.append(condition).append(" AND ");
+    }
+    if (mode == SearchMode.PREFIX) {
+      where.append("lower(name) COLLATE \"C\" LIKE lower(:pattern)");
+      if (Objects.nonNull(after)) {
+        where.append(" AND (lower(name) COLLATE \"C\", id) > (lower(:afterKey) COLLATE \"C\", :afterId)");
+      }
+      return String.format(
+        "SELECT %s, name AS search_key FROM %s WHERE %s ORDER BY lower(name) COLLATE \"C\", id LIMIT :limit",
+        columns, table, where);
+    }
+    where.append("name % :query");
+    if (Objects.nonNull(after)) {
+      where.append(" AND name <-> :query >= CAST(:afterKey AS real) AND id NOT IN (:afterIds)");
+    }
+    return String.format(
+      "SELECT %s, name <-> :query AS search_key FROM %s WHERE %s ORDER BY name <-> :query LIMIT :limit",
+      columns, table, where);
+  }
+
+  public MapSqlParameterSource parameters() {
+    var parameters = new MapSqlParameterSource()
+      .addValue("query", query)
+      .addValue("pattern", escapeLike(query) + "%")
+      .addValue("limit", size + 1);
+    if (Objects.nonNull(after)) {
+      parameters
+        .addValue("afterKey", after.key())
+        .addValue("afterId", after.id())
+        .addValue("afterIds", after.ids());
+    }
+    return parameters;
+  }
+
+  /**
+   * Maps the rows selected by {@link #sql(String, String, String...)}, in their order, to hits with
+   * the cursor to continue after each of them. The mapper must be used for a single query only.
+   */
+  public <T> RowMapper<SearchHit<T>> hitMapper(RowMapper<T> itemMapper) {
+    var tiedIds = new ArrayList<UUID>();
+    var tiedKey = new AtomicReference<String>();
+    if (Objects.nonNull(after)) {
+      tiedIds.addAll(after.ids());
+      tiedKey.set(after.key());
+    }
+
+    return (resultSet, rowNum) -> {
+      var item = itemMapper.mapRow(resultSet, rowNum);
+      var key = resultSet.getString("search_key");
+      var id = resultSet.getObject("id", UUID.class);
+      if (mode == SearchMode.PREFIX) {
+        return new SearchHit<>(item, new SearchCursor(mode, key, id));
+      }
+
+      if (!key.equals(tiedKey.get())) {
+        tiedIds.clear();
+        tiedKey.set(key);
+      }
+      tiedIds.add(id);
+      return new SearchHit<>(item, new SearchCursor(mode, key, tiedIds));
+    };
+  }
+
+  /**
+   * @return the value with the wildcards of LIKE and the escape character escaped, to be matched
+   * literally
+   */
+  public static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -0,0 +1,151 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Hands out ids from a lock-free pool which is refilled by a background thread, so that request
+ * threads do not wait for the delegate (e.g. on the shared {@code SecureRandom} behind
+ * {@code UUID.randomUUID()}). If the pool runs dry, the id is generated on the calling thread and
+ * counted as a stall.
+ * <p>
+ * The pool is a ring of {@code capacity} slots, which allocates nothing per id. Only the refill
+ * thread appends at the tail; request threads take from the head by advancing it with a
+ * compare-and-set, after reading the slot, which the refill thread does not overwrite until the
+ * head has passed it.
+ */
+public class PooledIdGenerator<ID> implements IdGenerator<ID>, MeterBinder, AutoCloseable {
+
+  private final IdGenerator<ID> delegate;
+
+  private final int capacity;
+
+  private final int refillThreshold;
+
+  private final Executor executor;
+
+  private final AtomicReferenceArray<ID> slots;
+
+  private final AtomicLong head = new AtomicLong();
+
+  private final AtomicLong tail = new AtomicLong();
+
+  private final AtomicBoolean refilling = new AtomicBoolean();
+
+  private final LongAdder stalls = new LongAdder();
+
+  private final LongAdder refills = new LongAdder();
+
+  public PooledIdGenerator(IdGenerator<ID> delegate, int capacity) {
+    this(delegate, capacity, Executors.newSingleThreadExecutor(runnable -> {
+      var thread = new Thread(runnable, "id-pool-refill");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  PooledIdGenerator(IdGenerator<ID> delegate, int capacity, Executor executor) {
+    Preconditions.checkArgument(Objects.nonNull(delegate), "delegate is null");
+    Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+    this.delegate = delegate;
+    this.capacity = capacity;
+    this.refillThreshold = capacity / 2;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.executor = executor;
+    scheduleRefill();
+  }
+
+  public ID generate() {
+    var id = poll();
+    if (Objects.isNull(id)) {
+      stalls.increment();
+      id = delegate.generate();
+    }
+
+    if (getDepth() <= refillThreshold) {
+      scheduleRefill();
+    }
+    return id;
+  }
+
+  int getDepth() {
+    return (int) (tail.get() - head.get());
+  }
+
+  long getStalls() {
+    return stalls.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(MetricNames.ID_POOL_DEPTH, this, PooledIdGenerator::getDepth)
+      .description("Number of pre-generated ids in the pool")
+      .register(registry);
+    FunctionCounter.builder(MetricNames.ID_POOL_STALLS, stalls, LongAdder::sum)
+      .description("Number of ids generated on the calling thread because the pool was empty")
+      .register(registry);
+    FunctionCounter.builder(MetricNames.ID_POOL_REFILLS, refills, LongAdder::sum)
+      .description("Number of completed pool refills")
+      .register(registry);
+  }
+
+  @Override
+  public void close() {
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdownNow();
+    }
+  }
+
+  private ID poll() {
+    while (true) {
+      var position = head.get();
+      if (position >= tail.get()) {
+        return null;
+      }
+      var id = slots.get(slot(position));
+      if (head.compareAndSet(position, position + 1)) {
+        return id;
+      }
+    }
+  }
+
+  private int slot(long position) {
+    return (int) (position % capacity);
+  }
+
+  private void scheduleRefill() {
+    if (refilling.compareAndSet(false, true)) {
+      executor.execute(this::refill);
+    }
+  }
+
+  private void refill() {
+    try {
+      while (getDepth() < capacity && !Thread.currentThread().isInterrupted()) {
+        var id = delegate.generate();
+        if (Objects.nonNull(id)) {
+          var position = tail.get();
+          slots.set(slot(position), id);
+          tail.set(position + 1);
+        }
+      }
+      refills.increment();
+    }
+    finally {
+      refilling.set(false);
+    }
+  }
+}
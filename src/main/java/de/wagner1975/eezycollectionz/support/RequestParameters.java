@@ -0,0 +1,70 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parses the cursor, search and {@code If-Match} parameters shared by the controllers, so that
+ * invalid values are answered alike by all of them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestParameters {
+
+  /**
+   * @return the decoded cursor, or {@code null} for the first slice
+   * @throws ResponseStatusException with status 400 if the size or the cursor is invalid
+   */
+  public static KeysetCursor keysetCursor(String cursor, int size) {
+    checkSize(size);
+    if (Objects.isNull(cursor)) {
+      return null;
+    }
+    try {
+      return KeysetCursor.decode(cursor);
+    }
+    catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+  }
+
+  /**
+   * @throws ResponseStatusException with status 400 if the query, the cursor or the size is invalid
+   */
+  public static NameSearch nameSearch(String query, SearchMode mode, String cursor, int size) {
+    checkSize(size);
+    if (query.isBlank() || query.length() > NameSearch.MAX_QUERY_LENGTH) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid query");
+    }
+    try {
+      return new NameSearch(mode, query, Objects.isNull(cursor) ? null : SearchCursor.decode(cursor), size);
+    }
+    catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+  }
+
+  /**
+   * @return the version required by the {@code If-Match} header, or {@code null} if any version
+   * may be changed
+   * @throws ResponseStatusException with status 412 and the given reason if the header cannot
+   * match any version
+   */
+  public static Long expectedVersion(String ifMatch, String modifiedReason) {
+    if (Objects.isNull(ifMatch) || ETags.ANY.equals(ifMatch.trim())) {
+      return null;
+    }
+    return ETags.parseVersion(ifMatch).orElseThrow(
+      () -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, modifiedReason));
+  }
+
+  private static void checkSize(int size) {
+    if (size < 1 || size > CursorPage.MAX_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid size");
+    }
+  }
+}
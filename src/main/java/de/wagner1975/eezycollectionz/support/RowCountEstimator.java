@@ -0,0 +1,59 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Estimates row counts from the PostgreSQL planner statistics instead of counting, so the result
+ * is cheap but approximate.
+ */
+@Profile("!reactive")
+@Component
+@AllArgsConstructor
+public class RowCountEstimator {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * @return number of rows of the table, empty if the table was never analyzed
+   */
+  public Optional<Long> estimateTableRows(String tableName) {
+    Preconditions.checkArgument(Objects.nonNull(tableName), "tableName is null");
+
+    return jdbcTemplate.query(
+        "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(?)",
+        (rs, rowNum) -> rs.getLong(1),
+        tableName)
+      .stream()
+      .findFirst()
+      .filter(rows -> rows >= 0);
+  }
+
+  /**
+   * @return number of rows the planner expects the query to return
+   */
+  public Optional<Long> estimateQueryRows(String sql, Object... args) {
+    Preconditions.checkArgument(Objects.nonNull(sql), "sql is null");
+
+    var plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+    try {
+      var planRows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+      return planRows.isNumber() ? Optional.of(planRows.asLong()) : Optional.empty();
+    }
+    catch (JsonProcessingException ex) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.repository.CrudRepository;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class SaveWithGeneratedIdOperation<T, ID> {
+
+  private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+  private static final String FOREIGN_KEY_VIOLATION_SQL_STATE = "23503";
+
+  private final IdGenerator<ID> generator;
+
+  private final CrudRepository<T, ID> repository;
+
+  private final int maxRetries;
+
+  private final IdGenerationStrategy strategy;
+
+  private final IdGenerationMetrics metrics;
+
+  public T execute(Function<ID, T> entityFactory) {
+    var sample = metrics.start();
+    var i = 0;
+    var saved = false;
+    try {
+      if (strategy == IdGenerationStrategy.CHECK_EXISTENCE) {
+        var generatedId = new GenerateIdForRepositoryOperation<>(generator, repository, maxRetries, metrics).execute();
+        i++;
+        try {
+          var entity = repository.save(entityFactory.apply(generatedId));
+          saved = true;
+          return entity;
+        }
+        catch (DataIntegrityViolationException ex) {
+          throwIfMissingReference(ex);
+          throw ex;
+        }
+      }
+
+      do {
+        var generatedId = generator.generate();
+        i++;
+        if (Objects.nonNull(generatedId)) {
+          try {
+            var entity = repository.save(entityFactory.apply(generatedId));
+            saved = true;
+            return entity;
+          }
+          catch (DataIntegrityViolationException ex) {
+            throwIfMissingReference(ex);
+            if (!isDuplicateKey(ex)) {
+              throw ex;
+            }
+          }
+        }
+      }
+      while (i <= maxRetries);
+    }
+    finally {
+      metrics.stop(sample, "save", i, saved);
+    }
+
+    throw new GenerateIdException();
+  }
+
+  /**
+   * Saves all entities of a batch with one {@code saveAll} call, i.e. in one transaction, so that
+   * the inserts can be sent as JDBC batches. The ids are generated up front; on a key collision
+   * the whole batch is retried with fresh ids. The returned entities keep the order of the
+   * factories.
+   */
+  public List<T> executeAll(List<Function<ID, T>> entityFactories) {
+    if (entityFactories.isEmpty()) {
+      return List.of();
+    }
+
+    var sample = metrics.start();
+    var i = 0;
+    var saved = false;
+    try {
+      do {
+        var generatedIds = generateIds(entityFactories.size());
+        i++;
+        if (Objects.isNull(generatedIds)) {
+          continue;
+        }
+        if (strategy == IdGenerationStrategy.CHECK_EXISTENCE && repository.findAllById(generatedIds).iterator().hasNext()) {
+          continue;
+        }
+
+        var entities = new ArrayList<T>(generatedIds.size());
+        for (var k = 0; k < generatedIds.size(); k++) {
+          entities.add(entityFactories.get(k).apply(generatedIds.get(k)));
+        }
+
+        try {
+          var savedEntities = Lists.newArrayList(repository.saveAll(entities));
+          saved = true;
+          return savedEntities;
+        }
+        catch (DataIntegrityViolationException ex) {
+          throwIfMissingReference(ex);
+          if (!isDuplicateKey(ex)) {
+            throw ex;
+          }
+        }
+      }
+      while (i <= maxRetries);
+    }
+    finally {
+      metrics.stop(sample, "saveAll", i, saved);
+    }
+
+    throw new GenerateIdException();
+  }
+
+  private List<ID> generateIds(int count) {
+    var generatedIds = new LinkedHashSet<ID>(count);
+    for (var k = 0; k < count; k++) {
+      var generatedId = generator.generate();
+      if (Objects.isNull(generatedId)) {
+        return null;
+      }
+      generatedIds.add(generatedId);
+    }
+    return generatedIds.size() == count ? new ArrayList<>(generatedIds) : null;
+  }
+
+  /**
+   * A violated foreign key means that a referenced entity does not exist, which no generated id
+   * can fix.
+   */
+  public static void throwIfMissingReference(DataIntegrityViolationException ex) {
+    if (hasSqlState(ex, FOREIGN_KEY_VIOLATION_SQL_STATE)) {
+      throw new MissingReferenceException();
+    }
+  }
+
+  private static boolean hasSqlState(Throwable ex, String sqlState) {
+    return Throwables.getCausalChain(ex).stream().anyMatch(cause ->
+      cause instanceof SQLException sqlException && sqlState.equals(sqlException.getSQLState()));
+  }
+
+  public static boolean isDuplicateKey(Throwable ex) {
+    return Throwables.getCausalChain(ex).stream().anyMatch(cause ->
+      cause instanceof DuplicateKeyException ||
+      (cause instanceof SQLException sqlException && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())));
+  }
+}
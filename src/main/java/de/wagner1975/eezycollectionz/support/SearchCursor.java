@@ -0,0 +1,68 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Position after the last returned item of a search by name. The key is the name for
+ * {@link SearchMode#PREFIX} and the trigram distance for {@link SearchMode#FUZZY}. For prefixes, the
+ * id of the last item breaks ties. Similar names are returned in distance order only, with ties in
+ * no particular order, so a fuzzy cursor holds the ids of all items returned at its distance. It is
+ * handed to clients as an opaque token.
+ */
+public record SearchCursor(SearchMode mode, String key, List<UUID> ids) {
+
+  private static final String SEPARATOR = "|";
+
+  private static final String ID_SEPARATOR = ",";
+
+  public SearchCursor {
+    Preconditions.checkArgument(Objects.nonNull(mode), "mode is null");
+    Preconditions.checkArgument(Objects.nonNull(key), "key is null");
+    Preconditions.checkArgument(Objects.nonNull(ids) && !ids.isEmpty(), "ids are empty");
+    Preconditions.checkArgument(mode == SearchMode.FUZZY || ids.size() == 1, "ids of prefix are not single");
+    if (mode == SearchMode.FUZZY) {
+      Float.parseFloat(key);
+    }
+    ids = List.copyOf(ids);
+  }
+
+  public SearchCursor(SearchMode mode, String key, UUID id) {
+    this(mode, key, List.of(id));
+  }
+
+  /**
+   * @return id of the last returned item
+   */
+  public UUID id() {
+    return ids.get(ids.size() - 1);
+  }
+
+  public String encode() {
+    var value = mode + SEPARATOR + key + SEPARATOR
+      + String.join(ID_SEPARATOR, ids.stream().map(UUID::toString).toList());
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws IllegalArgumentException if the token was not created by {@link #encode()}
+   */
+  public static SearchCursor decode(String token) {
+    Preconditions.checkArgument(Objects.nonNull(token), "token is null");
+    var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    // the name may contain the separator, but neither mode nor ids do
+    var modeEnd = value.indexOf(SEPARATOR);
+    var keyEnd = value.lastIndexOf(SEPARATOR);
+    Preconditions.checkArgument(modeEnd > 0 && keyEnd > modeEnd, "token is malformed");
+    return new SearchCursor(
+      SearchMode.valueOf(value.substring(0, modeEnd)),
+      value.substring(modeEnd + 1, keyEnd),
+      Arrays.stream(value.substring(keyEnd + 1).split(ID_SEPARATOR)).map(UUID::fromString).toList());
+  }
+}
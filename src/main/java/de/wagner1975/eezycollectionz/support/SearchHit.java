@@ -0,0 +1,7 @@
+package de.wagner1975.eezycollectionz.support;
+
+/**
+ * Item found by a search by name, together with the position to continue after it.
+ */
+public record SearchHit<T>(T item, SearchCursor cursor) {
+}
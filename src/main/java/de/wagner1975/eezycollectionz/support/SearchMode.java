@@ -0,0 +1,13 @@
+package de.wagner1975.eezycollectionz.support;
+
+/**
+ * How names are matched by a search.
+ */
+public enum SearchMode {
+
+  /** Names starting with the query, ignoring case, in alphabetical order */
+  PREFIX,
+
+  /** Names similar to the query by trigrams, tolerating typos, most similar first */
+  FUZZY
+}
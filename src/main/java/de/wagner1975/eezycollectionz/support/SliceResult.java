@@ -0,0 +1,41 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Page of a listing without an exact total count. {@code approximateTotal} is only present if
+ * requested and available; it is never less than the number of items known to exist.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SliceResult<T> {
+
+  private final List<T> content;
+
+  private final int page;
+
+  private final int size;
+
+  private final boolean hasNext;
+
+  private final Long approximateTotal;
+
+  public static <T> SliceResult<T> of(Slice<T> slice, Long approximateTotal) {
+    Long total = null;
+    if (Objects.nonNull(approximateTotal)) {
+      var knownMinimum = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+      total = Math.max(approximateTotal, knownMinimum);
+    }
+    return new SliceResult<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total);
+  }
+}
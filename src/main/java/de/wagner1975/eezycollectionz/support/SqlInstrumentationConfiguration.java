@@ -0,0 +1,52 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the data source in a proxy, which counts the statements for {@link SqlStatementCounter}
+ * and logs statements running longer than {@code eezycollectionz.slow-query-threshold} together
+ * with their parameters. Outside of production the statements are also counted per request.
+ */
+@Configuration
+public class SqlInstrumentationConfiguration {
+
+  static final String SLOW_QUERY_LOGGER = "de.wagner1975.eezycollectionz.sql.slow";
+
+  @Bean
+  static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<ApplicationProperties> appProps) {
+    return new BeanPostProcessor() {
+
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+          return ProxyDataSourceBuilder.create(beanName, dataSource)
+            .listener(SqlStatementCounter.LISTENER)
+            .logSlowQueryBySlf4j(
+              appProps.getObject().slowQueryThreshold().toMillis(), TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN, SLOW_QUERY_LOGGER)
+            .build();
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Profile("!prod & !reactive")
+  @Bean
+  StatementCountFilter statementCountFilter(MeterRegistry registry) {
+    return new StatementCountFilter(registry);
+  }
+}
@@ -0,0 +1,58 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Counts the SQL statements executed on the current thread between {@link #start()} and
+ * {@link #stop()}. The statements are reported by the {@link #LISTENER} of the proxied data
+ * source; a JDBC batch counts as one statement, as it takes one round trip to the database.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SqlStatementCounter {
+
+  public static final QueryExecutionListener LISTENER = new QueryExecutionListener() {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+      var count = COUNT.get();
+      if (Objects.nonNull(count)) {
+        COUNT.set(count + 1);
+      }
+    }
+  };
+
+  private static final ThreadLocal<Long> COUNT = new ThreadLocal<>();
+
+  public static void start() {
+    COUNT.set(0L);
+  }
+
+  /**
+   * @return number of statements since {@link #start()}, empty if counting was not started
+   */
+  public static OptionalLong current() {
+    var count = COUNT.get();
+    return Objects.isNull(count) ? OptionalLong.empty() : OptionalLong.of(count);
+  }
+
+  /**
+   * @return number of statements since {@link #start()}, empty if counting was not started
+   */
+  public static OptionalLong stop() {
+    var count = current();
+    COUNT.remove();
+    return count;
+  }
+}
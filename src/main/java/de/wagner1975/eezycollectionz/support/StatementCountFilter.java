@@ -0,0 +1,56 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+
+/**
+ * Counts the SQL statements of every request, records them per endpoint and returns them in the
+ * header {@value #HEADER}, so tests can assert how many statements an endpoint issues. Responses
+ * with a body get the header from {@link StatementCountResponseAdvice}, as they are committed
+ * before the filter continues. Statements of asynchronous requests, like exports, are not counted.
+ */
+@AllArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-Statement-Count";
+
+  private final MeterRegistry registry;
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+    throws ServletException, IOException {
+
+    SqlStatementCounter.start();
+    try {
+      filterChain.doFilter(request, response);
+    }
+    finally {
+      var statements = SqlStatementCounter.stop().orElse(0);
+      if (!response.isCommitted()) {
+        response.setHeader(HEADER, String.valueOf(statements));
+      }
+      DistributionSummary.builder(MetricNames.HTTP_STATEMENTS)
+        .description("Number of SQL statements per request")
+        .tags("method", request.getMethod(), "uri", uri(request))
+        .serviceLevelObjectives(1, 2, 3, 5, 10, 25, 50)
+        .register(registry)
+        .record(statements);
+    }
+  }
+
+  private static String uri(HttpServletRequest request) {
+    var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return Objects.isNull(pattern) ? "UNKNOWN" : pattern.toString();
+  }
+}
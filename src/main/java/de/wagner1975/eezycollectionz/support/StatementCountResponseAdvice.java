@@ -0,0 +1,34 @@
+package de.wagner1975.eezycollectionz.support;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the statement count of {@link StatementCountFilter} to responses with a body, before the
+ * body is written.
+ */
+@Profile("!prod & !reactive")
+@ControllerAdvice
+public class StatementCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+    Object body, MethodParameter returnType, MediaType selectedContentType,
+    Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+
+    SqlStatementCounter.current().ifPresent(statements ->
+      response.getHeaders().set(StatementCountFilter.HEADER, String.valueOf(statements)));
+    return body;
+  }
+}
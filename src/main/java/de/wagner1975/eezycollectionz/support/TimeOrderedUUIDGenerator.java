@@ -0,0 +1,61 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates version 7 UUIDs (RFC 9562): 48 bits of Unix epoch milliseconds followed by a 12 bit
+ * counter and 62 random bits. The counter keeps the ids strictly increasing within the same
+ * millisecond; on overflow it carries into the timestamp. Ids generated in ascending order are
+ * appended to the right side of a B-tree index instead of being scattered across it.
+ */
+public class TimeOrderedUUIDGenerator implements IdGenerator<UUID> {
+
+  private static final int COUNTER_BITS = 12;
+
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+  private static final long VERSION_7 = 0x7000L;
+
+  private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+  private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+
+  private final Clock clock;
+
+  private final Random random;
+
+  /** Milliseconds shifted left by {@link #COUNTER_BITS} combined with the counter. */
+  private final AtomicLong lastState = new AtomicLong();
+
+  public TimeOrderedUUIDGenerator() {
+    this(Clock.systemUTC(), new SecureRandom());
+  }
+
+  TimeOrderedUUIDGenerator(Clock clock, Random random) {
+    this.clock = clock;
+    this.random = random;
+  }
+
+  public UUID generate() {
+    var state = nextState(clock.millis());
+    var mostSigBits = ((state >>> COUNTER_BITS) << 16) | VERSION_7 | (state & COUNTER_MASK);
+    var leastSigBits = (random.nextLong() & VARIANT_MASK) | VARIANT_RFC_4122;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  private long nextState(long millis) {
+    var candidate = millis << COUNTER_BITS;
+    long previous;
+    long next;
+    do {
+      previous = lastState.get();
+      next = Math.max(candidate, previous + 1);
+    }
+    while (!lastState.compareAndSet(previous, next));
+    return next;
+  }
+}
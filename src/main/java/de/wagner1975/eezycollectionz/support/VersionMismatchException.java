@@ -0,0 +1,4 @@
+package de.wagner1975.eezycollectionz.support;
+
+public class VersionMismatchException extends RuntimeException {
+}
@@ -0,0 +1,66 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves requests on virtual threads instead of the Tomcat thread pool, if the property
+ * {@code spring.threads.virtual.enabled} (as introduced by Spring Boot 3.2) is set. The code is
+ * compiled for Java 17, so the executor is looked up reflectively.
+ * <p>
+ * Virtual threads are only used from Java 24 on; on earlier runtimes the platform threads are kept.
+ * Up to Java 23, a virtual thread blocking within {@code synchronized} code pins its carrier thread,
+ * and such code remains on the request path:
+ * <ul>
+ * <li>{@link Caches#getOrLoad} runs the database load within the computation of the Caffeine
+ * cache, which locks its hash bin by {@code synchronized}; so do readers waiting for that load.
+ * The load stays there, as this keeps a value read before an eviction from being cached after
+ * it.</li>
+ * <li>The name index of the entries serializes its in-memory updates by {@code synchronized}. The
+ * index itself is built outside of the cache.</li>
+ * </ul>
+ * PgJDBC 42.6 and HikariCP 5.1 lock by {@link java.util.concurrent.locks.ReentrantLock}. Java 24
+ * no longer pins virtual threads in {@code synchronized} code (JEP 491).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+  /** First Java version which does not pin virtual threads within {@code synchronized} code */
+  static final int MIN_JAVA_VERSION = 24;
+
+  @Bean
+  TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+    var executor = newVirtualThreadPerTaskExecutor();
+    return protocolHandler -> executor.ifPresent(protocolHandler::setExecutor);
+  }
+
+  static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+    return newVirtualThreadPerTaskExecutor(Runtime.version().feature());
+  }
+
+  static Optional<ExecutorService> newVirtualThreadPerTaskExecutor(int javaVersion) {
+    if (javaVersion < MIN_JAVA_VERSION) {
+      log.warn("Virtual threads require Java {}, requests are served on platform threads", MIN_JAVA_VERSION);
+      return Optional.empty();
+    }
+    try {
+      var factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return Optional.of((ExecutorService) factoryMethod.invoke(null));
+    }
+    catch (ReflectiveOperationException ex) {
+      log.warn("Virtual threads are not available, requests are served on platform threads", ex);
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,17 @@
+CREATE TABLE collection (
+  id uuid NOT NULL,
+  created_at timestamp(6) with time zone NOT NULL,
+  last_modified_at timestamp(6) with time zone NOT NULL,
+  name varchar(255),
+  CONSTRAINT collection_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE entry (
+  id uuid NOT NULL,
+  created_at timestamp(6) with time zone,
+  last_modified_at timestamp(6) with time zone,
+  name varchar(255),
+  collection_id uuid NOT NULL,
+  CONSTRAINT entry_pkey PRIMARY KEY (id),
+  CONSTRAINT entry_collection_id_fkey FOREIGN KEY (collection_id) REFERENCES collection (id)
+);
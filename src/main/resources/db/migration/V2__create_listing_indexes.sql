@@ -0,0 +1,5 @@
+-- Supports the listings of entries of a collection ordered by creation (paginated and keyset).
+CREATE INDEX IF NOT EXISTS entry_collection_id_created_at_id_idx ON entry (collection_id, created_at, id);
+
+-- Supports the listings of collections ordered by creation (paginated and keyset).
+CREATE INDEX IF NOT EXISTS collection_created_at_id_idx ON collection (created_at, id);
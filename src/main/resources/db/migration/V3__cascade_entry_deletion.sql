@@ -0,0 +1,18 @@
+-- Entries are removed together with their collection by the database. Databases baselined from a
+-- Hibernate-created schema carry a generated name for the foreign key, so it is looked up.
+DO $$
+DECLARE
+  constraint_name_to_drop text;
+BEGIN
+  FOR constraint_name_to_drop IN
+    SELECT conname FROM pg_constraint
+    WHERE conrelid = 'entry'::regclass AND confrelid = 'collection'::regclass AND contype = 'f'
+  LOOP
+    EXECUTE format('ALTER TABLE entry DROP CONSTRAINT %I', constraint_name_to_drop);
+  END LOOP;
+END
+$$;
+
+ALTER TABLE entry
+  ADD CONSTRAINT entry_collection_id_fkey
+  FOREIGN KEY (collection_id) REFERENCES collection (id) ON DELETE CASCADE;
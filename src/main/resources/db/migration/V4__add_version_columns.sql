@@ -0,0 +1,4 @@
+-- Versions for optimistic locking, exposed as ETag of single collections and entries.
+ALTER TABLE collection ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE entry ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
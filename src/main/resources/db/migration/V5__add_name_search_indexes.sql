@@ -0,0 +1,18 @@
+-- Trigram operators and GiST support of uuid columns, both trusted extensions of PostgreSQL 13+.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Supports the search by name prefix. In "C" collation the lower-cased names are ordered bytewise,
+-- so the index answers both the LIKE 'prefix%' condition and the keyset order.
+CREATE INDEX IF NOT EXISTS entry_collection_id_lower_name_id_idx ON entry (collection_id, (lower(name) COLLATE "C"), id);
+
+CREATE INDEX IF NOT EXISTS entry_lower_name_id_idx ON entry ((lower(name) COLLATE "C"), id);
+
+CREATE INDEX IF NOT EXISTS collection_lower_name_id_idx ON collection ((lower(name) COLLATE "C"), id);
+
+-- Supports the search by similar names, ordered by trigram distance (nearest neighbours).
+CREATE INDEX IF NOT EXISTS entry_collection_id_name_trgm_idx ON entry USING gist (collection_id, name gist_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS entry_name_trgm_idx ON entry USING gist (name gist_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS collection_name_trgm_idx ON collection USING gist (name gist_trgm_ops);
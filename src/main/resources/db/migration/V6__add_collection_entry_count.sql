@@ -0,0 +1,35 @@
+-- Number of entries per collection, so that it is read from a column instead of counting the
+-- entries. It is maintained by statement-level triggers, which cover every way of writing entries,
+-- including COPY and the cascading deletion of collections, with one update per statement and
+-- collection. Entries never move between collections, so updates of entries are not counted.
+ALTER TABLE collection ADD COLUMN IF NOT EXISTS entry_count bigint NOT NULL DEFAULT 0;
+
+UPDATE collection c SET entry_count = (SELECT count(*) FROM entry e WHERE e.collection_id = c.id);
+
+CREATE OR REPLACE FUNCTION count_inserted_entries() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  UPDATE collection c SET entry_count = c.entry_count + i.entries
+  FROM (SELECT collection_id, count(*) AS entries FROM inserted_entries GROUP BY collection_id) i
+  WHERE c.id = i.collection_id;
+  RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION count_deleted_entries() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  UPDATE collection c SET entry_count = c.entry_count - d.entries
+  FROM (SELECT collection_id, count(*) AS entries FROM deleted_entries GROUP BY collection_id) d
+  WHERE c.id = d.collection_id;
+  RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS entry_count_insert ON entry;
+CREATE TRIGGER entry_count_insert AFTER INSERT ON entry
+  REFERENCING NEW TABLE AS inserted_entries
+  FOR EACH STATEMENT EXECUTE FUNCTION count_inserted_entries();
+
+DROP TRIGGER IF EXISTS entry_count_delete ON entry;
+CREATE TRIGGER entry_count_delete AFTER DELETE ON entry
+  REFERENCING OLD TABLE AS deleted_entries
+  FOR EACH STATEMENT EXECUTE FUNCTION count_deleted_entries();
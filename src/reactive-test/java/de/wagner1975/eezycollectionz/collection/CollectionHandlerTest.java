@@ -0,0 +1,165 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+import jakarta.validation.Validation;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(SpringExtension.class)
+class CollectionHandlerTest {
+
+  private static final String REQUEST_PATH = "/api/collections";
+
+  private static final UUID DEFAULT_ID = UUID.fromString("2a7a1f1c-f4fe-4b4e-9e11-79a0e353eae0");
+
+  private static final Instant CREATED_AT = Instant.parse("2023-10-05T10:44:09.295558200Z");
+
+  @Mock
+  private ReactiveCollectionService serviceMock;
+
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUp() {
+    var handler = new CollectionHandler(serviceMock, Validation.buildDefaultValidatorFactory().getValidator());
+    client = WebTestClient.bindToRouterFunction(new CollectionRouter().collectionRoutes(handler)).build();
+  }
+
+  @Test
+  void get_Success_OkWithDefaultPageable() {
+    var pageable = PageRequest.of(0, 10, Sort.by(Direction.ASC, "createdAt"));
+    when(serviceMock.findAll(eq(pageable))).thenReturn(Mono.just(new PageImpl<>(List.of(collection(3L)), pageable, 1)));
+
+    client.get().uri(REQUEST_PATH).exchange()
+      .expectStatus().isOk()
+      .expectBody()
+      .jsonPath("$.content[0].id").isEqualTo(DEFAULT_ID.toString())
+      .jsonPath("$.totalElements").isEqualTo(1);
+  }
+
+  @Test
+  void getById_Found_OkWithETag() {
+    when(serviceMock.findById(eq(DEFAULT_ID))).thenReturn(Mono.just(collection(3L)));
+
+    client.get().uri(REQUEST_PATH + "/" + DEFAULT_ID).exchange()
+      .expectStatus().isOk()
+      .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3.0\"")
+      .expectBody().jsonPath("$.name").isEqualTo("xyz");
+  }
+
+  @Test
+  void getById_MatchingIfNoneMatch_NotModified() {
+    when(serviceMock.findById(eq(DEFAULT_ID))).thenReturn(Mono.just(collection(3L)));
+
+    client.get().uri(REQUEST_PATH + "/" + DEFAULT_ID).header(HttpHeaders.IF_NONE_MATCH, "\"3.0\"").exchange()
+      .expectStatus().isNotModified();
+  }
+
+  @Test
+  void getById_NotFound_NotFound() {
+    when(serviceMock.findById(eq(DEFAULT_ID))).thenReturn(Mono.empty());
+
+    client.get().uri(REQUEST_PATH + "/" + DEFAULT_ID).exchange()
+      .expectStatus().isNotFound();
+  }
+
+  @Test
+  void getById_InvalidId_BadRequest() {
+    client.get().uri(REQUEST_PATH + "/_").exchange()
+      .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void post_Success_Created() {
+    when(serviceMock.create(any(CollectionInput.class))).thenReturn(Mono.just(collection(0L)));
+
+    client.post().uri(REQUEST_PATH).contentType(MediaType.APPLICATION_JSON).bodyValue("{\"name\":\"xyz\"}").exchange()
+      .expectStatus().isCreated()
+      .expectBody().jsonPath("$.id").isEqualTo(DEFAULT_ID.toString());
+  }
+
+  @Test
+  void post_InvalidName_BadRequest() {
+    client.post().uri(REQUEST_PATH).contentType(MediaType.APPLICATION_JSON).bodyValue("{\"name\":\"\"}").exchange()
+      .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void post_GenerateIdFailed_UnprocessableEntity() {
+    when(serviceMock.create(any(CollectionInput.class))).thenReturn(Mono.empty());
+
+    client.post().uri(REQUEST_PATH).contentType(MediaType.APPLICATION_JSON).bodyValue("{\"name\":\"xyz\"}").exchange()
+      .expectStatus().isEqualTo(422);
+  }
+
+  @Test
+  void put_StaleIfMatch_PreconditionFailed() {
+    when(serviceMock.update(any(CollectionInput.class), eq(DEFAULT_ID), eq(2L)))
+      .thenReturn(Mono.error(new VersionMismatchException()));
+
+    client.put().uri(REQUEST_PATH + "/" + DEFAULT_ID)
+      .header(HttpHeaders.IF_MATCH, "\"2\"")
+      .contentType(MediaType.APPLICATION_JSON)
+      .bodyValue("{\"name\":\"xyz\"}")
+      .exchange()
+      .expectStatus().isEqualTo(412);
+  }
+
+  @Test
+  void put_Success_OkWithETag() {
+    when(serviceMock.update(any(CollectionInput.class), eq(DEFAULT_ID), eq(null))).thenReturn(Mono.just(collection(4L)));
+
+    client.put().uri(REQUEST_PATH + "/" + DEFAULT_ID)
+      .contentType(MediaType.APPLICATION_JSON)
+      .bodyValue("{\"name\":\"xyz\"}")
+      .exchange()
+      .expectStatus().isOk()
+      .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4.0\"");
+  }
+
+  @Test
+  void delete_Success_NoContent() {
+    when(serviceMock.delete(eq(DEFAULT_ID), eq(null))).thenReturn(Mono.just(true));
+
+    client.delete().uri(REQUEST_PATH + "/" + DEFAULT_ID).exchange()
+      .expectStatus().isNoContent();
+  }
+
+  @Test
+  void delete_NotFound_NotFound() {
+    when(serviceMock.delete(eq(DEFAULT_ID), eq(null))).thenReturn(Mono.just(false));
+
+    client.delete().uri(REQUEST_PATH + "/" + DEFAULT_ID).exchange()
+      .expectStatus().isNotFound();
+  }
+
+  private static Collection collection(Long version) {
+    return Collection.builder()
+      .id(DEFAULT_ID)
+      .createdAt(CREATED_AT)
+      .lastModifiedAt(CREATED_AT)
+      .name("xyz")
+      .version(version)
+      .build();
+  }
+}
@@ -0,0 +1,119 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import de.wagner1975.eezycollectionz.support.MissingReferenceException;
+import jakarta.validation.Validation;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(SpringExtension.class)
+class EntryHandlerTest {
+
+  private static final String REQUEST_PATH = "/api/entries";
+
+  private static final UUID DEFAULT_ID = UUID.fromString("3b8b2f2d-05ff-4c5f-8f22-8ab1f464fbf1");
+
+  private static final UUID COLLECTION_ID = UUID.fromString("2a7a1f1c-f4fe-4b4e-9e11-79a0e353eae0");
+
+  private static final Instant CREATED_AT = Instant.parse("2023-10-05T10:44:09.295558200Z");
+
+  @Mock
+  private ReactiveEntryService serviceMock;
+
+  private WebTestClient client;
+
+  @BeforeEach
+  void setUp() {
+    var handler = new EntryHandler(serviceMock, Validation.buildDefaultValidatorFactory().getValidator());
+    client = WebTestClient.bindToRouterFunction(new EntryRouter().entryRoutes(handler)).build();
+  }
+
+  @Test
+  void get_Success_OkWithRequestedPageable() {
+    var pageable = PageRequest.of(2, 5, Sort.by(Direction.DESC, "name"));
+    var entry = new EntryView(DEFAULT_ID, CREATED_AT, CREATED_AT, "xyz");
+    when(serviceMock.findByCollectionId(eq(COLLECTION_ID), eq(pageable)))
+      .thenReturn(Mono.just(new PageImpl<>(List.of(entry), pageable, 11)));
+
+    client.get().uri(REQUEST_PATH + "?collectionId=" + COLLECTION_ID + "&page=2&size=5&sort=name,desc").exchange()
+      .expectStatus().isOk()
+      .expectBody()
+      .jsonPath("$.content[0].id").isEqualTo(DEFAULT_ID.toString())
+      .jsonPath("$.totalElements").isEqualTo(11);
+  }
+
+  @Test
+  void get_CollectionIdMissing_BadRequest() {
+    client.get().uri(REQUEST_PATH).exchange()
+      .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void getById_Found_OkWithETag() {
+    when(serviceMock.findById(eq(DEFAULT_ID))).thenReturn(Mono.just(entry(5L)));
+
+    client.get().uri(REQUEST_PATH + "/" + DEFAULT_ID).exchange()
+      .expectStatus().isOk()
+      .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5\"")
+      .expectBody().jsonPath("$.name").isEqualTo("xyz");
+  }
+
+  @Test
+  void post_Success_Created() {
+    when(serviceMock.create(any(EntryInput.class), eq(COLLECTION_ID))).thenReturn(Mono.just(entry(0L)));
+
+    client.post().uri(REQUEST_PATH + "/collection/" + COLLECTION_ID)
+      .contentType(MediaType.APPLICATION_JSON)
+      .bodyValue("{\"name\":\"xyz\"}")
+      .exchange()
+      .expectStatus().isCreated()
+      .expectBody().jsonPath("$.id").isEqualTo(DEFAULT_ID.toString());
+  }
+
+  @Test
+  void post_CollectionMissing_NotFound() {
+    when(serviceMock.create(any(EntryInput.class), eq(COLLECTION_ID)))
+      .thenReturn(Mono.error(new MissingReferenceException()));
+
+    client.post().uri(REQUEST_PATH + "/collection/" + COLLECTION_ID)
+      .contentType(MediaType.APPLICATION_JSON)
+      .bodyValue("{\"name\":\"xyz\"}")
+      .exchange()
+      .expectStatus().isNotFound();
+  }
+
+  @Test
+  void delete_InvalidIfMatch_PreconditionFailed() {
+    client.delete().uri(REQUEST_PATH + "/" + DEFAULT_ID).header(HttpHeaders.IF_MATCH, "W/\"1\"").exchange()
+      .expectStatus().isEqualTo(412);
+  }
+
+  private static Entry entry(Long version) {
+    return Entry.builder()
+      .id(DEFAULT_ID)
+      .createdAt(CREATED_AT)
+      .lastModifiedAt(CREATED_AT)
+      .name("xyz")
+      .version(version)
+      .build();
+  }
+}
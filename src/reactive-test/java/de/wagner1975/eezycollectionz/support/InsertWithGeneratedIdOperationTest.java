@@ -0,0 +1,65 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class InsertWithGeneratedIdOperationTest {
+
+  private final AtomicInteger counter = new AtomicInteger();
+
+  private final IdGenerator<Integer> generator = counter::incrementAndGet;
+
+  private final List<Integer> attemptedIds = new ArrayList<>();
+
+  @Test
+  void execute_FirstIdFree_InsertedOnce() {
+    var operation = new InsertWithGeneratedIdOperation<String, Integer>(generator, 3);
+
+    StepVerifier.create(operation.execute(this::insertIfAbove))
+      .expectNext("inserted 1")
+      .verifyComplete();
+
+    assertEquals(List.of(1), attemptedIds);
+  }
+
+  @Test
+  void execute_IdsTaken_RetriedWithNewIds() {
+    var operation = new InsertWithGeneratedIdOperation<String, Integer>(generator, 3);
+    counter.set(-2);
+
+    StepVerifier.create(operation.execute(this::insertIfAbove))
+      .expectNext("inserted 1")
+      .verifyComplete();
+
+    assertEquals(List.of(-1, 0, 1), attemptedIds);
+  }
+
+  @Test
+  void execute_RetriesUsedUp_ThrowsException() {
+    var operation = new InsertWithGeneratedIdOperation<String, Integer>(generator, 2);
+    counter.set(-10);
+
+    StepVerifier.create(operation.execute(this::insertIfAbove))
+      .verifyError(GenerateIdException.class);
+
+    assertEquals(List.of(-9, -8, -7), attemptedIds);
+  }
+
+  /**
+   * Behaves like an insert with {@code ON CONFLICT DO NOTHING} where all ids below 1 are taken.
+   */
+  private Mono<String> insertIfAbove(Integer id) {
+    return Mono.fromSupplier(() -> {
+      attemptedIds.add(id);
+      return id > 0 ? "inserted " + id : null;
+    });
+  }
+}
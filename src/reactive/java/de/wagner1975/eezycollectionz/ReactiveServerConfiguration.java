@@ -0,0 +1,21 @@
+package de.wagner1975.eezycollectionz;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Serves the reactive stack with Netty instead of Tomcat, which Spring Boot would prefer as it is
+ * on the class path for the servlet stack as well. Netty handles all connections on a few event
+ * loop threads.
+ */
+@Profile("reactive")
+@Configuration
+class ReactiveServerConfiguration {
+
+  @Bean
+  NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+}
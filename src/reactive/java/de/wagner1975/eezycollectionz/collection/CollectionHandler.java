@@ -0,0 +1,115 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import de.wagner1975.eezycollectionz.support.ETags;
+import de.wagner1975.eezycollectionz.support.PageRequests;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the operations of {@link CollectionController} on the reactive stack with the same paths,
+ * status codes and entity tags.
+ */
+@Profile("reactive")
+@Component
+@AllArgsConstructor
+class CollectionHandler {
+
+  private static final Pageable DEFAULT_PAGEABLE = PageRequest.of(0, 10, Sort.by(Direction.ASC, "createdAt"));
+
+  private final ReactiveCollectionService service;
+
+  private final Validator validator;
+
+  Mono<ServerResponse> findAll(ServerRequest request) {
+    return service.findAll(PageRequests.of(request, DEFAULT_PAGEABLE))
+      .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(page));
+  }
+
+  Mono<ServerResponse> findById(ServerRequest request) {
+    return service.findById(id(request))
+      .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found")))
+      .flatMap(collection -> {
+        var eTag = ETags.of(collection.getVersion(), collection.getEntryCount());
+        return request.checkNotModified(eTag).switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+          .eTag(eTag)
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(collection)));
+      });
+  }
+
+  Mono<ServerResponse> create(ServerRequest request) {
+    return input(request)
+      .flatMap(collectionInput -> service.create(collectionInput).switchIfEmpty(Mono.error(
+        () -> new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Auto-generation of unique collection id failed"))))
+      .flatMap(collection -> ServerResponse.status(HttpStatus.CREATED)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(collection));
+  }
+
+  Mono<ServerResponse> update(ServerRequest request) {
+    var id = id(request);
+    var expectedVersion = expectedVersion(request);
+
+    return input(request)
+      .flatMap(collectionInput -> service.update(collectionInput, id, expectedVersion).switchIfEmpty(Mono.error(
+        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found"))))
+      .onErrorMap(VersionMismatchException.class,
+        ex -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Collection was modified"))
+      .flatMap(collection -> ServerResponse.ok()
+        .eTag(ETags.of(collection.getVersion(), collection.getEntryCount()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(collection));
+  }
+
+  Mono<ServerResponse> delete(ServerRequest request) {
+    return service.delete(id(request), expectedVersion(request))
+      .onErrorMap(VersionMismatchException.class,
+        ex -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Collection was modified"))
+      .flatMap(deleted -> deleted
+        ? ServerResponse.noContent().build()
+        : Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found")));
+  }
+
+  private Mono<CollectionInput> input(ServerRequest request) {
+    return request.bodyToMono(CollectionInput.class)
+      .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Collection data is missing")))
+      .filter(collectionInput -> validator.validate(collectionInput).isEmpty())
+      .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Collection data is invalid")));
+  }
+
+  private static UUID id(ServerRequest request) {
+    try {
+      return UUID.fromString(request.pathVariable("id"));
+    }
+    catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid id");
+    }
+  }
+
+  private static Long expectedVersion(ServerRequest request) {
+    var ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+    if (Objects.isNull(ifMatch) || ETags.ANY.equals(ifMatch.trim())) {
+      return null;
+    }
+    return ETags.parseVersion(ifMatch).orElseThrow(
+      () -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Collection was modified"));
+  }
+}
@@ -0,0 +1,24 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Profile("reactive")
+@Configuration
+class CollectionRouter {
+
+  @Bean
+  RouterFunction<ServerResponse> collectionRoutes(CollectionHandler handler) {
+    return RouterFunctions.route()
+      .GET("/api/collections", handler::findAll)
+      .GET("/api/collections/{id}", handler::findById)
+      .POST("/api/collections", handler::create)
+      .PUT("/api/collections/{id}", handler::update)
+      .DELETE("/api/collections/{id}", handler::delete)
+      .build();
+  }
+}
@@ -0,0 +1,119 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import de.wagner1975.eezycollectionz.support.PageRequests;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Repository
+@AllArgsConstructor
+class ReactiveCollectionRepository {
+
+  private final DatabaseClient client;
+
+  Flux<Collection> findAll(Pageable pageable) {
+    return client.sql("SELECT * FROM collection " + PageRequests.orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset")
+      .bind("limit", pageable.getPageSize())
+      .bind("offset", pageable.getOffset())
+      .map(ReactiveCollectionRepository::toCollection)
+      .all();
+  }
+
+  Mono<Long> count() {
+    return client.sql("SELECT count(*) FROM collection")
+      .map(row -> row.get(0, Long.class))
+      .one();
+  }
+
+  Mono<Collection> findById(UUID id) {
+    return client.sql("SELECT * FROM collection WHERE id = :id")
+      .bind("id", id)
+      .map(ReactiveCollectionRepository::toCollection)
+      .one();
+  }
+
+  Mono<Boolean> existsById(UUID id) {
+    return client.sql("SELECT EXISTS (SELECT 1 FROM collection WHERE id = :id)")
+      .bind("id", id)
+      .map(row -> row.get(0, Boolean.class))
+      .one();
+  }
+
+  /**
+   * Completes empty if the id is taken already.
+   */
+  Mono<Collection> insertIfAbsent(Collection collection) {
+    return client.sql("""
+        INSERT INTO collection (id, created_at, last_modified_at, name, version)
+        VALUES (:id, :createdAt, :lastModifiedAt, :name, 0)
+        ON CONFLICT (id) DO NOTHING
+        RETURNING *""")
+      .bind("id", collection.getId())
+      .bind("createdAt", collection.getCreatedAt())
+      .bind("lastModifiedAt", collection.getLastModifiedAt())
+      .bind("name", collection.getName())
+      .map(ReactiveCollectionRepository::toCollection)
+      .one();
+  }
+
+  Mono<Collection> updateNameById(UUID id, String name, Instant lastModifiedAt) {
+    return client.sql("""
+        UPDATE collection SET name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+        WHERE id = :id
+        RETURNING *""")
+      .bind("id", id)
+      .bind("name", name)
+      .bind("lastModifiedAt", lastModifiedAt)
+      .map(ReactiveCollectionRepository::toCollection)
+      .one();
+  }
+
+  Mono<Collection> updateNameByIdAndVersion(UUID id, long version, String name, Instant lastModifiedAt) {
+    return client.sql("""
+        UPDATE collection SET name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+        WHERE id = :id AND version = :version
+        RETURNING *""")
+      .bind("id", id)
+      .bind("version", version)
+      .bind("name", name)
+      .bind("lastModifiedAt", lastModifiedAt)
+      .map(ReactiveCollectionRepository::toCollection)
+      .one();
+  }
+
+  Mono<Long> deleteById(UUID id) {
+    return client.sql("DELETE FROM collection WHERE id = :id")
+      .bind("id", id)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  Mono<Long> deleteByIdAndVersion(UUID id, long version) {
+    return client.sql("DELETE FROM collection WHERE id = :id AND version = :version")
+      .bind("id", id)
+      .bind("version", version)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  private static Collection toCollection(Readable row) {
+    return Collection.builder()
+      .id(row.get("id", UUID.class))
+      .createdAt(row.get("created_at", Instant.class))
+      .lastModifiedAt(row.get("last_modified_at", Instant.class))
+      .name(row.get("name", String.class))
+      .version(row.get("version", Long.class))
+      .entryCount(row.get("entry_count", Long.class))
+      .build();
+  }
+}
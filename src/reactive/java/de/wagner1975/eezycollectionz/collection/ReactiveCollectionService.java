@@ -0,0 +1,87 @@
+package de.wagner1975.eezycollectionz.collection;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.google.common.base.Preconditions;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import de.wagner1975.eezycollectionz.support.GenerateIdException;
+import de.wagner1975.eezycollectionz.support.IdGenerator;
+import de.wagner1975.eezycollectionz.support.InsertWithGeneratedIdOperation;
+import de.wagner1975.eezycollectionz.support.TimeFactory;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Service
+@AllArgsConstructor
+class ReactiveCollectionService {
+
+  private final ReactiveCollectionRepository repository;
+
+  private final IdGenerator<UUID> generator;
+
+  private final TimeFactory timeFactory;
+
+  private final ApplicationProperties appProps;
+
+  Mono<Page<Collection>> findAll(Pageable pageable) {
+    Preconditions.checkArgument(Objects.nonNull(pageable), "pageable is null");
+
+    return repository.findAll(pageable).collectList()
+      .zipWith(repository.count(), (collections, total) -> new PageImpl<>(collections, pageable, total));
+  }
+
+  Mono<Collection> findById(UUID id) {
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+    return repository.findById(id);
+  }
+
+  Mono<Collection> create(CollectionInput collectionInput) {
+    Preconditions.checkArgument(Objects.nonNull(collectionInput), "collectionInput is null");
+
+    var now = timeFactory.now();
+
+    return new InsertWithGeneratedIdOperation<Collection, UUID>(generator, appProps.maxRetriesToGenerateId())
+      .execute(generatedId -> repository.insertIfAbsent(Collection.builder()
+        .id(generatedId)
+        .createdAt(now)
+        .lastModifiedAt(now)
+        .name(collectionInput.getName())
+        .build()))
+      .onErrorResume(GenerateIdException.class, ex -> Mono.empty());
+  }
+
+  Mono<Collection> update(CollectionInput collectionInput, UUID id, Long expectedVersion) {
+    Preconditions.checkArgument(Objects.nonNull(collectionInput), "collectionInput is null");
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+
+    var now = timeFactory.now();
+    if (Objects.isNull(expectedVersion)) {
+      return repository.updateNameById(id, collectionInput.getName(), now);
+    }
+    return repository.updateNameByIdAndVersion(id, expectedVersion, collectionInput.getName(), now)
+      .switchIfEmpty(repository.existsById(id)
+        .flatMap(exists -> exists ? Mono.error(new VersionMismatchException()) : Mono.empty()));
+  }
+
+  Mono<Boolean> delete(UUID id, Long expectedVersion) {
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+
+    if (Objects.isNull(expectedVersion)) {
+      return repository.deleteById(id).map(deletedRows -> deletedRows > 0);
+    }
+    return repository.deleteByIdAndVersion(id, expectedVersion)
+      .flatMap(deletedRows -> deletedRows > 0
+        ? Mono.just(true)
+        : repository.existsById(id).flatMap(exists -> exists ? Mono.error(new VersionMismatchException()) : Mono.just(false)));
+  }
+}
@@ -0,0 +1,123 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import de.wagner1975.eezycollectionz.support.ETags;
+import de.wagner1975.eezycollectionz.support.MissingReferenceException;
+import de.wagner1975.eezycollectionz.support.PageRequests;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the operations of {@link EntryController} on the reactive stack with the same paths,
+ * status codes and entity tags.
+ */
+@Profile("reactive")
+@Component
+@AllArgsConstructor
+class EntryHandler {
+
+  private static final Pageable DEFAULT_PAGEABLE = PageRequest.of(0, 10, Sort.by(Direction.ASC, "createdAt"));
+
+  private final ReactiveEntryService service;
+
+  private final Validator validator;
+
+  Mono<ServerResponse> findByCollectionId(ServerRequest request) {
+    var collectionId = uuid(request.queryParam("collectionId")
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Collection id is missing")));
+
+    return service.findByCollectionId(collectionId, PageRequests.of(request, DEFAULT_PAGEABLE))
+      .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(page));
+  }
+
+  Mono<ServerResponse> findById(ServerRequest request) {
+    return service.findById(uuid(request.pathVariable("id")))
+      .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found")))
+      .flatMap(entry -> {
+        var eTag = ETags.of(entry.getVersion());
+        return request.checkNotModified(eTag).switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+          .eTag(eTag)
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(entry)));
+      });
+  }
+
+  Mono<ServerResponse> create(ServerRequest request) {
+    var collectionId = uuid(request.pathVariable("collectionId"));
+
+    return input(request)
+      .flatMap(entryInput -> service.create(entryInput, collectionId).switchIfEmpty(Mono.error(
+        () -> new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Auto-generation of unique entry id failed"))))
+      .onErrorMap(MissingReferenceException.class,
+        ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found"))
+      .flatMap(entry -> ServerResponse.status(HttpStatus.CREATED)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(entry));
+  }
+
+  Mono<ServerResponse> update(ServerRequest request) {
+    var id = uuid(request.pathVariable("id"));
+    var expectedVersion = expectedVersion(request);
+
+    return input(request)
+      .flatMap(entryInput -> service.update(entryInput, id, expectedVersion).switchIfEmpty(Mono.error(
+        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"))))
+      .onErrorMap(VersionMismatchException.class,
+        ex -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Entry was modified"))
+      .flatMap(entry -> ServerResponse.ok()
+        .eTag(ETags.of(entry.getVersion()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(entry));
+  }
+
+  Mono<ServerResponse> delete(ServerRequest request) {
+    return service.delete(uuid(request.pathVariable("id")), expectedVersion(request))
+      .onErrorMap(VersionMismatchException.class,
+        ex -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Entry was modified"))
+      .flatMap(deleted -> deleted
+        ? ServerResponse.noContent().build()
+        : Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found")));
+  }
+
+  private Mono<EntryInput> input(ServerRequest request) {
+    return request.bodyToMono(EntryInput.class)
+      .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Entry data is missing")))
+      .filter(entryInput -> validator.validate(entryInput).isEmpty())
+      .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Entry data is invalid")));
+  }
+
+  private static UUID uuid(String value) {
+    try {
+      return UUID.fromString(value);
+    }
+    catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid id");
+    }
+  }
+
+  private static Long expectedVersion(ServerRequest request) {
+    var ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+    if (Objects.isNull(ifMatch) || ETags.ANY.equals(ifMatch.trim())) {
+      return null;
+    }
+    return ETags.parseVersion(ifMatch).orElseThrow(
+      () -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Entry was modified"));
+  }
+}
@@ -0,0 +1,24 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Profile("reactive")
+@Configuration
+class EntryRouter {
+
+  @Bean
+  RouterFunction<ServerResponse> entryRoutes(EntryHandler handler) {
+    return RouterFunctions.route()
+      .GET("/api/entries", handler::findByCollectionId)
+      .GET("/api/entries/{id}", handler::findById)
+      .POST("/api/entries/collection/{collectionId}", handler::create)
+      .PUT("/api/entries/{id}", handler::update)
+      .DELETE("/api/entries/{id}", handler::delete)
+      .build();
+  }
+}
@@ -0,0 +1,143 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import de.wagner1975.eezycollectionz.support.MissingReferenceException;
+import de.wagner1975.eezycollectionz.support.PageRequests;
+import io.r2dbc.spi.R2dbcException;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Repository
+@AllArgsConstructor
+class ReactiveEntryRepository {
+
+  private static final String FOREIGN_KEY_VIOLATION_SQL_STATE = "23503";
+
+  private final DatabaseClient client;
+
+  Flux<EntryView> findByCollectionId(UUID collectionId, Pageable pageable) {
+    return client.sql("SELECT id, created_at, last_modified_at, name FROM entry WHERE collection_id = :collectionId "
+        + PageRequests.orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset")
+      .bind("collectionId", collectionId)
+      .bind("limit", pageable.getPageSize())
+      .bind("offset", pageable.getOffset())
+      .map(row -> new EntryView(
+        row.get("id", UUID.class),
+        row.get("created_at", Instant.class),
+        row.get("last_modified_at", Instant.class),
+        row.get("name", String.class)))
+      .all();
+  }
+
+  Mono<Long> countByCollectionId(UUID collectionId) {
+    return client.sql("SELECT count(*) FROM entry WHERE collection_id = :collectionId")
+      .bind("collectionId", collectionId)
+      .map(row -> row.get(0, Long.class))
+      .one();
+  }
+
+  Mono<Entry> findById(UUID id) {
+    return client.sql("SELECT * FROM entry WHERE id = :id")
+      .bind("id", id)
+      .map(ReactiveEntryRepository::toEntry)
+      .one();
+  }
+
+  Mono<Boolean> existsById(UUID id) {
+    return client.sql("SELECT EXISTS (SELECT 1 FROM entry WHERE id = :id)")
+      .bind("id", id)
+      .map(row -> row.get(0, Boolean.class))
+      .one();
+  }
+
+  /**
+   * Completes empty if the id is taken already and fails with {@link MissingReferenceException} if
+   * the collection does not exist.
+   */
+  Mono<Entry> insertIfAbsent(Entry entry, UUID collectionId) {
+    return client.sql("""
+        INSERT INTO entry (id, created_at, last_modified_at, name, collection_id, version)
+        VALUES (:id, :createdAt, :lastModifiedAt, :name, :collectionId, 0)
+        ON CONFLICT (id) DO NOTHING
+        RETURNING *""")
+      .bind("id", entry.getId())
+      .bind("createdAt", entry.getCreatedAt())
+      .bind("lastModifiedAt", entry.getLastModifiedAt())
+      .bind("name", entry.getName())
+      .bind("collectionId", collectionId)
+      .map(ReactiveEntryRepository::toEntry)
+      .one()
+      .onErrorMap(ReactiveEntryRepository::isForeignKeyViolation, ex -> new MissingReferenceException());
+  }
+
+  Mono<Entry> updateNameById(UUID id, String name, Instant lastModifiedAt) {
+    return client.sql("""
+        UPDATE entry SET name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+        WHERE id = :id
+        RETURNING *""")
+      .bind("id", id)
+      .bind("name", name)
+      .bind("lastModifiedAt", lastModifiedAt)
+      .map(ReactiveEntryRepository::toEntry)
+      .one();
+  }
+
+  Mono<Entry> updateNameByIdAndVersion(UUID id, long version, String name, Instant lastModifiedAt) {
+    return client.sql("""
+        UPDATE entry SET name = :name, last_modified_at = :lastModifiedAt, version = version + 1
+        WHERE id = :id AND version = :version
+        RETURNING *""")
+      .bind("id", id)
+      .bind("version", version)
+      .bind("name", name)
+      .bind("lastModifiedAt", lastModifiedAt)
+      .map(ReactiveEntryRepository::toEntry)
+      .one();
+  }
+
+  Mono<Long> deleteById(UUID id) {
+    return client.sql("DELETE FROM entry WHERE id = :id")
+      .bind("id", id)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  Mono<Long> deleteByIdAndVersion(UUID id, long version) {
+    return client.sql("DELETE FROM entry WHERE id = :id AND version = :version")
+      .bind("id", id)
+      .bind("version", version)
+      .fetch()
+      .rowsUpdated();
+  }
+
+  private static Entry toEntry(Readable row) {
+    return Entry.builder()
+      .id(row.get("id", UUID.class))
+      .createdAt(row.get("created_at", Instant.class))
+      .lastModifiedAt(row.get("last_modified_at", Instant.class))
+      .name(row.get("name", String.class))
+      .version(row.get("version", Long.class))
+      .build();
+  }
+
+  private static boolean isForeignKeyViolation(Throwable ex) {
+    for (var cause = ex; Objects.nonNull(cause); cause = cause.getCause()) {
+      if (cause instanceof R2dbcException r2dbcException
+          && FOREIGN_KEY_VIOLATION_SQL_STATE.equals(r2dbcException.getSqlState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
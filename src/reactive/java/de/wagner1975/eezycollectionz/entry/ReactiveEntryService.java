@@ -0,0 +1,89 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.google.common.base.Preconditions;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import de.wagner1975.eezycollectionz.support.GenerateIdException;
+import de.wagner1975.eezycollectionz.support.IdGenerator;
+import de.wagner1975.eezycollectionz.support.InsertWithGeneratedIdOperation;
+import de.wagner1975.eezycollectionz.support.TimeFactory;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Service
+@AllArgsConstructor
+class ReactiveEntryService {
+
+  private final ReactiveEntryRepository repository;
+
+  private final IdGenerator<UUID> generator;
+
+  private final TimeFactory timeFactory;
+
+  private final ApplicationProperties appProps;
+
+  Mono<Page<EntryView>> findByCollectionId(UUID collectionId, Pageable pageable) {
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+    Preconditions.checkArgument(Objects.nonNull(pageable), "pageable is null");
+
+    return repository.findByCollectionId(collectionId, pageable).collectList()
+      .zipWith(repository.countByCollectionId(collectionId), (entries, total) -> new PageImpl<>(entries, pageable, total));
+  }
+
+  Mono<Entry> findById(UUID id) {
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+    return repository.findById(id);
+  }
+
+  Mono<Entry> create(EntryInput entryInput, UUID collectionId) {
+    Preconditions.checkArgument(Objects.nonNull(entryInput), "entryInput is null");
+    Preconditions.checkArgument(Objects.nonNull(collectionId), "collectionId is null");
+
+    var now = timeFactory.now();
+
+    return new InsertWithGeneratedIdOperation<Entry, UUID>(generator, appProps.maxRetriesToGenerateId())
+      .execute(generatedId -> repository.insertIfAbsent(Entry.builder()
+        .id(generatedId)
+        .createdAt(now)
+        .lastModifiedAt(now)
+        .name(entryInput.getName())
+        .build(), collectionId))
+      .onErrorResume(GenerateIdException.class, ex -> Mono.empty());
+  }
+
+  Mono<Entry> update(EntryInput entryInput, UUID id, Long expectedVersion) {
+    Preconditions.checkArgument(Objects.nonNull(entryInput), "entryInput is null");
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+
+    var now = timeFactory.now();
+    if (Objects.isNull(expectedVersion)) {
+      return repository.updateNameById(id, entryInput.getName(), now);
+    }
+    return repository.updateNameByIdAndVersion(id, expectedVersion, entryInput.getName(), now)
+      .switchIfEmpty(repository.existsById(id)
+        .flatMap(exists -> exists ? Mono.error(new VersionMismatchException()) : Mono.empty()));
+  }
+
+  Mono<Boolean> delete(UUID id, Long expectedVersion) {
+    Preconditions.checkArgument(Objects.nonNull(id), "id is null");
+
+    if (Objects.isNull(expectedVersion)) {
+      return repository.deleteById(id).map(deletedRows -> deletedRows > 0);
+    }
+    return repository.deleteByIdAndVersion(id, expectedVersion)
+      .flatMap(deletedRows -> deletedRows > 0
+        ? Mono.just(true)
+        : repository.existsById(id).flatMap(exists -> exists ? Mono.error(new VersionMismatchException()) : Mono.just(false)));
+  }
+}
@@ -0,0 +1,37 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the optimistic {@link SaveWithGeneratedIdOperation}: the insert is
+ * expected to complete empty if the generated id is taken (e.g. with {@code ON CONFLICT DO NOTHING})
+ * and is repeated with a new id until the retries are used up.
+ */
+public class InsertWithGeneratedIdOperation<T, ID> {
+
+  private final IdGenerator<ID> generator;
+
+  private final int maxRetries;
+
+  public InsertWithGeneratedIdOperation(IdGenerator<ID> generator, int maxRetries) {
+    Preconditions.checkArgument(Objects.nonNull(generator), "generator is null");
+    Preconditions.checkArgument(maxRetries >= 0, "maxRetries is negative");
+    this.generator = generator;
+    this.maxRetries = maxRetries;
+  }
+
+  public Mono<T> execute(Function<ID, Mono<T>> insert) {
+    Preconditions.checkArgument(Objects.nonNull(insert), "insert is null");
+
+    return Flux.range(0, maxRetries + 1)
+      .concatMap(attempt -> insert.apply(generator.generate()))
+      .next()
+      .switchIfEmpty(Mono.error(GenerateIdException::new));
+  }
+}
@@ -0,0 +1,89 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reads the pagination parameters {@code page}, {@code size} and {@code sort=property,direction}
+ * like the Spring Data web support of the annotated controllers and renders the sort as SQL.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageRequests {
+
+  private static final int MAX_SIZE = 2_000;
+
+  private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+    "id", "id",
+    "createdAt", "created_at",
+    "lastModifiedAt", "last_modified_at",
+    "name", "name");
+
+  /**
+   * Missing or unparsable numbers fall back to the defaults, as with the annotated controllers.
+   */
+  public static Pageable of(ServerRequest request, Pageable defaults) {
+    var page = intParam(request, "page", defaults.getPageNumber());
+    var size = intParam(request, "size", defaults.getPageSize());
+    var sortParams = request.queryParams().getOrDefault("sort", List.of());
+
+    return PageRequest.of(
+      Math.max(page, 0),
+      size < 1 ? defaults.getPageSize() : Math.min(size, MAX_SIZE),
+      sortParams.isEmpty() ? defaults.getSort() : parseSort(sortParams));
+  }
+
+  public static String orderBy(Sort sort) {
+    if (sort.isUnsorted()) {
+      return "";
+    }
+    return sort.stream()
+      .map(order -> column(order.getProperty()) + " " + order.getDirection().name())
+      .collect(Collectors.joining(", ", "ORDER BY ", ""));
+  }
+
+  private static Sort parseSort(List<String> sortParams) {
+    var orders = new ArrayList<Sort.Order>();
+    for (var sortParam : sortParams) {
+      var parts = sortParam.split(",");
+      var direction = Direction.fromOptionalString(parts[parts.length - 1]);
+      var propertyCount = direction.isPresent() ? parts.length - 1 : parts.length;
+      for (var i = 0; i < propertyCount; i++) {
+        if (!parts[i].isBlank()) {
+          orders.add(new Sort.Order(direction.orElse(Direction.ASC), parts[i].trim()));
+        }
+      }
+    }
+    return Sort.by(orders);
+  }
+
+  private static String column(String property) {
+    var column = SORTABLE_COLUMNS.get(property);
+    if (Objects.isNull(column)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sort property");
+    }
+    return column;
+  }
+
+  private static int intParam(ServerRequest request, String name, int defaultValue) {
+    try {
+      return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+    catch (NumberFormatException ex) {
+      return defaultValue;
+    }
+  }
+}
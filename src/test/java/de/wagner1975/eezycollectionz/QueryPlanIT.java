@@ -0,0 +1,211 @@
+package de.wagner1975.eezycollectionz;
+
+import static de.wagner1975.eezycollectionz.TestConstants.POSTGRESQL_DOCKER_IMAGE_NAME;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(Lifecycle.PER_CLASS)
+class QueryPlanIT {
+
+  private static final UUID COLLECTION_ID = UUID.fromString("10000000-a000-4000-8000-10000000a000");
+
+  private static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2023-11-16T21:00:44.117212Z");
+
+  private static final UUID ENTRY_ID = UUID.fromString("20000000-b300-4000-8000-20000000b300");
+
+  @Container
+  private static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRESQL_DOCKER_IMAGE_NAME);
+
+  @DynamicPropertySource
+  private static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private DataSource dataSource;
+
+  // seeded once, as the tests only read and the seed takes seconds
+  @BeforeAll
+  void seed() {
+    new ResourceDatabasePopulator(
+      new ClassPathResource("/database/entry_controller_integ_test/before.sql"),
+      new ClassPathResource("/database/query_plan_integ_test/before.sql"))
+      .execute(dataSource);
+  }
+
+  @AfterAll
+  void clean() {
+    new ResourceDatabasePopulator(new ClassPathResource("/database/entry_controller_integ_test/after.sql")).execute(dataSource);
+  }
+
+  @Test
+  void entriesOfCollectionOrderedByCreation_UsesIndexWithoutSort() {
+    var plan = explain(
+      "SELECT * FROM entry WHERE collection_id = ? ORDER BY created_at ASC LIMIT 10 OFFSET 20",
+      COLLECTION_ID);
+
+    assertThat(plan, containsString("Index Scan using entry_collection_id_created_at_id_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void entriesOfCollectionOrderedByCreationDescending_UsesIndexWithoutSort() {
+    var plan = explain(
+      "SELECT * FROM entry WHERE collection_id = ? ORDER BY created_at DESC LIMIT 10",
+      COLLECTION_ID);
+
+    assertThat(plan, containsString("Index Scan Backward using entry_collection_id_created_at_id_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void entriesOfCollectionAfterKeyset_UsesIndexWithoutSort() {
+    var plan = explain(
+      "SELECT * FROM entry WHERE collection_id = ? AND (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT 11",
+      COLLECTION_ID, CREATED_AT, ENTRY_ID);
+
+    assertThat(plan, containsString("Index Scan using entry_collection_id_created_at_id_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void collectionsAfterKeyset_UsesIndexWithoutSort() {
+    var plan = explain(
+      "SELECT * FROM collection WHERE (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT 11",
+      CREATED_AT, COLLECTION_ID);
+
+    assertThat(plan, containsString("Index Scan using collection_created_at_id_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void entriesOfCollectionByNamePrefixAfterKeyset_UsesIndexWithoutSort() {
+    var plan = explain("""
+      SELECT * FROM entry
+      WHERE collection_id = ? AND lower(name) COLLATE "C" LIKE lower(?)
+        AND (lower(name) COLLATE "C", id) > (lower(?) COLLATE "C", ?)
+      ORDER BY lower(name) COLLATE "C", id LIMIT 11""",
+      COLLECTION_ID, "entry w%", "Entry W (B)", ENTRY_ID);
+
+    assertThat(plan, containsString("lower_name_id_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void entriesByNamePrefix_UsesIndexWithoutSort() {
+    var plan = explain("""
+      SELECT * FROM entry WHERE lower(name) COLLATE "C" LIKE lower(?)
+      ORDER BY lower(name) COLLATE "C", id LIMIT 11""",
+      "entry w%");
+
+    assertThat(plan, containsString("Index Scan using entry_lower_name_id_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void collectionsByNamePrefix_UsesIndexWithoutSort() {
+    var plan = explain("""
+      SELECT * FROM collection WHERE lower(name) COLLATE "C" LIKE lower(?)
+      ORDER BY lower(name) COLLATE "C", id LIMIT 11""",
+      "collection%");
+
+    assertThat(plan, containsString("Index Scan using collection_lower_name_id_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void entriesOfCollectionBySimilarNameAfterCursor_UsesTrigramIndexWithoutSort() {
+    var plan = explain("""
+      SELECT * FROM entry
+      WHERE collection_id = ? AND name % ? AND name <-> ? >= CAST(? AS real) AND id NOT IN (?)
+      ORDER BY name <-> ? LIMIT 11""",
+      COLLECTION_ID, "Entyr W", "Entyr W", "0.5", ENTRY_ID, "Entyr W");
+
+    assertThat(plan, containsString("name_trgm_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void entriesBySimilarName_UsesTrigramIndex() {
+    var plan = explain("""
+      SELECT * FROM entry WHERE name % ?
+      ORDER BY name <-> ? LIMIT 11""",
+      "Entyr W", "Entyr W");
+
+    assertThat(plan, containsString("entry_name_trgm_idx"));
+  }
+
+  /**
+   * pg_trgm estimates a fixed, small share of similar names, so the planner prefers to collect them
+   * by a bitmap scan and sort them. Where many names are similar, the index has to deliver them in
+   * order instead, which is checked without bitmap scans.
+   */
+  @Test
+  void entriesBySimilarName_ManySimilar_UsesTrigramIndexWithoutSort() {
+    var plan = transactionTemplate.execute(status -> {
+      jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+      return explain("""
+        SELECT * FROM entry WHERE name % ?
+        ORDER BY name <-> ? LIMIT 11""",
+        "Entyr W", "Entyr W");
+    });
+
+    assertThat(plan, containsString("Index Scan using entry_name_trgm_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  @Test
+  void collectionsBySimilarName_UsesTrigramIndexWithoutSort() {
+    var plan = explain("""
+      SELECT * FROM collection WHERE name % ?
+      ORDER BY name <-> ? LIMIT 11""",
+      "Colection", "Colection");
+
+    assertThat(plan, containsString("Index Scan using collection_name_trgm_idx"));
+    assertThat(plan, not(containsString("Sort")));
+  }
+
+  /**
+   * The tables are seeded with about 100,000 entries and analyzed, so the planner chooses by
+   * realistic statistics and with its default settings.
+   */
+  private String explain(String sql, Object... args) {
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+  }
+}
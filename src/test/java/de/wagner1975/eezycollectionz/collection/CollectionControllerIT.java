@@ -1,39 +1,54 @@
 package de.wagner1975.eezycollectionz.collection;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-import static de.wagner1975.eezycollectionz.TestConstants.UUID_V4_REGEX;
+import static de.wagner1975.eezycollectionz.TestConstants.UUID_V7_REGEX;
 import static de.wagner1975.eezycollectionz.TestConstants.ISO_8601_DATE_REGEX;
 import static de.wagner1975.eezycollectionz.TestConstants.POSTGRESQL_DOCKER_IMAGE_NAME;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import de.wagner1975.eezycollectionz.entry.EntryBulkInput;
+import de.wagner1975.eezycollectionz.entry.EntryInput;
+import de.wagner1975.eezycollectionz.support.StatementCountFilter;
 import de.wagner1975.eezycollectionz.support.TimeFactory;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 
 @Testcontainers
+@AutoConfigureObservability
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(executionPhase = ExecutionPhase.BEFORE_TEST_METHOD, scripts = "/database/collection_controller_integ_test/before.sql")
 @Sql(executionPhase = ExecutionPhase.AFTER_TEST_METHOD, scripts = "/database/collection_controller_integ_test/after.sql")
@@ -62,9 +77,20 @@ class CollectionControllerIT {
   @Autowired
   private TimeFactory timeFactory;
 
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private CollectionService service;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
   @BeforeEach
   void setUp() {
     RestAssured.baseURI = "http://localhost:" + port; 
+    // the test data is reset by SQL scripts, past the caches of the application
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
   }
 
   @Test
@@ -78,6 +104,7 @@ class CollectionControllerIT {
       get(REQUEST_PATH).
     then().
       statusCode(200).
+      header(StatementCountFilter.HEADER, "2").
       body(
         "content", hasSize(3),
         "content[0].id", equalTo("10000003-3333-4000-8000-ddee00000003"),
@@ -88,6 +115,110 @@ class CollectionControllerIT {
         "content[2].name", equalTo("Collection O"));      
   }
 
+  @Test
+  void getSlice_Success_Ok() {
+    given().
+      contentType(ContentType.JSON).
+      param("page", 6).
+      param("size", 3).
+      param("sort", "name,desc").
+    when().
+      get(REQUEST_PATH + "/slice").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(2),
+        "content[0].name", equalTo("Collection H"),
+        "content[1].name", equalTo("Collection G"),
+        "hasNext", equalTo(false),
+        "approximateTotal", nullValue());
+  }
+
+  @Test
+  void getSearch_Prefix_AlphabeticalWithCursor() {
+    var response =
+    given().
+      param("q", "coll").
+      param("size", 15).
+    when().
+      get(REQUEST_PATH + "/search").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(15),
+        "content[0].id", equalTo("10000009-9999-4000-8000-bbaa00000009"),
+        "content[0].name", equalTo("Collection G"),
+        "hasNext", equalTo(true)).
+    extract().response();
+
+    given().
+      param("q", "coll").
+      param("size", 15).
+      param("cursor", response.<String>path("nextCursor")).
+    when().
+      get(REQUEST_PATH + "/search").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(5),
+        "content[0].id", equalTo("00000004-4444-4000-8000-eeff00000004"),
+        "content[4].id", equalTo("00000000-0000-4000-8000-aabb00000000"),
+        "hasNext", equalTo(false));
+  }
+
+  @Test
+  void getScroll_Success_Ok() {
+    var response =
+    given().
+      contentType(ContentType.JSON).
+      param("size", 15).
+    when().
+      get(REQUEST_PATH + "/scroll").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(15),
+        "content[0].id", equalTo("00000000-0000-4000-8000-aabb00000000"),
+        "content[14].id", equalTo("10000004-4444-4000-8000-eeff00000004"),
+        "hasNext", equalTo(true)).
+    extract().response();
+
+    given().
+      contentType(ContentType.JSON).
+      param("size", 15).
+      param("cursor", response.<String>path("nextCursor")).
+    when().
+      get(REQUEST_PATH + "/scroll").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(5),
+        "content[0].id", equalTo("10000005-5555-4000-8000-ffee00000005"),
+        "hasNext", equalTo(false));
+  }
+
+  @Test
+  void getPrometheus_AfterCreate_ExposesLatencyHistograms() {
+    given().
+      contentType(ContentType.JSON).
+      body(CollectionInput.builder().name("Measured collection").build()).
+    when().
+      post(REQUEST_PATH).
+    then().
+      statusCode(201);
+
+    given().
+    when().
+      get("/actuator/prometheus").
+    then().
+      statusCode(200).
+      body(
+        containsString("http_server_requests_seconds_bucket{application=\"eezycollectionz\""),
+        containsString("eezycollectionz_service_seconds_bucket{application=\"eezycollectionz\",class=\"de.wagner1975.eezycollectionz.collection.CollectionService\""),
+        containsString("eezycollectionz_id_generation_attempts_bucket{application=\"eezycollectionz\""),
+        containsString("hikaricp_connections_active"));
+  }
+
   @Test
   void getById_Success_Ok() {
     given().
@@ -97,11 +228,82 @@ class CollectionControllerIT {
       get(REQUEST_PATH + "/{id}").
     then().
       statusCode(200).
+      // the collection and its entry count, which are cached apart
+      header(StatementCountFilter.HEADER, "2").
       body(
         "id", equalTo("00000006-6666-4000-8000-eedd00000006"),
         "name", equalTo("Collection T"));
+
+    given().
+      pathParam("id", "00000006-6666-4000-8000-eedd00000006").
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      header(StatementCountFilter.HEADER, "0");
   }  
 
+  @Test
+  void getById_EntriesCreatedAndDeleted_EntryCountMaintained() {
+    var collectionId = "00000006-6666-4000-8000-eedd00000006";
+
+    given().
+      pathParam("id", collectionId).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      body("entryCount", equalTo(0));
+
+    String entryId =
+    given().
+      contentType(ContentType.JSON).
+      pathParam("collectionId", collectionId).
+      body(EntryInput.builder().name("Single entry").build()).
+    when().
+      post("/api/entries/collection/{collectionId}").
+    then().
+      statusCode(201).
+    extract().path("id");
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("collectionId", collectionId).
+      body(EntryBulkInput.builder().entries(List.of(
+        EntryInput.builder().name("Bulk entry 1").build(),
+        EntryInput.builder().name("Bulk entry 2").build())).build()).
+    when().
+      post("/api/entries/collection/{collectionId}/bulk").
+    then().
+      statusCode(200);
+
+    given().
+      contentType("application/x-ndjson").
+      pathParam("collectionId", collectionId).
+      body("{\"name\":\"Imported entry 1\"}\n{\"name\":\"Imported entry 2\"}\n{\"name\":\"Imported entry 3\"}\n".getBytes(StandardCharsets.UTF_8)).
+    when().
+      post("/api/entries/collection/{collectionId}/import").
+    then().
+      statusCode(200);
+
+    given().
+      pathParam("id", entryId).
+    when().
+      delete("/api/entries/{id}").
+    then().
+      statusCode(204);
+
+    given().
+      pathParam("id", collectionId).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      header(StatementCountFilter.HEADER, "1").
+      header("ETag", equalTo("\"0.5\"")).
+      body("entryCount", equalTo(5));
+  }
+
   @Test
   void post_Success_Created() {
     var newName = "A brand new collection";
@@ -118,8 +320,9 @@ class CollectionControllerIT {
       post(REQUEST_PATH).
     then().
       statusCode(201).
+      header(StatementCountFilter.HEADER, "1").
       body(
-        "id", matchesPattern(UUID_V4_REGEX),
+        "id", matchesPattern(UUID_V7_REGEX),
         "createdAt", matchesPattern(ISO_8601_DATE_REGEX),
         "lastModifiedAt", matchesPattern(ISO_8601_DATE_REGEX),
         "name", equalTo(newName)).
@@ -220,6 +423,112 @@ class CollectionControllerIT {
         "name", equalTo(newName));
   }
 
+  @Test
+  void put_NotFound_NotFound() {
+    var countBefore = repository.count();
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", "ffffffff-ffff-4fff-8fff-ffffffffffff").
+      body(CollectionInput.builder().name("Another freaky collection name").build()).
+    when().
+      put(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(404);
+
+    assertEquals(countBefore, repository.count());
+  }
+  @Test
+  void getById_MatchingIfNoneMatch_NotModified() {
+    var existingIdAsString = "00000004-4444-4000-8000-eeff00000004";
+
+    String eTag =
+    given().
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      header("ETag", equalTo("\"0.0\"")).
+    extract().header("ETag");
+
+    given().
+      header("If-None-Match", eTag).
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(304);
+  }
+
+  @Test
+  void put_StaleIfMatch_PreconditionFailed() {
+    var existingIdAsString = "00000004-4444-4000-8000-eeff00000004";
+
+    String eTag =
+    given().
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+    extract().header("ETag");
+
+    given().
+      contentType(ContentType.JSON).
+      header("If-Match", eTag).
+      pathParam("id", existingIdAsString).
+      body(CollectionInput.builder().name("First change").build()).
+    when().
+      put(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      header("ETag", not(equalTo(eTag)));
+
+    given().
+      contentType(ContentType.JSON).
+      header("If-Match", eTag).
+      pathParam("id", existingIdAsString).
+      body(CollectionInput.builder().name("Lost change").build()).
+    when().
+      put(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(412);
+
+    given().
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      body("name", equalTo("First change"));
+  }
+
+  @Test
+  void delete_StaleIfMatch_PreconditionFailed() {
+    var existingIdAsString = "00000005-5555-4000-8000-ffee00000005";
+    var countBefore = repository.count();
+
+    given().
+      header("If-Match", "\"1\"").
+      pathParam("id", existingIdAsString).
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(412);
+
+    assertEquals(countBefore, repository.count());
+
+    given().
+      header("If-Match", "\"0\"").
+      pathParam("id", existingIdAsString).
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(204);
+  }
+
+
   @Test
   void delete_Success_NoContent()  {
     var existingIdAsString = "00000002-2222-4000-8000-ccdd00000002";
@@ -253,5 +562,135 @@ class CollectionControllerIT {
       get(REQUEST_PATH + "/{id}").
     then().
       statusCode(404);
-  } 
+  }
+  @Test
+  void delete_NotFound_NotFound() {
+    var countBefore = repository.count();
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", "ffffffff-ffff-4fff-8fff-ffffffffffff").
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(404);
+
+    assertEquals(countBefore, repository.count());
+  }
+
+  @Test
+  void delete_WithEntries_EntriesDeleted() {
+    var collectionIdWithEntry = "00000003-3333-4000-8000-ddee00000003";
+
+    String entryId =
+    given().
+      contentType(ContentType.JSON).
+      pathParam("collectionId", collectionIdWithEntry).
+      body(EntryInput.builder().name("Entry to be deleted").build()).
+    when().
+      post("/api/entries/collection/{collectionId}").
+    then().
+      statusCode(201).
+    extract().path("id");
+
+    // cached, with an uninitialized reference to its collection
+    given().
+      pathParam("id", entryId).
+    when().
+      get("/api/entries/{id}").
+    then().
+      statusCode(200);
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", collectionIdWithEntry).
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(204);
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", entryId).
+    when().
+      get("/api/entries/{id}").
+    then().
+      statusCode(404);
+  }
+
+
+  @Test
+  void postBulk_Success_Ok() {
+    var countBefore = repository.count();
+
+    given().
+      contentType(ContentType.JSON).
+      body(CollectionBulkInput.builder().collections(List.of(
+        CollectionInput.builder().name("Bulk collection 1").build(),
+        CollectionInput.builder().name("Bulk collection 2").build())).build()).
+    when().
+      post(REQUEST_PATH + "/bulk").
+    then().
+      statusCode(200).
+      body(
+        "created", equalTo(2),
+        "failed", equalTo(0),
+        "items", hasSize(2),
+        "items[0].entity.id", matchesPattern(UUID_V7_REGEX),
+        "items[0].entity.name", equalTo("Bulk collection 1"),
+        "items[1].entity.name", equalTo("Bulk collection 2"));
+
+    assertEquals(countBefore + 2, repository.count());
+  }
+
+  @Test
+  void postBulkDelete_Success_Ok() {
+    var collectionIdWithEntry = "00000003-3333-4000-8000-ddee00000003";
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("collectionId", collectionIdWithEntry).
+      body(EntryInput.builder().name("Entry to be deleted").build()).
+    when().
+      post("/api/entries/collection/{collectionId}").
+    then().
+      statusCode(201);
+
+    var countBefore = repository.count();
+
+    given().
+      contentType(ContentType.JSON).
+      body(CollectionBulkDeleteInput.builder().ids(Set.of(
+        UUID.fromString("00000002-2222-4000-8000-ccdd00000002"),
+        UUID.fromString(collectionIdWithEntry),
+        UUID.fromString("99999999-9999-4000-8000-999999999999"))).build()).
+    when().
+      post(REQUEST_PATH + "/bulk-delete").
+    then().
+      statusCode(200).
+      body("deleted", equalTo(2));
+
+    assertEquals(countBefore - 2, repository.count());
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", collectionIdWithEntry).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(404);
+  }
+
+  @Test
+  void deleteAll_ReadBeforeCommit_NotCachedAfterCommit() {
+    var id = UUID.fromString("00000001-1111-4000-8000-bbcc00000001");
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      service.deleteAll(Set.of(id));
+      // until the deletion commits, a concurrent read still finds and caches the collection
+      assertTrue(CompletableFuture.supplyAsync(() -> service.findById(id)).join().isPresent());
+    });
+
+    assertTrue(service.findById(id).isEmpty());
+  }
 }
@@ -3,6 +3,7 @@ package de.wagner1975.eezycollectionz.collection;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -13,7 +14,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +25,14 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import de.wagner1975.eezycollectionz.support.BulkCreateResult;
+import de.wagner1975.eezycollectionz.support.CursorPage;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.SearchMode;
+import de.wagner1975.eezycollectionz.support.SliceResult;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -120,6 +132,40 @@ class CollectionControllerTest {
       .andExpect(MockMvcResultMatchers.status().isBadRequest());
   }
 
+  @Test
+  void getById_Success_ETagOfVersionAndEntryCount() throws Exception {
+    when(serviceMock.findById(eq(UUID.fromString(DEFAULT_COLLECTION_ID))))
+      .thenReturn(Optional.of(Collection.builder().id(UUID.fromString(DEFAULT_COLLECTION_ID)).name(DEFAULT_NAME).version(3L).entryCount(5).build()));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3.5\""))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.entryCount").value(5));
+  }
+
+  @Test
+  void getById_MatchingIfNoneMatch_NotModified() throws Exception {
+    when(serviceMock.findById(eq(UUID.fromString(DEFAULT_COLLECTION_ID))))
+      .thenReturn(Optional.of(Collection.builder().id(UUID.fromString(DEFAULT_COLLECTION_ID)).name(DEFAULT_NAME).version(3L).entryCount(5).build()));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID).header(HttpHeaders.IF_NONE_MATCH, "\"3.5\""))
+      .andExpect(MockMvcResultMatchers.status().isNotModified())
+      .andExpect(MockMvcResultMatchers.content().string(""));
+  }
+
+  @Test
+  void getById_EntryCountChangedSinceIfNoneMatch_Ok() throws Exception {
+    when(serviceMock.findById(eq(UUID.fromString(DEFAULT_COLLECTION_ID))))
+      .thenReturn(Optional.of(Collection.builder().id(UUID.fromString(DEFAULT_COLLECTION_ID)).name(DEFAULT_NAME).version(3L).entryCount(5).build()));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID).header(HttpHeaders.IF_NONE_MATCH, "\"3.4\""))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.entryCount").value(5));
+  }
+
   @Test
   void getById_NoCollectionReturned_NotFound() throws Exception {
     when(serviceMock.findById(any())).thenReturn(Optional.empty());
@@ -176,7 +222,7 @@ class CollectionControllerTest {
   void put_Success_Ok() throws Exception {
     var collectionInput = CollectionInput.builder().name(MODIFIED_NAME).build();
 
-    when(serviceMock.update(any(), eq(UUID.fromString(DEFAULT_COLLECTION_ID))))
+    when(serviceMock.update(any(), eq(UUID.fromString(DEFAULT_COLLECTION_ID)), any()))
       .thenReturn(Optional.of(Collection.builder()
         .id(UUID.fromString(DEFAULT_COLLECTION_ID))
         .createdAt(Instant.parse(CREATED_AT))
@@ -195,6 +241,42 @@ class CollectionControllerTest {
       .andExpect(MockMvcResultMatchers.jsonPath("$.name").value(MODIFIED_NAME)); 
   }
 
+  @Test
+  void put_IfMatch_UpdatesExpectedVersion() throws Exception {
+    when(serviceMock.update(any(), eq(UUID.fromString(DEFAULT_COLLECTION_ID)), eq(3L)))
+      .thenReturn(Optional.of(Collection.builder().id(UUID.fromString(DEFAULT_COLLECTION_ID)).name(MODIFIED_NAME).version(4L).build()));
+
+    mockMvc
+      .perform(put(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID)
+        .header(HttpHeaders.IF_MATCH, "\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(CollectionInput.builder().name(MODIFIED_NAME).build())))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4.0\""));
+  }
+
+  @Test
+  void put_VersionMismatch_PreconditionFailed() throws Exception {
+    when(serviceMock.update(any(), any(), any())).thenThrow(new VersionMismatchException());
+
+    mockMvc
+      .perform(put(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID)
+        .header(HttpHeaders.IF_MATCH, "\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(CollectionInput.builder().name(MODIFIED_NAME).build())))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+  }
+
+  @Test
+  void put_WeakIfMatch_PreconditionFailed() throws Exception {
+    mockMvc
+      .perform(put(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID)
+        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(CollectionInput.builder().name(MODIFIED_NAME).build())))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+  }
+
   @Test
   void put_InvalidId_BadRequest() throws Exception {
     mockMvc
@@ -215,7 +297,7 @@ class CollectionControllerTest {
 
   @Test
   void put_FailureOnUpdate_NotFound() throws Exception {
-    when(serviceMock.update(any(), any())).thenReturn(Optional.empty());
+    when(serviceMock.update(any(), any(), any())).thenReturn(Optional.empty());
 
     mockMvc
       .perform(put(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID)
@@ -226,15 +308,160 @@ class CollectionControllerTest {
 
   @Test
   void delete_Success_NoContent() throws Exception {
+    when(serviceMock.delete(eq(UUID.fromString(DEFAULT_COLLECTION_ID)), any())).thenReturn(true);
+
     mockMvc
       .perform(delete(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID))
       .andExpect(MockMvcResultMatchers.status().isNoContent());
   }
 
+  @Test
+  void delete_NotFound_NotFound() throws Exception {
+    when(serviceMock.delete(eq(UUID.fromString(DEFAULT_COLLECTION_ID)), any())).thenReturn(false);
+
+    mockMvc
+      .perform(delete(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+
+  @Test
+  void delete_VersionMismatch_PreconditionFailed() throws Exception {
+    when(serviceMock.delete(eq(UUID.fromString(DEFAULT_COLLECTION_ID)), eq(3L))).thenThrow(new VersionMismatchException());
+
+    mockMvc
+      .perform(delete(REQUEST_PATH + "/" + DEFAULT_COLLECTION_ID).header(HttpHeaders.IF_MATCH, "\"3\""))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+  }
+
   @Test
   void delete_InvalidId_BadRequest() throws Exception {
     mockMvc
       .perform(delete(REQUEST_PATH + "/" + INVALID_COLLECTION_ID))
       .andExpect(MockMvcResultMatchers.status().isBadRequest());    
   }
+
+  @Test
+  void postBulk_Success_Ok() throws Exception {
+    var bulkInput = CollectionBulkInput.builder()
+      .collections(List.of(CollectionInput.builder().name(DEFAULT_NAME).build()))
+      .build();
+
+    when(serviceMock.createAll(any()))
+      .thenReturn(BulkCreateResult.of(List.of(
+        BulkCreateResult.Item.created(0, Collection.builder()
+          .id(UUID.fromString(DEFAULT_COLLECTION_ID))
+          .createdAt(Instant.parse(CREATED_AT))
+          .lastModifiedAt(Instant.parse(CREATED_AT))
+          .name(DEFAULT_NAME)
+          .build()))));
+
+    mockMvc
+      .perform(post(REQUEST_PATH + "/bulk")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(bulkInput)))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(0))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].entity.id").value(DEFAULT_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].entity.name").value(DEFAULT_NAME));
+  }
+
+  @Test
+  void postBulk_NoCollections_BadRequest() throws Exception {
+    mockMvc
+      .perform(post(REQUEST_PATH + "/bulk")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(CollectionBulkInput.builder().collections(List.of()).build())))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void postBulkDelete_Success_Ok() throws Exception {
+    var ids = Set.of(UUID.fromString(DEFAULT_COLLECTION_ID));
+
+    when(serviceMock.deleteAll(eq(ids))).thenReturn(1);
+
+    mockMvc
+      .perform(post(REQUEST_PATH + "/bulk-delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(CollectionBulkDeleteInput.builder().ids(ids).build())))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.deleted").value(1));
+  }
+
+  @Test
+  void postBulkDelete_NoIds_BadRequest() throws Exception {
+    mockMvc
+      .perform(post(REQUEST_PATH + "/bulk-delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(CollectionBulkDeleteInput.builder().ids(Set.of()).build())))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getScroll_Success_Ok() throws Exception {
+    var cursor = new KeysetCursor(Instant.parse(CREATED_AT), UUID.fromString(DEFAULT_COLLECTION_ID));
+
+    when(serviceMock.scroll(eq(cursor), eq(2)))
+      .thenReturn(CursorPage.of(List.of(Collection.builder().id(UUID.fromString(DEFAULT_COLLECTION_ID)).build()), 2, item -> cursor));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/scroll")
+        .param("cursor", cursor.encode())
+        .param("size", "2"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(DEFAULT_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  void getSearch_Success_Ok() throws Exception {
+    var search = new NameSearch(SearchMode.PREFIX, "coll", null, 10);
+
+    when(serviceMock.search(eq(search)))
+      .thenReturn(CursorPage.of(List.of(Collection.builder().id(UUID.fromString(DEFAULT_COLLECTION_ID)).build()), 10, item -> null));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/search").param("q", "coll"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(DEFAULT_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  void getSearch_QueryTooLong_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/search").param("q", "x".repeat(NameSearch.MAX_QUERY_LENGTH + 1)))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getScroll_InvalidCursor_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/scroll")
+        .param("cursor", "_invalid_"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getScroll_SizeTooLarge_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/scroll")
+        .param("size", String.valueOf(CursorPage.MAX_SIZE + 1)))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getSlice_Success_Ok() throws Exception {
+    when(serviceMock.findSlice(any(), eq(true)))
+      .thenReturn(SliceResult.of(new SliceImpl<>(List.of(Collection.builder().id(UUID.fromString(DEFAULT_COLLECTION_ID)).build()), PageRequest.of(0, 10), true), 1000L));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/slice")
+        .param("approximateTotal", "true"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(DEFAULT_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(true))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.approximateTotal").value(1000));
+  }
 }
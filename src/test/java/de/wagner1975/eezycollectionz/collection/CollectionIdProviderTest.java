@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +17,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import de.wagner1975.eezycollectionz.support.GenerateIdForRepositoryOperation;
 import de.wagner1975.eezycollectionz.support.GenerateIdOperationFactory;
+import de.wagner1975.eezycollectionz.support.SaveWithGeneratedIdOperation;
 
 @ExtendWith(SpringExtension.class)
 class CollectionIdProviderTest {
@@ -25,6 +28,9 @@ class CollectionIdProviderTest {
   @Mock
   private GenerateIdForRepositoryOperation<UUID> operationMock;
 
+  @Mock
+  private SaveWithGeneratedIdOperation<Collection, UUID> saveOperationMock;
+
   @InjectMocks
   private CollectionIdProvider objectUnderTest;
 
@@ -40,4 +46,32 @@ class CollectionIdProviderTest {
     assertNotNull(result);
     assertEquals(id, result);
   }
+
+  @Test
+  void saveWithGeneratedId_Success_ReturnsCollection() {
+    var collection = Collection.builder().id(UUID.fromString("00000003-3333-0000-0000-000000000003")).build();
+    Function<UUID, Collection> collectionFactory = id -> collection;
+
+    when(factoryMock.<Collection>createSaveForUUIDInRepository(any(), any())).thenReturn(saveOperationMock);
+    when(saveOperationMock.execute(collectionFactory)).thenReturn(collection);
+
+    var result = objectUnderTest.saveWithGeneratedId(collectionFactory);
+
+    assertNotNull(result);
+    assertEquals(collection, result);
+  }
+
+  @Test
+  void saveAllWithGeneratedIds_Success_ReturnsCollections() {
+    var collection = Collection.builder().id(UUID.fromString("00000003-3333-0000-0000-000000000003")).build();
+    List<Function<UUID, Collection>> collectionFactories = List.of(id -> collection);
+
+    when(factoryMock.<Collection>createSaveForUUIDInRepository(any(), any())).thenReturn(saveOperationMock);
+    when(saveOperationMock.executeAll(collectionFactories)).thenReturn(List.of(collection));
+
+    var result = objectUnderTest.saveAllWithGeneratedIds(collectionFactories);
+
+    assertNotNull(result);
+    assertEquals(List.of(collection), result);
+  }
 }
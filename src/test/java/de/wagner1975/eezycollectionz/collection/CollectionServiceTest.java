@@ -1,31 +1,55 @@
 package de.wagner1975.eezycollectionz.collection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
+import de.wagner1975.eezycollectionz.support.CacheNames;
 import de.wagner1975.eezycollectionz.support.GenerateIdException;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.RowCountEstimator;
+import de.wagner1975.eezycollectionz.support.SearchCursor;
+import de.wagner1975.eezycollectionz.support.SearchHit;
+import de.wagner1975.eezycollectionz.support.SearchMode;
 import de.wagner1975.eezycollectionz.support.TimeFactory;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 
 @ExtendWith(SpringExtension.class)
 class CollectionServiceTest {
@@ -37,6 +61,9 @@ class CollectionServiceTest {
   @Mock
   private CollectionRepository repositoryMock;
   
+  @Mock
+  private CollectionSearchRepository searchRepositoryMock;
+
   @Mock
   private CollectionIdProvider idProviderMock;
 
@@ -46,6 +73,15 @@ class CollectionServiceTest {
   @Mock
   private TimeFactory timeFactoryMock;
 
+  @Mock
+  private Validator validatorMock;
+
+  @Mock
+  private RowCountEstimator rowCountEstimatorMock;
+
+  @Spy
+  private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.COLLECTIONS, CacheNames.ENTRIES, CacheNames.ENTRY_COUNTS, CacheNames.ENTRY_NAME_INDEXES);
+
   @InjectMocks
   private CollectionService objectUnderTest;
 
@@ -86,12 +122,14 @@ class CollectionServiceTest {
     var id = DEFAULT_ID;
 
     when(repositoryMock.findById(eq(id))).thenReturn(Optional.of(Collection.builder().id(id).build()));
+    when(repositoryMock.findEntryCountById(id)).thenReturn(Optional.of(5L));
 
     var result = objectUnderTest.findById(id);
 
     assertNotNull(result);
     assertTrue(result.isPresent());
     assertEquals(id, result.get().getId());   
+    assertEquals(5L, result.get().getEntryCount());
   }
 
   @Test
@@ -104,6 +142,49 @@ class CollectionServiceTest {
     assertTrue(result.isEmpty());  
   }
 
+  @Test
+  void findById_FoundTwice_RepositoryQueriedOnce() {
+    var id = DEFAULT_ID;
+
+    when(repositoryMock.findById(eq(id))).thenReturn(Optional.of(Collection.builder().id(id).build()));
+    when(repositoryMock.findEntryCountById(id)).thenReturn(Optional.of(0L));
+
+    var firstResult = objectUnderTest.findById(id);
+    var secondResult = objectUnderTest.findById(id);
+
+    assertTrue(secondResult.isPresent());
+    assertSame(firstResult.get(), secondResult.get());
+    verify(repositoryMock, times(1)).findById(id);
+    verify(repositoryMock, times(1)).findEntryCountById(id);
+  }
+
+  @Test
+  void findById_EntryCountEvicted_ReloadsOnlyEntryCount() {
+    var id = DEFAULT_ID;
+
+    when(repositoryMock.findById(eq(id))).thenReturn(Optional.of(Collection.builder().id(id).build()));
+    when(repositoryMock.findEntryCountById(id)).thenReturn(Optional.of(1L), Optional.of(2L));
+
+    var firstResult = objectUnderTest.findById(id);
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).evict(id);
+    var secondResult = objectUnderTest.findById(id);
+
+    assertEquals(1L, firstResult.get().getEntryCount());
+    assertEquals(2L, secondResult.get().getEntryCount());
+    verify(repositoryMock, times(1)).findById(id);
+    verify(repositoryMock, times(2)).findEntryCountById(id);
+  }
+
+  @Test
+  void findById_NotFoundTwice_RepositoryQueriedTwice() {
+    when(repositoryMock.findById(any())).thenReturn(Optional.empty());
+
+    objectUnderTest.findById(DEFAULT_ID);
+    objectUnderTest.findById(DEFAULT_ID);
+
+    verify(repositoryMock, times(2)).findById(DEFAULT_ID);
+  }
+
   @Test
   void findById_GivenIdIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -116,10 +197,9 @@ class CollectionServiceTest {
   void create_Saved_ReturnsCollection() {
     var name = "Shiny stuff";
 
-    when(idProviderMock.generateId()).thenReturn(DEFAULT_ID);
+    when(idProviderMock.saveWithGeneratedId(any()))
+      .thenAnswer(invocation -> invocation.<Function<UUID, Collection>>getArgument(0).apply(DEFAULT_ID));
     when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
-    when(repositoryMock.save(any(Collection.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
 
     var result = objectUnderTest.create(CollectionInput.builder().name(name).build());
 
@@ -136,7 +216,7 @@ class CollectionServiceTest {
 
   @Test
   void create_GenerateIdThrowsException_ReturnsEmpty() {
-    when(idProviderMock.generateId()).thenThrow(new GenerateIdException());
+    when(idProviderMock.saveWithGeneratedId(any())).thenThrow(new GenerateIdException());
 
     var result = objectUnderTest.create(CollectionInput.builder().name("abc").build());
 
@@ -146,8 +226,7 @@ class CollectionServiceTest {
 
   @Test
   void create_SaveReturnsNull_ReturnsEmpty() {
-    when(idProviderMock.generateId()).thenReturn(DEFAULT_ID);
-    when(repositoryMock.save(any(Collection.class))).thenReturn(null);
+    when(idProviderMock.saveWithGeneratedId(any())).thenReturn(null);
 
     var result = objectUnderTest.create(CollectionInput.builder().name("abc").build());
 
@@ -165,20 +244,19 @@ class CollectionServiceTest {
 
   @Test
   void update_Saved_ReturnsCollection() {
-    var originalCollection = Collection.builder()
+    var updatedCollection = Collection.builder()
       .id(DEFAULT_ID)
       .createdAt(INSTANT_PAST)
-      .lastModifiedAt(INSTANT_PAST)
-      .name("Shiny stuff")
+      .lastModifiedAt(INSTANT_NOW)
+      .name("New words")
       .build();
 
     var modifiedName = "New words";
 
-    when(repositoryMock.findById(eq(DEFAULT_ID))).thenReturn(Optional.of(originalCollection));
     when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
-    when(repositoryMock.save(any(Collection.class))).thenAnswer(invocation -> invocation.getArgument(0));    
+    when(repositoryMock.updateNameById(DEFAULT_ID, modifiedName, INSTANT_NOW)).thenReturn(Optional.of(updatedCollection));
 
-    var result = objectUnderTest.update(CollectionInput.builder().name(modifiedName).build(), DEFAULT_ID);
+    var result = objectUnderTest.update(CollectionInput.builder().name(modifiedName).build(), DEFAULT_ID, null);
 
     assertNotNull(result);
     assertTrue(result.isPresent());
@@ -193,52 +271,325 @@ class CollectionServiceTest {
 
   @Test
   void update_NotFound_ReturnsEmpty() {
-    when(repositoryMock.findById(any())).thenReturn(Optional.empty());
+    when(repositoryMock.updateNameById(any(), any(), any())).thenReturn(Optional.empty());
 
-    var result = objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID);
+    var result = objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID, null);
 
     assertNotNull(result);
     assertTrue(result.isEmpty());
   }
 
   @Test
-  void update_SaveReturnsNull_ReturnsEmpty() {
-    when(repositoryMock.findById(any())).thenReturn(Optional.of(Collection.builder().id(DEFAULT_ID).build()));    
-    when(repositoryMock.save(any(Collection.class))).thenReturn(null);
+  void update_Updated_NeitherReadsNorSavesEntity() {
+    when(repositoryMock.updateNameById(any(), any(), any())).thenReturn(Optional.of(Collection.builder().id(DEFAULT_ID).build()));
 
-    var result = objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID);
+    objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID, null);
 
-    assertNotNull(result);
-    assertTrue(result.isEmpty());
-  }  
+    verify(repositoryMock, never()).findById(any());
+    verify(repositoryMock, never()).save(any());
+  }
 
   @Test
   void update_GivenCollectionInputIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
-      objectUnderTest.update(null, DEFAULT_ID);
+      objectUnderTest.update(null, DEFAULT_ID, null);
     });
     assertEquals("collectionInput is null", exception.getMessage());     
   }
 
+  @Test
+  void update_Saved_EvictsCachedEntity() {
+    cacheManager.getCache(CacheNames.COLLECTIONS).put(DEFAULT_ID, Collection.builder().id(DEFAULT_ID).build());
+
+    when(repositoryMock.updateNameById(any(), any(), any())).thenReturn(Optional.of(Collection.builder().id(DEFAULT_ID).build()));
+
+    objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID, null);
+
+    assertNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_ID));
+  }
+
+  @Test
+  void update_ExpectedVersion_UpdatesOnlyInThatVersion() {
+    when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
+    when(repositoryMock.updateNameByIdAndVersion(DEFAULT_ID, 3L, "New words", INSTANT_NOW))
+      .thenReturn(Optional.of(Collection.builder().id(DEFAULT_ID).version(4L).build()));
+
+    var result = objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID, 3L);
+
+    assertTrue(result.isPresent());
+    assertEquals(4L, result.get().getVersion());
+    verify(repositoryMock, never()).updateNameById(any(), any(), any());
+  }
+
+  @Test
+  void update_OtherVersionExists_ThrowsException() {
+    when(repositoryMock.updateNameByIdAndVersion(any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+    when(repositoryMock.existsById(DEFAULT_ID)).thenReturn(true);
+
+    assertThrows(VersionMismatchException.class, () -> {
+      objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID, 3L);
+    });
+  }
+
+  @Test
+  void update_ExpectedVersionNotFound_ReturnsEmpty() {
+    when(repositoryMock.updateNameByIdAndVersion(any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+    when(repositoryMock.existsById(DEFAULT_ID)).thenReturn(false);
+
+    var result = objectUnderTest.update(CollectionInput.builder().name("New words").build(), DEFAULT_ID, 3L);
+
+    assertTrue(result.isEmpty());
+  }
+
   @Test
   void update_GivenIdIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
-      objectUnderTest.update(CollectionInput.builder().name("New words").build(), null);
+      objectUnderTest.update(CollectionInput.builder().name("New words").build(), null, null);
     });
     assertEquals("id is null", exception.getMessage());     
   }
 
   @Test
-  void delete_GivenIdIsUUID_MethodInvoked() {
-    objectUnderTest.delete(DEFAULT_ID);
-    verify(repositoryMock).deleteById(DEFAULT_ID);
+  void delete_Deleted_ReturnsTrue() {
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ID)).thenReturn(1);
+
+    assertTrue(objectUnderTest.delete(DEFAULT_ID, null));
+    verify(repositoryMock, never()).deleteById(any());
+  }
+
+  @Test
+  void delete_NotFound_ReturnsFalse() {
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ID)).thenReturn(0);
+
+    assertFalse(objectUnderTest.delete(DEFAULT_ID, null));
+  }
+
+  @Test
+  void delete_Deleted_EvictsCachedEntity() {
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ID)).thenReturn(1);
+    cacheManager.getCache(CacheNames.COLLECTIONS).put(DEFAULT_ID, Collection.builder().id(DEFAULT_ID).build());
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).put(DEFAULT_ID, 3L);
+
+    objectUnderTest.delete(DEFAULT_ID, null);
+
+    assertNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_ID));
+    assertNull(cacheManager.getCache(CacheNames.ENTRY_COUNTS).get(DEFAULT_ID));
+  }
+
+  @Test
+  void delete_Deleted_EvictsOnlyCachedMembersOfCollection() {
+    var memberId = UUID.fromString("00000003-3333-0000-0000-000000000003");
+    var otherMemberId = UUID.fromString("00000004-4444-0000-0000-000000000004");
+    var otherCollectionId = UUID.fromString("00000005-5555-0000-0000-000000000005");
+    CollectionMember member = () -> Collection.builder().id(DEFAULT_ID).build();
+    CollectionMember otherMember = () -> Collection.builder().id(otherCollectionId).build();
+
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ID)).thenReturn(1);
+    cacheManager.getCache(CacheNames.ENTRIES).put(memberId, member);
+    cacheManager.getCache(CacheNames.ENTRIES).put(otherMemberId, otherMember);
+
+    objectUnderTest.delete(DEFAULT_ID, null);
+
+    assertNull(cacheManager.getCache(CacheNames.ENTRIES).get(memberId));
+    assertSame(otherMember, cacheManager.getCache(CacheNames.ENTRIES).get(otherMemberId).get());
+  }
+
+  @Test
+  void delete_ExpectedVersion_DeletesOnlyInThatVersion() {
+    when(repositoryMock.deleteDirectlyByIdAndVersion(DEFAULT_ID, 3L)).thenReturn(1);
+
+    assertTrue(objectUnderTest.delete(DEFAULT_ID, 3L));
+    verify(repositoryMock, never()).deleteDirectlyById(any());
+  }
+
+  @Test
+  void delete_OtherVersionExists_ThrowsException() {
+    when(repositoryMock.deleteDirectlyByIdAndVersion(DEFAULT_ID, 3L)).thenReturn(0);
+    when(repositoryMock.existsById(DEFAULT_ID)).thenReturn(true);
+
+    assertThrows(VersionMismatchException.class, () -> {
+      objectUnderTest.delete(DEFAULT_ID, 3L);
+    });
   }
 
   @Test
   void delete_GivenIdIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
-      objectUnderTest.delete(null);
+      objectUnderTest.delete(null, null);
     });
     assertEquals("id is null", exception.getMessage());     
   }
+
+  @Test
+  void createAll_OneInputInvalid_ReturnsResultPerInput() {
+    var validator = Validation.buildDefaultValidatorFactory().getValidator();
+    when(validatorMock.validate(any(CollectionInput.class))).thenAnswer(invocation -> validator.validate(invocation.getArgument(0)));
+    when(idProviderMock.saveAllWithGeneratedIds(any()))
+      .thenAnswer(invocation -> invocation.<List<Function<UUID, Collection>>>getArgument(0).stream()
+        .map(collectionFactory -> collectionFactory.apply(DEFAULT_ID))
+        .toList());
+    when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
+
+    var result = objectUnderTest.createAll(List.of(
+      CollectionInput.builder().name("").build(),
+      CollectionInput.builder().name("Shiny stuff").build()));
+
+    assertNotNull(result);
+    assertEquals(1, result.getCreated());
+    assertEquals(1, result.getFailed());
+
+    var items = result.getItems();
+    assertFalse(items.get(0).isCreated());
+    assertEquals(List.of("name must not be blank"), items.get(0).getErrors());
+    assertTrue(items.get(1).isCreated());
+    assertEquals(1, items.get(1).getIndex());
+    assertEquals(DEFAULT_ID, items.get(1).getEntity().getId());
+    assertEquals("Shiny stuff", items.get(1).getEntity().getName());
+    assertEquals(INSTANT_NOW, items.get(1).getEntity().getCreatedAt());
+  }
+
+  @Test
+  void createAll_GenerateIdThrowsException_ReturnsAllFailed() {
+    when(validatorMock.validate(any(CollectionInput.class))).thenReturn(Set.of());
+    when(idProviderMock.saveAllWithGeneratedIds(any())).thenThrow(new GenerateIdException());
+
+    var result = objectUnderTest.createAll(List.of(CollectionInput.builder().name("xyz").build()));
+
+    assertEquals(0, result.getCreated());
+    assertEquals(List.of("Auto-generation of unique collection id failed"), result.getItems().get(0).getErrors());
+  }
+
+  @Test
+  void createAll_GivenCollectionInputsIsNull_ThrowsException() {
+    var exception = assertThrows(IllegalArgumentException.class, () -> {
+      objectUnderTest.createAll(null);
+    });
+    assertEquals("collectionInputs is null", exception.getMessage());
+  }
+
+  @Test
+  void deleteAll_Success_ReturnsNumberOfDeleted() {
+    var ids = Set.of(DEFAULT_ID, UUID.fromString("00000002-2222-0000-0000-000000000002"));
+
+    when(repositoryMock.deleteByIdIn(ids)).thenReturn(1);
+
+    var result = objectUnderTest.deleteAll(ids);
+
+    assertEquals(1, result);
+  }
+
+  @Test
+  void deleteAll_Success_EvictsCachedCollectionsAndTheirEntries() {
+    var entryId = UUID.fromString("00000003-3333-0000-0000-000000000003");
+    var otherEntryId = UUID.fromString("00000004-4444-0000-0000-000000000004");
+    CollectionMember otherEntry = () -> Collection.builder().id(UUID.fromString("00000005-5555-0000-0000-000000000005")).build();
+    cacheManager.getCache(CacheNames.COLLECTIONS).put(DEFAULT_ID, Collection.builder().id(DEFAULT_ID).build());
+    cacheManager.getCache(CacheNames.ENTRIES).put(entryId, (CollectionMember) () -> Collection.builder().id(DEFAULT_ID).build());
+    cacheManager.getCache(CacheNames.ENTRIES).put(otherEntryId, otherEntry);
+    cacheManager.getCache(CacheNames.ENTRY_NAME_INDEXES).put(DEFAULT_ID, new Object());
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).put(DEFAULT_ID, 3L);
+
+    objectUnderTest.deleteAll(Set.of(DEFAULT_ID));
+
+    assertNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_ID));
+    assertNull(cacheManager.getCache(CacheNames.ENTRY_COUNTS).get(DEFAULT_ID));
+    assertNull(cacheManager.getCache(CacheNames.ENTRIES).get(entryId));
+    assertSame(otherEntry, cacheManager.getCache(CacheNames.ENTRIES).get(otherEntryId).get());
+    assertNull(cacheManager.getCache(CacheNames.ENTRY_NAME_INDEXES).get(DEFAULT_ID));
+  }
+
+  @Test
+  void deleteAll_InTransaction_EvictsAfterCommit() {
+    cacheManager.getCache(CacheNames.COLLECTIONS).put(DEFAULT_ID, Collection.builder().id(DEFAULT_ID).build());
+    when(repositoryMock.deleteByIdIn(Set.of(DEFAULT_ID))).thenReturn(1);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      objectUnderTest.deleteAll(Set.of(DEFAULT_ID));
+      assertNotNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_ID));
+
+      TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+      assertNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_ID));
+    }
+    finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void deleteAll_NoIds_DoesNotDelete() {
+    var result = objectUnderTest.deleteAll(Set.of());
+
+    assertEquals(0, result);
+    verify(repositoryMock, never()).deleteByIdIn(any());
+  }
+
+  @Test
+  void scroll_NoCursor_FindsFirstCollections() {
+    var collections = List.of(Collection.builder().id(DEFAULT_ID).createdAt(INSTANT_PAST).build());
+
+    when(repositoryMock.findFirst(PageRequest.ofSize(11))).thenReturn(collections);
+
+    var result = objectUnderTest.scroll(null, 10);
+
+    assertEquals(collections, result.getContent());
+    assertFalse(result.isHasNext());
+  }
+
+  @Test
+  void scroll_WithCursor_FindsCollectionsAfterCursor() {
+    var collections = List.of(
+      Collection.builder().id(UUID.fromString("00000001-1111-0000-0000-000000000001")).createdAt(INSTANT_NOW).build(),
+      Collection.builder().id(UUID.fromString("00000002-2222-0000-0000-000000000002")).createdAt(INSTANT_NOW).build());
+
+    when(repositoryMock.findAfter(INSTANT_PAST, DEFAULT_ID, PageRequest.ofSize(2))).thenReturn(collections);
+
+    var result = objectUnderTest.scroll(new KeysetCursor(INSTANT_PAST, DEFAULT_ID), 1);
+
+    assertEquals(collections.subList(0, 1), result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals(new KeysetCursor(INSTANT_NOW, collections.get(0).getId()), KeysetCursor.decode(result.getNextCursor()));
+  }
+
+  @Test
+  void search_NotMoreHitsThanSize_ReturnsCollectionsWithoutCursor() {
+    var search = new NameSearch(SearchMode.FUZZY, "colection", null, 10);
+    var collection = Collection.builder().id(DEFAULT_ID).name("Collection").build();
+
+    when(searchRepositoryMock.search(search))
+      .thenReturn(List.of(new SearchHit<>(collection, new SearchCursor(SearchMode.FUZZY, "0.4", DEFAULT_ID))));
+
+    var result = objectUnderTest.search(search);
+
+    assertEquals(List.of(collection), result.getContent());
+    assertFalse(result.isHasNext());
+    assertNull(result.getNextCursor());
+  }
+
+  @Test
+  void findSlice_WithApproximateTotal_ReturnsSliceWithTotal() {
+    var pageable = PageRequest.of(0, 1);
+    var collections = List.of(Collection.builder().id(DEFAULT_ID).build());
+
+    when(repositoryMock.findSliceBy(pageable)).thenReturn(new SliceImpl<>(collections, pageable, true));
+    when(rowCountEstimatorMock.estimateTableRows("collection")).thenReturn(Optional.of(5000L));
+
+    var result = objectUnderTest.findSlice(pageable, true);
+
+    assertEquals(collections, result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals(5000L, result.getApproximateTotal());
+  }
+
+  @Test
+  void findSlice_WithoutApproximateTotal_DoesNotEstimate() {
+    var pageable = PageRequest.of(0, 1);
+
+    when(repositoryMock.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+    var result = objectUnderTest.findSlice(pageable, false);
+
+    assertNull(result.getApproximateTotal());
+    verify(rowCountEstimatorMock, never()).estimateTableRows(any());
+  }
 }
@@ -1,25 +1,34 @@
 package de.wagner1975.eezycollectionz.entry;
 
-import static de.wagner1975.eezycollectionz.TestConstants.UUID_V4_REGEX;
+import static de.wagner1975.eezycollectionz.TestConstants.UUID_V7_REGEX;
 import static de.wagner1975.eezycollectionz.TestConstants.ISO_8601_DATE_REGEX;
 import static de.wagner1975.eezycollectionz.TestConstants.POSTGRESQL_DOCKER_IMAGE_NAME;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -30,6 +39,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import de.wagner1975.eezycollectionz.collection.CollectionInput;
+import de.wagner1975.eezycollectionz.support.ImportReader;
+import de.wagner1975.eezycollectionz.support.StatementCountFilter;
 import de.wagner1975.eezycollectionz.support.TimeFactory;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
@@ -59,12 +70,20 @@ class EntryControllerIT {
   @Autowired
   private EntryRepository repository;
 
+  @Autowired
+  private EntrySearchRepository searchRepository;
+
   @Autowired
   private TimeFactory timeFactory;
+
+  @Autowired
+  private CacheManager cacheManager;
   
   @BeforeEach
   void setUp() {
     RestAssured.baseURI = "http://localhost:" + port;
+    // the test data is reset by SQL scripts, past the caches of the application
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
   }
 
   @Test
@@ -79,6 +98,7 @@ class EntryControllerIT {
       get(REQUEST_PATH).
     then().
       statusCode(200).
+      header(StatementCountFilter.HEADER, "2").
       body(
         "content", hasSize(3),
         "content[0].id", equalTo("20000000-b400-4000-8000-20000000b400"),
@@ -89,6 +109,414 @@ class EntryControllerIT {
         "content[2].name", equalTo("Entry X (B)"));
   }
   
+  @Test
+  void getSlice_Success_Ok() {
+    given().
+      contentType(ContentType.JSON).
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("page", 1).
+      param("size", 3).
+      param("sort", "name,asc").
+      param("approximateTotal", true).
+    when().
+      get(REQUEST_PATH + "/slice").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(3),
+        "content[0].id", equalTo("20000000-b400-4000-8000-20000000b400"),
+        "content[2].id", equalTo("20000000-b200-4000-8000-20000000b200"),
+        "hasNext", equalTo(true),
+        "approximateTotal", greaterThanOrEqualTo(7));
+  }
+
+  @Test
+  void getScroll_Success_Ok() {
+    var response =
+    given().
+      contentType(ContentType.JSON).
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("size", 5).
+    when().
+      get(REQUEST_PATH + "/scroll").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(5),
+        "content[0].id", equalTo("20000000-b000-4000-8000-20000000b000"),
+        "content[4].id", equalTo("20000000-b400-4000-8000-20000000b400"),
+        "hasNext", equalTo(true)).
+    extract().response();
+
+    given().
+      contentType(ContentType.JSON).
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("size", 5).
+      param("cursor", response.<String>path("nextCursor")).
+    when().
+      get(REQUEST_PATH + "/scroll").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(3),
+        "content[0].id", equalTo("20000000-b500-4000-8000-20000000b500"),
+        "content[2].id", equalTo("20000000-b700-4000-8000-20000000b700"),
+        "hasNext", equalTo(false),
+        "nextCursor", nullValue());
+  }
+
+  @Test
+  void getSearch_PrefixInCollection_AlphabeticalWithCursor() {
+    var response =
+    given().
+      param("q", "ENTRY").
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("size", 5).
+    when().
+      get(REQUEST_PATH + "/search").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(5),
+        "content[0].name", equalTo("Entry S (B)"),
+        "content[4].name", equalTo("Entry W (B)"),
+        "hasNext", equalTo(true)).
+    extract().response();
+
+    given().
+      param("q", "ENTRY").
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("size", 5).
+      param("cursor", response.<String>path("nextCursor")).
+    when().
+      get(REQUEST_PATH + "/search").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(3),
+        "content[0].id", equalTo("20000000-b200-4000-8000-20000000b200"),
+        "content[2].id", equalTo("20000000-b000-4000-8000-20000000b000"),
+        "hasNext", equalTo(false),
+        "nextCursor", nullValue());
+  }
+
+  @Test
+  void getSearch_FuzzyInAllCollections_MostSimilarFirst() {
+    given().
+      param("q", "Entyr Q").
+      param("mode", "FUZZY").
+    when().
+      get(REQUEST_PATH + "/search").
+    then().
+      statusCode(200).
+      body(
+        "content[0].id", equalTo("20000000-b900-4000-8000-20000000b900"),
+        "content[0].name", equalTo("Entry Q (A)"));
+  }
+
+  @Test
+  void getSearch_FuzzyWithEqualNames_EachReturnedOnce() {
+    var createdIds = new HashSet<String>();
+    for (var i = 0; i < 3; i++) {
+      createdIds.add(
+      given().
+        contentType(ContentType.JSON).
+        pathParam("collectionId", "10000000-a000-4000-8000-10000000a000").
+        body(EntryInput.builder().name("Twin entry").build()).
+      when().
+        post(REQUEST_PATH + "/collection/{collectionId}").
+      then().
+        statusCode(201).
+      extract().path("id"));
+    }
+
+    var foundIds = new ArrayList<String>();
+    String cursor = null;
+    do {
+      var request = given().
+        param("q", "Twin entry").
+        param("mode", "FUZZY").
+        param("collectionId", "10000000-a000-4000-8000-10000000a000").
+        param("size", 1);
+      if (Objects.nonNull(cursor)) {
+        request.param("cursor", cursor);
+      }
+      var response = request.
+      when().
+        get(REQUEST_PATH + "/search").
+      then().
+        statusCode(200).
+      extract().response();
+      foundIds.addAll(response.path("content.id"));
+      cursor = response.path("nextCursor");
+    } while (Objects.nonNull(cursor));
+
+    assertEquals(createdIds, new HashSet<>(foundIds.subList(0, 3)));
+    assertEquals(foundIds.size(), new HashSet<>(foundIds).size());
+  }
+
+  @Test
+  void getSearch_PrefixWithWildcard_NoMatch() {
+    given().
+      param("q", "Entry %").
+    when().
+      get(REQUEST_PATH + "/search").
+    then().
+      statusCode(200).
+      body(
+        "content", hasSize(0),
+        "hasNext", equalTo(false));
+  }
+
+  @Test
+  void getSuggest_AfterCreate_SuggestsFromMemory() {
+    given().
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("prefix", "entry").
+      param("size", 2).
+    when().
+      get(REQUEST_PATH + "/suggest").
+    then().
+      statusCode(200).
+      body(
+        "", hasSize(2),
+        "[0].name", equalTo("Entry S (B)"),
+        "[1].name", equalTo("Entry T (B)"));
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("collectionId", "10000000-a000-4000-8000-10000000a000").
+      body(EntryInput.builder().name("Entry A (B)").build()).
+    when().
+      post(REQUEST_PATH + "/collection/{collectionId}").
+    then().
+      statusCode(201);
+
+    given().
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("prefix", "ENTRY A").
+    when().
+      get(REQUEST_PATH + "/suggest").
+    then().
+      statusCode(200).
+      header(StatementCountFilter.HEADER, "0").
+      body(
+        "", hasSize(1),
+        "[0].name", equalTo("Entry A (B)"));
+  }
+
+  @Test
+  void getSuggest_CollectionTooLargeToIndex_DatabaseSuggestsAlike() {
+    var collectionId = UUID.fromString("10000000-a000-4000-8000-10000000a000");
+    List<String> ids =
+    given().
+      param("collectionId", collectionId).
+      param("prefix", "entry").
+    when().
+      get(REQUEST_PATH + "/suggest").
+    then().
+      statusCode(200).
+    extract().
+      path("id");
+
+    var suggestions = searchRepository.suggest(collectionId, "ENTRY", 10);
+
+    assertEquals(ids, suggestions.stream().map(suggestion -> suggestion.id().toString()).toList());
+    assertEquals(List.of(), searchRepository.suggest(collectionId, "entry _", 10));
+  }
+
+  @Test
+  void getSuggest_AfterUpdateAndDelete_SuggestsFromMemory() {
+    given().
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("prefix", "entry").
+    when().
+      get(REQUEST_PATH + "/suggest").
+    then().
+      statusCode(200).
+      body("", hasSize(8));
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", "20000000-b000-4000-8000-20000000b000").
+      body(EntryInput.builder().name("Renamed entry").build()).
+    when().
+      put(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200);
+
+    given().
+      pathParam("id", "20000000-b100-4000-8000-20000000b100").
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(204);
+
+    given().
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("prefix", "entry").
+    when().
+      get(REQUEST_PATH + "/suggest").
+    then().
+      statusCode(200).
+      header(StatementCountFilter.HEADER, "0").
+      body("", hasSize(6));
+
+    given().
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+      param("prefix", "renamed").
+    when().
+      get(REQUEST_PATH + "/suggest").
+    then().
+      statusCode(200).
+      header(StatementCountFilter.HEADER, "0").
+      body(
+        "", hasSize(1),
+        "[0].id", equalTo("20000000-b000-4000-8000-20000000b000"));
+  }
+
+  @Test
+  void getExport_Success_AllEntriesAsLines() {
+    var lines =
+    given().
+      param("collectionId", "10000000-a000-4000-8000-10000000a000").
+    when().
+      get(REQUEST_PATH + "/export").
+    then().
+      statusCode(200).
+      contentType("application/x-ndjson").
+    extract().asString().lines().toList();
+
+    assertEquals(8, lines.size());
+    assertTrue(lines.get(0).contains("\"id\":\"20000000-b000-4000-8000-20000000b000\""));
+    assertTrue(lines.get(7).contains("\"id\":\"20000000-b700-4000-8000-20000000b700\""));
+  }
+
+  @Test
+  void getExport_UnknownCollection_Empty() {
+    given().
+      param("collectionId", "ffffffff-ffff-4fff-8fff-ffffffffffff").
+    when().
+      get(REQUEST_PATH + "/export").
+    then().
+      statusCode(200).
+      body(equalTo(""));
+  }
+
+  @Test
+  void postImport_Ndjson_EntriesImportedInBatches() {
+    var lines = new StringBuilder();
+    for (var i = 1; i <= 2500; i++) {
+      lines.append("{\"name\":\"Imported entry ").append(i).append("\"}\n");
+    }
+    lines.append("{\"name\":\"\"}\n");
+
+    var countBefore = repository.count();
+
+    given().
+      contentType("application/x-ndjson").
+      pathParam("collectionId", "10000000-a000-4000-8000-10000000a000").
+      body(lines.toString().getBytes(StandardCharsets.UTF_8)).
+    when().
+      post(REQUEST_PATH + "/collection/{collectionId}/import").
+    then().
+      statusCode(200).
+      body(
+        "imported", equalTo(2500),
+        "failed", equalTo(1),
+        "batches", equalTo(3),
+        "failedLines", hasSize(1),
+        "failedLines[0].line", equalTo(2501),
+        "failedLines[0].errors[0]", equalTo("name must not be blank"));
+
+    assertEquals(countBefore + 2500, repository.count());
+  }
+
+  @Test
+  void postImport_Csv_QuotedNamesImported() {
+    var newName = "Imported, \"quoted\" entry";
+
+    given().
+      contentType("text/csv").
+      pathParam("collectionId", "10000000-a000-4000-8000-10000000a000").
+      body("name\n\"Imported, \"\"quoted\"\" entry\"\n").
+    when().
+      post(REQUEST_PATH + "/collection/{collectionId}/import").
+    then().
+      statusCode(200).
+      body(
+        "imported", equalTo(1),
+        "failed", equalTo(0));
+
+    var imported = repository.findAll().stream().filter(entry -> newName.equals(entry.getName())).toList();
+    assertEquals(1, imported.size());
+    assertEquals(0L, imported.get(0).getVersion());
+  }
+
+  @Test
+  void postImport_CsvLineBreakInQuotesAndTooLongLine_LongLineFailed() {
+    var newName = "Imported entry\nwith two lines";
+
+    given().
+      contentType("text/csv").
+      pathParam("collectionId", "10000000-a000-4000-8000-10000000a000").
+      body("name\n" + "x".repeat(ImportReader.MAX_LINE_LENGTH + 1) + "\n\"Imported entry\nwith two lines\"\n").
+    when().
+      post(REQUEST_PATH + "/collection/{collectionId}/import").
+    then().
+      statusCode(200).
+      body(
+        "imported", equalTo(1),
+        "failed", equalTo(1),
+        "failedLines[0].line", equalTo(2),
+        "failedLines[0].errors[0]", equalTo("Line is longer than " + ImportReader.MAX_LINE_LENGTH + " characters"));
+
+    assertEquals(1, repository.findAll().stream().filter(entry -> newName.equals(entry.getName())).count());
+  }
+
+  @Test
+  void postImport_NameTooLongAndBatchRejected_LinesFailed() {
+    var countBefore = repository.count();
+
+    // PostgreSQL rejects the NUL character in text, which fails the whole batch
+    given().
+      contentType("application/x-ndjson").
+      pathParam("collectionId", "10000000-a000-4000-8000-10000000a000").
+      body(("{\"name\":\"" + "x".repeat(256) + "\"}\n"
+        + "{\"name\":\"Imported \\u0000 entry\"}\n"
+        + "{\"name\":\"Imported entry\"}\n").getBytes(StandardCharsets.UTF_8)).
+    when().
+      post(REQUEST_PATH + "/collection/{collectionId}/import").
+    then().
+      statusCode(200).
+      body(
+        "imported", equalTo(0),
+        "failed", equalTo(3),
+        "failedLines[0].line", equalTo(1),
+        "failedLines[0].errors[0]", equalTo("name size must be between 0 and 255"),
+        "failedLines[1].line", equalTo(2),
+        "failedLines[1].errors[0]", equalTo("Batch of this line could not be saved"),
+        "failedLines[2].line", equalTo(3));
+
+    assertEquals(countBefore, repository.count());
+  }
+
+  @Test
+  void postImport_MissingCollection_NotFound() {
+    var countBefore = repository.count();
+
+    given().
+      contentType("application/x-ndjson").
+      pathParam("collectionId", "ffffffff-ffff-4fff-8fff-ffffffffffff").
+      body("{\"name\":\"Imported entry\"}\n".getBytes(StandardCharsets.UTF_8)).
+    when().
+      post(REQUEST_PATH + "/collection/{collectionId}/import").
+    then().
+      statusCode(404);
+
+    assertEquals(countBefore, repository.count());
+  }
+
   @Test
   void getById_Success_Ok() {
     given().
@@ -98,6 +526,7 @@ class EntryControllerIT {
       get(REQUEST_PATH + "/{id}").
     then().
       statusCode(200).
+      header(StatementCountFilter.HEADER, "1").
       body(
         "id", equalTo("20000000-ba00-4000-8000-20000000ba00"),
         "name", equalTo("Entry P (A)"));
@@ -120,8 +549,9 @@ class EntryControllerIT {
       post(REQUEST_PATH + "/collection/{collectionId}").
     then().
       statusCode(201).
+      header(StatementCountFilter.HEADER, "1").
       body(
-        "id", matchesPattern(UUID_V4_REGEX),
+        "id", matchesPattern(UUID_V7_REGEX),
         "createdAt", matchesPattern(ISO_8601_DATE_REGEX),
         "lastModifiedAt", matchesPattern(ISO_8601_DATE_REGEX),
         "name", equalTo(newName)).
@@ -156,6 +586,34 @@ class EntryControllerIT {
         "name", equalTo(newName));
   }  
 
+  @Test
+  void postBulk_Success_Ok() {
+    var countBefore = repository.count();
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("collectionId", "10000000-a000-4000-8000-10000000a000").
+      body(EntryBulkInput.builder().entries(List.of(
+        EntryInput.builder().name("Bulk entry 1").build(),
+        EntryInput.builder().name(" ").build(),
+        EntryInput.builder().name("Bulk entry 2").build())).build()).
+    when().
+      post(REQUEST_PATH + "/collection/{collectionId}/bulk").
+    then().
+      statusCode(200).
+      header(StatementCountFilter.HEADER, "1").
+      body(
+        "created", equalTo(2),
+        "failed", equalTo(1),
+        "items", hasSize(3),
+        "items[0].entity.id", matchesPattern(UUID_V7_REGEX),
+        "items[0].entity.name", equalTo("Bulk entry 1"),
+        "items[1].created", equalTo(false),
+        "items[2].entity.name", equalTo("Bulk entry 2"));
+
+    assertEquals(countBefore + 2, repository.count());
+  }
+
   @Test
   void put_Success_Ok() {
     var newName = "Another freaky entry name";
@@ -222,6 +680,112 @@ class EntryControllerIT {
         "name", equalTo(newName));
   }
 
+  @Test
+  void put_NotFound_NotFound() {
+    var countBefore = repository.count();
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", "ffffffff-ffff-4fff-8fff-ffffffffffff").
+      body(EntryInput.builder().name("Another freaky entry name").build()).
+    when().
+      put(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(404);
+
+    assertEquals(countBefore, repository.count());
+  }
+  @Test
+  void getById_MatchingIfNoneMatch_NotModified() {
+    var existingIdAsString = "20000000-b300-4000-8000-20000000b300";
+
+    String eTag =
+    given().
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      header("ETag", equalTo("\"0\"")).
+    extract().header("ETag");
+
+    given().
+      header("If-None-Match", eTag).
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(304);
+  }
+
+  @Test
+  void put_StaleIfMatch_PreconditionFailed() {
+    var existingIdAsString = "20000000-b300-4000-8000-20000000b300";
+
+    String eTag =
+    given().
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+    extract().header("ETag");
+
+    given().
+      contentType(ContentType.JSON).
+      header("If-Match", eTag).
+      pathParam("id", existingIdAsString).
+      body(EntryInput.builder().name("First change").build()).
+    when().
+      put(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      header("ETag", not(equalTo(eTag)));
+
+    given().
+      contentType(ContentType.JSON).
+      header("If-Match", eTag).
+      pathParam("id", existingIdAsString).
+      body(EntryInput.builder().name("Lost change").build()).
+    when().
+      put(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(412);
+
+    given().
+      pathParam("id", existingIdAsString).
+    when().
+      get(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(200).
+      body("name", equalTo("First change"));
+  }
+
+  @Test
+  void delete_StaleIfMatch_PreconditionFailed() {
+    var existingIdAsString = "20000000-b600-4000-8000-20000000b600";
+    var countBefore = repository.count();
+
+    given().
+      header("If-Match", "\"1\"").
+      pathParam("id", existingIdAsString).
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(412);
+
+    assertEquals(countBefore, repository.count());
+
+    given().
+      header("If-Match", "\"0\"").
+      pathParam("id", existingIdAsString).
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(204);
+  }
+
+
   @Test
   void delete_Success_NoContent()  {
     var existingIdAsString = "20000000-b600-4000-8000-20000000b600";
@@ -256,4 +820,19 @@ class EntryControllerIT {
     then().
       statusCode(404);
   }
+  @Test
+  void delete_NotFound_NotFound() {
+    var countBefore = repository.count();
+
+    given().
+      contentType(ContentType.JSON).
+      pathParam("id", "ffffffff-ffff-4fff-8fff-ffffffffffff").
+    when().
+      delete(REQUEST_PATH + "/{id}").
+    then().
+      statusCode(404);
+
+    assertEquals(countBefore, repository.count());
+  }
+
 }
@@ -1,9 +1,11 @@
 package de.wagner1975.eezycollectionz.entry;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -12,13 +14,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import com.fasterxml.jackson.databind.ObjectMapper;
-
+import jakarta.validation.Validation;
+
+import de.wagner1975.eezycollectionz.support.BulkCreateResult;
+import de.wagner1975.eezycollectionz.support.CursorPage;
+import de.wagner1975.eezycollectionz.support.ImportReader;
+import de.wagner1975.eezycollectionz.support.ImportResult;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+import de.wagner1975.eezycollectionz.support.MissingReferenceException;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.SearchCursor;
+import de.wagner1975.eezycollectionz.support.SearchMode;
+import de.wagner1975.eezycollectionz.support.SliceResult;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -59,8 +79,11 @@ class EntryControllerTest {
   @MockBean
   private EntryService serviceMock;
 
+  @MockBean
+  private EntryImportService importServiceMock;
+
   @Mock
-  private PageImpl<Entry> pageMock;
+  private PageImpl<EntryView> pageMock;
 
   @Captor
   private ArgumentCaptor<Pageable> pageableCaptor;  
@@ -72,8 +95,8 @@ class EntryControllerTest {
 
     when(pageMock.getContent())
       .thenReturn(List.of(
-        Entry.builder().id(UUID.fromString(id2)).build(),
-        Entry.builder().id(UUID.fromString(id1)).build())); 
+        new EntryView(UUID.fromString(id2), null, null, null),
+        new EntryView(UUID.fromString(id1), null, null, null))); 
         
     when(serviceMock.findByCollectionId(eq(UUID.fromString(DEFAULT_COLLECTION_ID)), pageableCaptor.capture()))
       .thenReturn(pageMock);
@@ -130,6 +153,28 @@ class EntryControllerTest {
       .andExpect(MockMvcResultMatchers.status().isBadRequest());
   }
 
+  @Test
+  void getById_Success_ETagOfVersion() throws Exception {
+    when(serviceMock.findById(eq(UUID.fromString(DEFAULT_ENTRY_ID))))
+      .thenReturn(Optional.of(Entry.builder().id(UUID.fromString(DEFAULT_ENTRY_ID)).name(DEFAULT_NAME).version(3L).build()));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""));
+  }
+
+  @Test
+  void getById_MatchingIfNoneMatch_NotModified() throws Exception {
+    when(serviceMock.findById(eq(UUID.fromString(DEFAULT_ENTRY_ID))))
+      .thenReturn(Optional.of(Entry.builder().id(UUID.fromString(DEFAULT_ENTRY_ID)).name(DEFAULT_NAME).version(3L).build()));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+      .andExpect(MockMvcResultMatchers.status().isNotModified())
+      .andExpect(MockMvcResultMatchers.content().string(""));
+  }
+
   @Test
   void getById_NoEntryReturned_NotFound() throws Exception {
     when(serviceMock.findById(any())).thenReturn(Optional.empty());
@@ -173,6 +218,17 @@ class EntryControllerTest {
       .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
   }
 
+  @Test
+  void post_CollectionMissing_NotFound() throws Exception {
+    when(serviceMock.create(any(), any())).thenThrow(new MissingReferenceException());
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(EntryInput.builder().name(DEFAULT_NAME).build())))
+      .andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+
   @Test
   void post_InvalidPayload_BadRequest() throws Exception {
     mockMvc
@@ -191,11 +247,64 @@ class EntryControllerTest {
       .andExpect(MockMvcResultMatchers.status().isBadRequest());    
   }    
 
+  @Test
+  void postBulk_Success_Ok() throws Exception {
+    var bulkInput = EntryBulkInput.builder()
+      .entries(List.of(EntryInput.builder().name(DEFAULT_NAME).build(), EntryInput.builder().name(INVALID_NAME).build()))
+      .build();
+
+    when(serviceMock.createAll(any(), eq(UUID.fromString(DEFAULT_COLLECTION_ID))))
+      .thenReturn(BulkCreateResult.of(List.of(
+        BulkCreateResult.Item.created(0, Entry.builder()
+          .id(UUID.fromString(DEFAULT_ENTRY_ID))
+          .createdAt(Instant.parse(CREATED_AT))
+          .lastModifiedAt(Instant.parse(CREATED_AT))
+          .name(DEFAULT_NAME)
+          .build()),
+        BulkCreateResult.Item.failed(1, List.of("name must not be blank")))));
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/bulk")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(bulkInput)))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].index").value(0))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].created").value(true))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].entity.id").value(DEFAULT_ENTRY_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].index").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].created").value(false))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].errors[0]").value("name must not be blank"));
+  }
+
+  @Test
+  void postBulk_CollectionMissing_NotFound() throws Exception {
+    when(serviceMock.createAll(any(), any())).thenThrow(new MissingReferenceException());
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/bulk")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(EntryBulkInput.builder()
+          .entries(List.of(EntryInput.builder().name(DEFAULT_NAME).build()))
+          .build())))
+      .andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+
+  @Test
+  void postBulk_NoEntries_BadRequest() throws Exception {
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/bulk")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(EntryBulkInput.builder().entries(List.of()).build())))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
   @Test
   void put_Success_Ok() throws Exception {
     var entryInput = EntryInput.builder().name(MODIFIED_NAME).build();
 
-    when(serviceMock.update(any(), eq(UUID.fromString(DEFAULT_ENTRY_ID))))
+    when(serviceMock.update(any(), eq(UUID.fromString(DEFAULT_ENTRY_ID)), any()))
       .thenReturn(Optional.of(Entry.builder()
         .id(UUID.fromString(DEFAULT_ENTRY_ID))
         .createdAt(Instant.parse(CREATED_AT))
@@ -214,6 +323,42 @@ class EntryControllerTest {
       .andExpect(MockMvcResultMatchers.jsonPath("$.name").value(MODIFIED_NAME));   
   }
 
+  @Test
+  void put_IfMatch_UpdatesExpectedVersion() throws Exception {
+    when(serviceMock.update(any(), eq(UUID.fromString(DEFAULT_ENTRY_ID)), eq(3L)))
+      .thenReturn(Optional.of(Entry.builder().id(UUID.fromString(DEFAULT_ENTRY_ID)).name(MODIFIED_NAME).version(4L).build()));
+
+    mockMvc
+      .perform(put(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID)
+        .header(HttpHeaders.IF_MATCH, "\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(EntryInput.builder().name(MODIFIED_NAME).build())))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  @Test
+  void put_VersionMismatch_PreconditionFailed() throws Exception {
+    when(serviceMock.update(any(), any(), any())).thenThrow(new VersionMismatchException());
+
+    mockMvc
+      .perform(put(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID)
+        .header(HttpHeaders.IF_MATCH, "\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(EntryInput.builder().name(MODIFIED_NAME).build())))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+  }
+
+  @Test
+  void put_WeakIfMatch_PreconditionFailed() throws Exception {
+    mockMvc
+      .perform(put(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID)
+        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(EntryInput.builder().name(MODIFIED_NAME).build())))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+  }
+
   @Test
   void put_InvalidId_BadRequest() throws Exception {
     mockMvc
@@ -234,7 +379,7 @@ class EntryControllerTest {
 
   @Test
   void put_FailureOnUpdate_NotFound() throws Exception {
-    when(serviceMock.update(any(), any())).thenReturn(Optional.empty());
+    when(serviceMock.update(any(), any(), any())).thenReturn(Optional.empty());
 
     mockMvc
       .perform(put(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID)
@@ -245,15 +390,280 @@ class EntryControllerTest {
 
   @Test
   void delete_Success_NoContent() throws Exception {
+    when(serviceMock.delete(eq(UUID.fromString(DEFAULT_ENTRY_ID)), any())).thenReturn(true);
+
     mockMvc
       .perform(delete(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID))
       .andExpect(MockMvcResultMatchers.status().isNoContent());
   }
 
+  @Test
+  void delete_NotFound_NotFound() throws Exception {
+    when(serviceMock.delete(eq(UUID.fromString(DEFAULT_ENTRY_ID)), any())).thenReturn(false);
+
+    mockMvc
+      .perform(delete(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID))
+      .andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+
+  @Test
+  void delete_VersionMismatch_PreconditionFailed() throws Exception {
+    when(serviceMock.delete(eq(UUID.fromString(DEFAULT_ENTRY_ID)), eq(3L))).thenThrow(new VersionMismatchException());
+
+    mockMvc
+      .perform(delete(REQUEST_PATH + "/" + DEFAULT_ENTRY_ID).header(HttpHeaders.IF_MATCH, "\"3\""))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+  }
+
   @Test
   void delete_InvalidId_BadRequest() throws Exception {
     mockMvc
       .perform(delete(REQUEST_PATH + "/" + INVALID_ENTRY_ID))
       .andExpect(MockMvcResultMatchers.status().isBadRequest());    
   }
+
+  @Test
+  void getScroll_Success_Ok() throws Exception {
+    var cursor = new KeysetCursor(Instant.parse(CREATED_AT), UUID.fromString(DEFAULT_ENTRY_ID));
+
+    when(serviceMock.scrollByCollectionId(eq(UUID.fromString(DEFAULT_COLLECTION_ID)), eq(cursor), eq(2)))
+      .thenReturn(CursorPage.of(List.of(new EntryView(UUID.fromString(DEFAULT_ENTRY_ID), null, null, null)), 2, item -> cursor));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/scroll")
+        .param("collectionId", DEFAULT_COLLECTION_ID)
+        .param("cursor", cursor.encode())
+        .param("size", "2"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(DEFAULT_ENTRY_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  void getSearch_Success_Ok() throws Exception {
+    var cursor = new SearchCursor(SearchMode.FUZZY, "0.5", UUID.fromString(DEFAULT_ENTRY_ID));
+    var search = new NameSearch(SearchMode.FUZZY, "entyr", cursor, 2);
+
+    when(serviceMock.search(eq(search), eq(UUID.fromString(DEFAULT_COLLECTION_ID))))
+      .thenReturn(CursorPage.of(List.of(new EntryView(UUID.fromString(DEFAULT_ENTRY_ID), null, null, null)), 2, item -> null));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/search")
+        .param("q", "entyr")
+        .param("collectionId", DEFAULT_COLLECTION_ID)
+        .param("mode", "FUZZY")
+        .param("cursor", cursor.encode())
+        .param("size", "2"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(DEFAULT_ENTRY_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  void getExport_Success_OneEntryPerLine() throws Exception {
+    var id1 = "00000001-1111-0000-0000-000000000001";
+    var id2 = "00000002-2222-0000-0000-000000000002";
+
+    doAnswer(invocation -> {
+      Consumer<EntryView> consumer = invocation.getArgument(1);
+      consumer.accept(new EntryView(UUID.fromString(id1), Instant.parse(CREATED_AT), Instant.parse(CREATED_AT), "a"));
+      consumer.accept(new EntryView(UUID.fromString(id2), Instant.parse(CREATED_AT), Instant.parse(LAST_MODIFIED_AT), "b"));
+      return null;
+    }).when(serviceMock).exportByCollectionId(eq(UUID.fromString(DEFAULT_COLLECTION_ID)), any());
+
+    var asyncResult = mockMvc
+      .perform(get(REQUEST_PATH + "/export").param("collectionId", DEFAULT_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.request().asyncStarted())
+      .andReturn();
+
+    var lines = mockMvc
+      .perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+      .andReturn().getResponse().getContentAsString().split("\n");
+
+    assertEquals(2, lines.length);
+    assertEquals(id1, objectMapper.readTree(lines[0]).get("id").asText());
+    assertEquals("b", objectMapper.readTree(lines[1]).get("name").asText());
+  }
+
+  @Test
+  void getExport_InvalidCollectionId_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/export").param("collectionId", INVALID_COLLECTION_ID))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void postImport_Ndjson_ImportedAndFailedLines() throws Exception {
+    var importedNames = answerImportWithBatchesOf(10);
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .content("{\"name\":\"a\"}\n{\"name\":\"\"}\n\nno json\n{\"name\":\"b\"}\n"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.batches").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failedLines[0].line").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failedLines[0].errors[0]").value("name must not be blank"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failedLines[1].line").value(4));
+
+    assertEquals(List.of("a", "b"), importedNames);
+  }
+
+  @Test
+  void postImport_Csv_QuotedFieldsImported() throws Exception {
+    var importedNames = answerImportWithBatchesOf(1);
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/import")
+        .contentType("text/csv")
+        .content("name\n\"a, \"\"b\"\"\"\nc\n"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(0))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.batches").value(2));
+
+    assertEquals(List.of("a, \"b\"", "c"), importedNames);
+  }
+
+  @Test
+  void postImport_InvalidCsvHeader_BadRequest() throws Exception {
+    answerImportWithBatchesOf(1);
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/import")
+        .contentType("text/csv")
+        .content("\"name\nc\n"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.status().reason("CSV header cannot be read"));
+  }
+
+  @Test
+  void postImport_CsvHeaderWithoutName_BadRequest() throws Exception {
+    var importedNames = answerImportWithBatchesOf(1);
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/import")
+        .contentType("text/csv")
+        .content("title\nc\n"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.status().reason("CSV header lacks the columns name"));
+
+    assertTrue(importedNames.isEmpty());
+  }
+
+  @Test
+  void postImport_UnsupportedFormat_UnsupportedMediaType() throws Exception {
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/import")
+        .contentType(MediaType.TEXT_PLAIN)
+        .content("a"))
+      .andExpect(MockMvcResultMatchers.status().isUnsupportedMediaType());
+  }
+
+  @Test
+  void postImport_MissingCollection_NotFound() throws Exception {
+    when(importServiceMock.importAll(any(), eq(UUID.fromString(DEFAULT_COLLECTION_ID))))
+      .thenThrow(new MissingReferenceException());
+
+    mockMvc
+      .perform(post(REQUEST_WITH_COLLECTION_PATH + "/" + DEFAULT_COLLECTION_ID + "/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .content("{\"name\":\"a\"}\n"))
+      .andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+
+  private List<String> answerImportWithBatchesOf(int batchSize) {
+    var validator = Validation.buildDefaultValidatorFactory().getValidator();
+    var importedNames = new ArrayList<String>();
+
+    when(importServiceMock.importAll(any(), eq(UUID.fromString(DEFAULT_COLLECTION_ID)))).thenAnswer(invocation -> {
+      ImportReader<EntryInput> reader = invocation.getArgument(0);
+      return ImportResult.importAll(reader, validator, batchSize, entryInputs -> {
+        entryInputs.forEach(entryInput -> importedNames.add(entryInput.getName()));
+        return entryInputs.size();
+      }, "Auto-generation of unique entry id failed");
+    });
+
+    return importedNames;
+  }
+
+  @Test
+  void getScroll_InvalidCursor_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/scroll")
+        .param("collectionId", DEFAULT_COLLECTION_ID)
+        .param("cursor", "_invalid_"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getSearch_BlankQuery_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/search").param("q", " "))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getSearch_CursorOfOtherMode_BadRequest() throws Exception {
+    var cursor = new SearchCursor(SearchMode.PREFIX, "Entry", UUID.fromString(DEFAULT_ENTRY_ID));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/search")
+        .param("q", "entry")
+        .param("mode", "FUZZY")
+        .param("cursor", cursor.encode()))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getSuggest_Success_Ok() throws Exception {
+    when(serviceMock.suggest(UUID.fromString(DEFAULT_COLLECTION_ID), "sh", 10))
+      .thenReturn(List.of(new EntrySuggestion(UUID.fromString(DEFAULT_ENTRY_ID), "Shiny stuff")));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/suggest")
+        .param("collectionId", DEFAULT_COLLECTION_ID)
+        .param("prefix", "sh"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(DEFAULT_ENTRY_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Shiny stuff"));
+  }
+
+  @Test
+  void getSuggest_SizeTooLarge_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/suggest")
+        .param("collectionId", DEFAULT_COLLECTION_ID)
+        .param("prefix", "sh")
+        .param("size", "101"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getScroll_SizeTooLarge_BadRequest() throws Exception {
+    mockMvc
+      .perform(get(REQUEST_PATH + "/scroll")
+        .param("collectionId", DEFAULT_COLLECTION_ID)
+        .param("size", String.valueOf(CursorPage.MAX_SIZE + 1)))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void getSlice_Success_Ok() throws Exception {
+    when(serviceMock.findSliceByCollectionId(eq(UUID.fromString(DEFAULT_COLLECTION_ID)), any(), eq(true)))
+      .thenReturn(SliceResult.of(new SliceImpl<>(List.of(new EntryView(UUID.fromString(DEFAULT_ENTRY_ID), null, null, null)), PageRequest.of(0, 10), true), 1000L));
+
+    mockMvc
+      .perform(get(REQUEST_PATH + "/slice")
+        .param("collectionId", DEFAULT_COLLECTION_ID)
+        .param("approximateTotal", "true"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(DEFAULT_ENTRY_ID))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(true))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.approximateTotal").value(1000));
+  }
 }
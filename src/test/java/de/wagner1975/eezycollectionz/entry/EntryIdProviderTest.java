@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +17,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import de.wagner1975.eezycollectionz.support.GenerateIdForRepositoryOperation;
 import de.wagner1975.eezycollectionz.support.GenerateIdOperationFactory;
+import de.wagner1975.eezycollectionz.support.SaveWithGeneratedIdOperation;
 
 @ExtendWith(SpringExtension.class)
 class EntryIdProviderTest {
@@ -25,6 +28,9 @@ class EntryIdProviderTest {
   @Mock
   private GenerateIdForRepositoryOperation<UUID> operationMock;
 
+  @Mock
+  private SaveWithGeneratedIdOperation<Entry, UUID> saveOperationMock;
+
   @InjectMocks
   private EntryIdProvider objectUnderTest;
 
@@ -40,4 +46,32 @@ class EntryIdProviderTest {
     assertNotNull(result);
     assertEquals(id, result);
   }
+
+  @Test
+  void saveWithGeneratedId_Success_ReturnsEntry() {
+    var entry = Entry.builder().id(UUID.fromString("00000004-4444-0000-0000-000000000004")).build();
+    Function<UUID, Entry> entryFactory = id -> entry;
+
+    when(factoryMock.<Entry>createSaveForUUIDInRepository(any(), any())).thenReturn(saveOperationMock);
+    when(saveOperationMock.execute(entryFactory)).thenReturn(entry);
+
+    var result = objectUnderTest.saveWithGeneratedId(entryFactory);
+
+    assertNotNull(result);
+    assertEquals(entry, result);
+  }
+
+  @Test
+  void saveAllWithGeneratedIds_Success_ReturnsEntries() {
+    var entry = Entry.builder().id(UUID.fromString("00000004-4444-0000-0000-000000000004")).build();
+    List<Function<UUID, Entry>> entryFactories = List.of(id -> entry);
+
+    when(factoryMock.<Entry>createSaveForUUIDInRepository(any(), any())).thenReturn(saveOperationMock);
+    when(saveOperationMock.executeAll(entryFactories)).thenReturn(List.of(entry));
+
+    var result = objectUnderTest.saveAllWithGeneratedIds(entryFactories);
+
+    assertNotNull(result);
+    assertEquals(List.of(entry), result);
+  }
 }
@@ -0,0 +1,199 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import de.wagner1975.eezycollectionz.collection.Collection;
+import de.wagner1975.eezycollectionz.support.CacheNames;
+import de.wagner1975.eezycollectionz.support.GenerateIdException;
+import de.wagner1975.eezycollectionz.support.IdGenerator;
+import de.wagner1975.eezycollectionz.support.ImportFormat;
+import de.wagner1975.eezycollectionz.support.ImportReader;
+import de.wagner1975.eezycollectionz.support.ImportResult;
+import de.wagner1975.eezycollectionz.support.ImportStrategy;
+import de.wagner1975.eezycollectionz.support.MissingReferenceException;
+import de.wagner1975.eezycollectionz.support.TimeFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(SpringExtension.class)
+class EntryImportServiceTest {
+
+  private static final UUID DEFAULT_COLLECTION_ID = UUID.fromString("f3381a9d-ee1a-5fdc-aa1a-1ffab2acaf01");
+  private static final UUID DEFAULT_ENTRY_ID = UUID.fromString("c725efeb-de77-46df-916a-2fc195376386");
+  private static final Instant INSTANT_NOW = Instant.parse("2023-12-13T08:11:22.963Z");
+
+  @Mock
+  private EntryIdProvider idProviderMock;
+
+  @Mock
+  private EntryCopyRepository copyRepositoryMock;
+
+  @Mock
+  private IdGenerator<UUID> generatorMock;
+
+  @Mock
+  private TimeFactory timeFactoryMock;
+
+  @Spy
+  private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+  @Mock
+  private EntityManager entityManagerMock;
+
+  @Mock
+  private EntryNameIndexes nameIndexesMock;
+
+  @Spy
+  private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.ENTRY_COUNTS);
+
+  @Mock
+  private ApplicationProperties appPropsMock;
+
+  @InjectMocks
+  private EntryImportService objectUnderTest;
+
+  @Captor
+  private ArgumentCaptor<List<Entry>> entriesCaptor;
+
+  @BeforeEach
+  void setUp() {
+    when(appPropsMock.importBatchSize()).thenReturn(2);
+    when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
+    when(generatorMock.generate()).thenReturn(DEFAULT_ENTRY_ID);
+    when(entityManagerMock.getReference(Collection.class, DEFAULT_COLLECTION_ID))
+      .thenReturn(Collection.builder().id(DEFAULT_COLLECTION_ID).build());
+  }
+
+  @Test
+  void importAll_InsertStrategy_SavesInBatches() {
+    when(appPropsMock.importStrategy()).thenReturn(ImportStrategy.INSERT);
+    when(idProviderMock.saveAllWithGeneratedIds(any()))
+      .thenAnswer(invocation -> invocation.<List<Function<UUID, Entry>>>getArgument(0).stream()
+        .map(entryFactory -> entryFactory.apply(DEFAULT_ENTRY_ID))
+        .toList());
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).put(DEFAULT_COLLECTION_ID, 3L);
+
+    var result = objectUnderTest.importAll(ndjson("{\"name\":\"a\"}", "{\"name\":\"b\"}", "{\"name\":\"c\"}"), DEFAULT_COLLECTION_ID);
+
+    assertEquals(3, result.getImported());
+    assertEquals(0, result.getFailed());
+    assertEquals(2, result.getBatches());
+    verify(idProviderMock, times(2)).saveAllWithGeneratedIds(any());
+    verify(copyRepositoryMock, never()).copyAll(any());
+    verify(nameIndexesMock).evict(DEFAULT_COLLECTION_ID);
+    assertNull(cacheManager.getCache(CacheNames.ENTRY_COUNTS).get(DEFAULT_COLLECTION_ID));
+  }
+
+  @Test
+  void importAll_CopyStrategy_CopiesEntriesWithGeneratedIds() {
+    when(appPropsMock.importStrategy()).thenReturn(ImportStrategy.COPY);
+    when(copyRepositoryMock.copyAll(entriesCaptor.capture())).thenAnswer(invocation -> invocation.<List<Entry>>getArgument(0).size());
+
+    var result = objectUnderTest.importAll(ndjson("{\"name\":\"a\"}", "{\"name\":\" \"}"), DEFAULT_COLLECTION_ID);
+
+    assertEquals(1, result.getImported());
+    assertEquals(1, result.getFailed());
+    assertEquals(2, result.getFailedLines().get(0).line());
+    assertEquals(List.of("name must not be blank"), result.getFailedLines().get(0).errors());
+
+    var entries = entriesCaptor.getValue();
+    assertEquals(1, entries.size());
+    assertEquals(DEFAULT_ENTRY_ID, entries.get(0).getId());
+    assertEquals("a", entries.get(0).getName());
+    assertEquals(INSTANT_NOW, entries.get(0).getCreatedAt());
+    assertEquals(DEFAULT_COLLECTION_ID, entries.get(0).getCollection().getId());
+    verify(idProviderMock, never()).saveAllWithGeneratedIds(any());
+  }
+
+  @Test
+  void importAll_GenerateIdFails_BatchReportedAsFailed() {
+    when(appPropsMock.importStrategy()).thenReturn(ImportStrategy.COPY);
+    when(copyRepositoryMock.copyAll(any())).thenThrow(new GenerateIdException());
+
+    var result = objectUnderTest.importAll(ndjson("{\"name\":\"a\"}", "{\"name\":\"b\"}"), DEFAULT_COLLECTION_ID);
+
+    assertEquals(0, result.getImported());
+    assertEquals(2, result.getFailed());
+    assertEquals(List.of("Auto-generation of unique entry id failed"), result.getFailedLines().get(1).errors());
+  }
+
+  @Test
+  void importAll_DatabaseRejectsBatch_BatchReportedAsFailedAndNextBatchSaved() {
+    when(appPropsMock.importStrategy()).thenReturn(ImportStrategy.COPY);
+    when(copyRepositoryMock.copyAll(any()))
+      .thenThrow(new DataIntegrityViolationException("value too long"))
+      .thenAnswer(invocation -> invocation.<List<Entry>>getArgument(0).size());
+
+    var result = objectUnderTest.importAll(ndjson("{\"name\":\"a\"}", "{\"name\":\"b\"}", "{\"name\":\"c\"}"), DEFAULT_COLLECTION_ID);
+
+    assertEquals(1, result.getImported());
+    assertEquals(2, result.getFailed());
+    assertEquals(2, result.getBatches());
+    assertEquals(List.of(1L, 2L), result.getFailedLines().stream().map(ImportResult.FailedLine::line).toList());
+    assertEquals(List.of("Batch of this line could not be saved"), result.getFailedLines().get(0).errors());
+  }
+
+  @Test
+  void importAll_NameTooLong_LineReportedAsFailed() {
+    when(appPropsMock.importStrategy()).thenReturn(ImportStrategy.COPY);
+    when(copyRepositoryMock.copyAll(any())).thenAnswer(invocation -> invocation.<List<Entry>>getArgument(0).size());
+
+    var result = objectUnderTest.importAll(ndjson("{\"name\":\"" + "x".repeat(256) + "\"}", "{\"name\":\"b\"}"), DEFAULT_COLLECTION_ID);
+
+    assertEquals(1, result.getImported());
+    assertEquals(1, result.getFailed());
+    assertEquals(List.of("name size must be between 0 and 255"), result.getFailedLines().get(0).errors());
+  }
+
+  @Test
+  void importAll_MissingCollection_ThrowsException() {
+    when(appPropsMock.importStrategy()).thenReturn(ImportStrategy.INSERT);
+    when(idProviderMock.saveAllWithGeneratedIds(any())).thenThrow(new MissingReferenceException());
+
+    assertThrows(MissingReferenceException.class, () -> {
+      objectUnderTest.importAll(ndjson("{\"name\":\"a\"}"), DEFAULT_COLLECTION_ID);
+    });
+  }
+
+  @Test
+  void importAll_ReaderIsNull_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> objectUnderTest.importAll(null, DEFAULT_COLLECTION_ID));
+  }
+
+  private static ImportReader<EntryInput> ndjson(String... lines) {
+    return new ImportReader<>(
+      new BufferedReader(new StringReader(String.join("\n", lines))), ImportFormat.NDJSON, new ObjectMapper(), EntryInput.class, Set.of("name"));
+  }
+}
@@ -0,0 +1,65 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class EntryNameIndexTest {
+
+  private static final UUID ID_1 = UUID.fromString("00000001-1111-0000-0000-000000000001");
+  private static final UUID ID_2 = UUID.fromString("00000002-2222-0000-0000-000000000002");
+  private static final UUID ID_3 = UUID.fromString("00000003-3333-0000-0000-000000000003");
+
+  private final EntryNameIndex objectUnderTest = new EntryNameIndex();
+
+  @Test
+  void suggest_MixedCase_MatchesPrefixIgnoringCaseInAlphabeticalOrder() {
+    objectUnderTest.put(ID_1, "Star Wars");
+    objectUnderTest.put(ID_2, "star trek");
+    objectUnderTest.put(ID_3, "Stargate");
+
+    assertEquals(
+      List.of(new EntrySuggestion(ID_2, "star trek"), new EntrySuggestion(ID_1, "Star Wars")),
+      objectUnderTest.suggest("STAR ", 10));
+  }
+
+  @Test
+  void suggest_MoreMatchesThanLimit_ReturnsFirstMatches() {
+    objectUnderTest.put(ID_1, "b");
+    objectUnderTest.put(ID_2, "a");
+    objectUnderTest.put(ID_3, "a");
+
+    assertEquals(List.of(new EntrySuggestion(ID_2, "a"), new EntrySuggestion(ID_3, "a")), objectUnderTest.suggest("", 2));
+  }
+
+  @Test
+  void put_ExistingId_ReplacesName() {
+    objectUnderTest.put(ID_1, "Alien");
+    objectUnderTest.put(ID_1, "Aliens");
+
+    assertEquals(List.of(new EntrySuggestion(ID_1, "Aliens")), objectUnderTest.suggest("alien", 10));
+    assertEquals(1, objectUnderTest.size());
+  }
+
+  @Test
+  void remove_ExistingId_ReleasesEstimatedBytes() {
+    objectUnderTest.put(ID_1, "Alien");
+    assertTrue(objectUnderTest.estimatedBytes() > EntryNameIndex.ENTRY_OVERHEAD_BYTES);
+
+    assertTrue(objectUnderTest.remove(ID_1));
+
+    assertFalse(objectUnderTest.contains(ID_1));
+    assertEquals(List.of(), objectUnderTest.suggest("a", 10));
+    assertEquals(0, objectUnderTest.estimatedBytes());
+  }
+
+  @Test
+  void remove_MissingId_ReturnsFalse() {
+    assertFalse(objectUnderTest.remove(ID_1));
+  }
+}
@@ -0,0 +1,179 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import de.wagner1975.eezycollectionz.ApplicationProperties;
+import de.wagner1975.eezycollectionz.support.CacheNames;
+import de.wagner1975.eezycollectionz.support.MetricNames;
+
+@ExtendWith(SpringExtension.class)
+class EntryNameIndexesTest {
+
+  private static final UUID COLLECTION_ID = UUID.fromString("f3381a9d-ee1a-5fdc-aa1a-1ffab2acaf01");
+  private static final UUID ENTRY_ID = UUID.fromString("c725efeb-de77-46df-916a-2fc195376386");
+  private static final UUID OTHER_ENTRY_ID = UUID.fromString("00000002-2222-0000-0000-000000000002");
+
+  @Mock
+  private EntryRepository repositoryMock;
+
+  @Mock
+  private PlatformTransactionManager transactionManagerMock;
+
+  @Mock
+  private ApplicationProperties appPropsMock;
+
+  private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private EntryNameIndexes objectUnderTest;
+
+  @BeforeEach
+  void setUp() {
+    when(appPropsMock.suggestIndexMaxSize()).thenReturn(DataSize.ofMegabytes(1));
+    when(appPropsMock.suggestIndexMaxAge()).thenReturn(Duration.ofMinutes(10));
+    when(repositoryMock.streamSuggestionsByCollectionId(COLLECTION_ID))
+      .thenAnswer(invocation -> Stream.of(new EntrySuggestion(ENTRY_ID, "Blade Runner")));
+
+    objectUnderTest = new EntryNameIndexes(repositoryMock, transactionManagerMock, cacheManager, registry, appPropsMock);
+  }
+
+  @Test
+  void suggest_RepeatedLookups_BuildsIndexOnce() {
+    assertEquals(Optional.of(List.of(new EntrySuggestion(ENTRY_ID, "Blade Runner"))), objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+    assertEquals(Optional.of(List.of()), objectUnderTest.suggest(COLLECTION_ID, "x", 10));
+
+    verify(repositoryMock, times(1)).streamSuggestionsByCollectionId(COLLECTION_ID);
+    assertEquals(1, registry.get(MetricNames.SUGGEST_INDEX_BUILD).timer().count());
+  }
+
+  @Test
+  void suggest_EntryCountOverBudget_IndexesNothingUntilMaxAge() {
+    var entryCount = DataSize.ofMegabytes(1).toBytes() / EntryNameIndex.ENTRY_OVERHEAD_BYTES + 1;
+    when(repositoryMock.findEntryCountByCollectionId(COLLECTION_ID)).thenReturn(Optional.of(entryCount));
+
+    assertEquals(Optional.empty(), objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+    assertEquals(Optional.empty(), objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+
+    verify(repositoryMock, times(1)).findEntryCountByCollectionId(COLLECTION_ID);
+    verify(repositoryMock, never()).streamSuggestionsByCollectionId(COLLECTION_ID);
+    assertEquals(0, registry.get(MetricNames.SUGGEST_INDEX_MEMORY).gauge().value());
+  }
+
+  @Test
+  void suggest_NamesOverBudget_StopsBuildingAndIndexesNothing() {
+    var streamed = new AtomicInteger();
+    when(repositoryMock.streamSuggestionsByCollectionId(COLLECTION_ID)).thenAnswer(invocation -> Stream.generate(
+      () -> new EntrySuggestion(UUID.randomUUID(), "blade runner " + streamed.incrementAndGet() + "x".repeat(1000))));
+
+    assertEquals(Optional.empty(), objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+    assertEquals(Optional.empty(), objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+
+    verify(repositoryMock, times(1)).streamSuggestionsByCollectionId(COLLECTION_ID);
+    assertTrue(streamed.get() < 1_000);
+    assertEquals(0, registry.get(MetricNames.SUGGEST_INDEX_MEMORY).gauge().value());
+  }
+
+  @Test
+  void suggest_BuildFails_BuildsAgainOnNextLookup() {
+    when(repositoryMock.streamSuggestionsByCollectionId(COLLECTION_ID))
+      .thenThrow(new QueryTimeoutException("timeout"))
+      .thenAnswer(invocation -> Stream.of(new EntrySuggestion(ENTRY_ID, "Blade Runner")));
+
+    assertThrows(QueryTimeoutException.class, () -> objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+    assertEquals(Optional.of(List.of(new EntrySuggestion(ENTRY_ID, "Blade Runner"))), objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+  }
+
+  @Test
+  void added_WhileIndexIsBuilt_UpdatesIndexAfterBuild() {
+    // the update runs on the building thread, which deadlocks or fails if the index is built within the cache
+    when(repositoryMock.streamSuggestionsByCollectionId(COLLECTION_ID)).thenAnswer(invocation -> {
+      objectUnderTest.added(COLLECTION_ID, OTHER_ENTRY_ID, "Blade Runner 2049");
+      return Stream.of(new EntrySuggestion(ENTRY_ID, "Blade Runner"));
+    });
+
+    assertEquals(2, objectUnderTest.suggest(COLLECTION_ID, "bla", 10).orElseThrow().size());
+    assertEquals(2, objectUnderTest.suggest(COLLECTION_ID, "bla", 10).orElseThrow().size());
+    verify(repositoryMock, times(1)).streamSuggestionsByCollectionId(COLLECTION_ID);
+  }
+
+  @Test
+  void added_IndexBuilt_UpdatesIndexAndMemoryFootprint() {
+    objectUnderTest.suggest(COLLECTION_ID, "bla", 10);
+    var bytesBefore = registry.get(MetricNames.SUGGEST_INDEX_MEMORY).gauge().value();
+
+    objectUnderTest.added(COLLECTION_ID, OTHER_ENTRY_ID, "Blade Runner 2049");
+
+    assertEquals(2, objectUnderTest.suggest(COLLECTION_ID, "bla", 10).orElseThrow().size());
+    assertTrue(registry.get(MetricNames.SUGGEST_INDEX_MEMORY).gauge().value() > bytesBefore);
+  }
+
+  @Test
+  void renamedAndRemoved_IndexBuilt_UpdatesIndex() {
+    objectUnderTest.suggest(COLLECTION_ID, "bla", 10);
+
+    objectUnderTest.renamed(COLLECTION_ID, ENTRY_ID, "Alien");
+    assertEquals(Optional.of(List.of(new EntrySuggestion(ENTRY_ID, "Alien"))), objectUnderTest.suggest(COLLECTION_ID, "al", 10));
+
+    objectUnderTest.removed(COLLECTION_ID, ENTRY_ID);
+    assertEquals(Optional.of(List.of()), objectUnderTest.suggest(COLLECTION_ID, "al", 10));
+    verify(repositoryMock, times(1)).streamSuggestionsByCollectionId(COLLECTION_ID);
+  }
+
+  @Test
+  void renamedAndRemoved_IndexNotBuilt_BuildsNoIndex() {
+    objectUnderTest.renamed(COLLECTION_ID, ENTRY_ID, "Alien");
+    objectUnderTest.removed(COLLECTION_ID, ENTRY_ID);
+
+    verify(repositoryMock, never()).streamSuggestionsByCollectionId(COLLECTION_ID);
+    assertEquals(Optional.of(List.of(new EntrySuggestion(ENTRY_ID, "Blade Runner"))), objectUnderTest.suggest(COLLECTION_ID, "bla", 10));
+  }
+
+  @Test
+  void evict_IndexBuilt_RebuildsOnNextLookup() {
+    objectUnderTest.suggest(COLLECTION_ID, "bla", 10);
+
+    objectUnderTest.evict(COLLECTION_ID);
+    objectUnderTest.suggest(COLLECTION_ID, "bla", 10);
+
+    verify(repositoryMock, times(2)).streamSuggestionsByCollectionId(COLLECTION_ID);
+  }
+
+  @Test
+  void new_CaffeineCacheManager_RegistersCacheForEviction() {
+    objectUnderTest.suggest(COLLECTION_ID, "bla", 10);
+
+    var cache = cacheManager.getCache(CacheNames.ENTRY_NAME_INDEXES);
+    assertNotNull(cache);
+    cache.evict(COLLECTION_ID);
+    objectUnderTest.suggest(COLLECTION_ID, "bla", 10);
+
+    verify(repositoryMock, times(2)).streamSuggestionsByCollectionId(COLLECTION_ID);
+  }
+}
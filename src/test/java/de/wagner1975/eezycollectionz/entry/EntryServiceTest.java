@@ -1,33 +1,61 @@
 package de.wagner1975.eezycollectionz.entry;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import de.wagner1975.eezycollectionz.collection.Collection;
+import de.wagner1975.eezycollectionz.support.CacheNames;
 import de.wagner1975.eezycollectionz.support.GenerateIdException;
+import de.wagner1975.eezycollectionz.support.KeysetCursor;
+import de.wagner1975.eezycollectionz.support.MissingReferenceException;
+import de.wagner1975.eezycollectionz.support.NameSearch;
+import de.wagner1975.eezycollectionz.support.RowCountEstimator;
+import de.wagner1975.eezycollectionz.support.SearchCursor;
+import de.wagner1975.eezycollectionz.support.SearchHit;
+import de.wagner1975.eezycollectionz.support.SearchMode;
 import de.wagner1975.eezycollectionz.support.TimeFactory;
+import de.wagner1975.eezycollectionz.support.VersionMismatchException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 
 @ExtendWith(SpringExtension.class)
 class EntryServiceTest {
@@ -42,15 +70,33 @@ class EntryServiceTest {
   @Mock
   private EntryRepository repositoryMock;
   
+  @Mock
+  private EntrySearchRepository searchRepositoryMock;
+
+  @Mock
+  private EntryNameIndexes nameIndexesMock;
+
   @Mock
   private EntryIdProvider idProviderMock;
 
   @Mock
-  private PageImpl<Entry> pageMock;
+  private PageImpl<EntryView> pageMock;
 
   @Mock
   private TimeFactory timeFactoryMock;  
 
+  @Mock
+  private Validator validatorMock;
+
+  @Mock
+  private RowCountEstimator rowCountEstimatorMock;
+
+  @Mock
+  private EntityManager entityManagerMock;
+
+  @Spy
+  private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.COLLECTIONS, CacheNames.ENTRIES, CacheNames.ENTRY_COUNTS, CacheNames.ENTRY_NAME_INDEXES);
+
   @InjectMocks
   private EntryService objectUnderTest;
   
@@ -61,8 +107,8 @@ class EntryServiceTest {
 
     when(pageMock.getContent())
       .thenReturn(List.of(
-        Entry.builder().id(id1).build(),
-        Entry.builder().id(id2).build()));
+        new EntryView(id1, null, null, null),
+        new EntryView(id2, null, null, null)));
 
     when(repositoryMock.findByCollectionId(eq(DEFAULT_COLLECTION_ID), eq(DEFAULT_PAGE_REQUEST)))
       .thenReturn(pageMock);
@@ -73,8 +119,8 @@ class EntryServiceTest {
     var content = result.getContent();
     assertNotNull(content);
     assertEquals(content.size(), 2);
-    assertEquals(content.get(0).getId(), id1);
-    assertEquals(content.get(1).getId(), id2);
+    assertEquals(content.get(0).id(), id1);
+    assertEquals(content.get(1).id(), id2);
   }
 
   @Test
@@ -132,6 +178,30 @@ class EntryServiceTest {
     assertTrue(result.isEmpty());  
   }
 
+  @Test
+  void findById_FoundTwice_RepositoryQueriedOnce() {
+    var id = DEFAULT_ENTRY_ID;
+
+    when(repositoryMock.findById(eq(id))).thenReturn(Optional.of(Entry.builder().id(id).build()));
+
+    var firstResult = objectUnderTest.findById(id);
+    var secondResult = objectUnderTest.findById(id);
+
+    assertTrue(secondResult.isPresent());
+    assertSame(firstResult.get(), secondResult.get());
+    verify(repositoryMock, times(1)).findById(id);
+  }
+
+  @Test
+  void findById_NotFoundTwice_RepositoryQueriedTwice() {
+    when(repositoryMock.findById(any())).thenReturn(Optional.empty());
+
+    objectUnderTest.findById(DEFAULT_ENTRY_ID);
+    objectUnderTest.findById(DEFAULT_ENTRY_ID);
+
+    verify(repositoryMock, times(2)).findById(DEFAULT_ENTRY_ID);
+  }
+
   @Test
   void findById_GivenIdIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -143,10 +213,13 @@ class EntryServiceTest {
   @Test
   void create_Saved_ReturnsEntry() {
     var name = "Shiny stuff";
+    var collectionReference = Collection.builder().id(DEFAULT_COLLECTION_ID).build();
+
+    when(entityManagerMock.getReference(Collection.class, DEFAULT_COLLECTION_ID)).thenReturn(collectionReference);
 
-    when(idProviderMock.generateId()).thenReturn(DEFAULT_ENTRY_ID);
+    when(idProviderMock.saveWithGeneratedId(any()))
+      .thenAnswer(invocation -> invocation.<Function<UUID, Entry>>getArgument(0).apply(DEFAULT_ENTRY_ID));
     when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
-    when(repositoryMock.save(any(Entry.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
     var result = objectUnderTest.create(EntryInput.builder().name(name).build(), DEFAULT_COLLECTION_ID);
 
@@ -160,14 +233,46 @@ class EntryServiceTest {
     assertEquals(INSTANT_NOW, savedEntry.getCreatedAt());
     assertEquals(INSTANT_NOW, savedEntry.getLastModifiedAt());
 
-    var collection = savedEntry.getCollection();
-    assertNotNull(collection);
-    assertEquals(DEFAULT_COLLECTION_ID, collection.getId());
+    assertSame(collectionReference, savedEntry.getCollection());
+    verify(nameIndexesMock).added(DEFAULT_COLLECTION_ID, DEFAULT_ENTRY_ID, name);
+  }
+
+  @Test
+  void create_Saved_EvictsCachedEntryCountOnly() {
+    when(idProviderMock.saveWithGeneratedId(any()))
+      .thenAnswer(invocation -> invocation.<Function<UUID, Entry>>getArgument(0).apply(DEFAULT_ENTRY_ID));
+    cacheManager.getCache(CacheNames.COLLECTIONS).put(DEFAULT_COLLECTION_ID, Collection.builder().id(DEFAULT_COLLECTION_ID).build());
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).put(DEFAULT_COLLECTION_ID, 3L);
+
+    objectUnderTest.create(EntryInput.builder().name("Shiny stuff").build(), DEFAULT_COLLECTION_ID);
+
+    assertNull(cacheManager.getCache(CacheNames.ENTRY_COUNTS).get(DEFAULT_COLLECTION_ID));
+    assertNotNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_COLLECTION_ID));
+  }
+
+  @Test
+  void suggest_Success_ReturnsSuggestionsOfIndex() {
+    var suggestions = List.of(new EntrySuggestion(DEFAULT_ENTRY_ID, "Shiny stuff"));
+
+    when(nameIndexesMock.suggest(DEFAULT_COLLECTION_ID, "shi", 5)).thenReturn(Optional.of(suggestions));
+
+    assertEquals(suggestions, objectUnderTest.suggest(DEFAULT_COLLECTION_ID, "shi", 5));
+    verify(searchRepositoryMock, never()).suggest(any(), any(), anyInt());
+  }
+
+  @Test
+  void suggest_CollectionTooLargeToIndex_ReturnsSuggestionsOfDatabase() {
+    var suggestions = List.of(new EntrySuggestion(DEFAULT_ENTRY_ID, "Shiny stuff"));
+
+    when(nameIndexesMock.suggest(DEFAULT_COLLECTION_ID, "shi", 5)).thenReturn(Optional.empty());
+    when(searchRepositoryMock.suggest(DEFAULT_COLLECTION_ID, "shi", 5)).thenReturn(suggestions);
+
+    assertEquals(suggestions, objectUnderTest.suggest(DEFAULT_COLLECTION_ID, "shi", 5));
   }
 
   @Test
   void create_GenerateIdThrowsException_ReturnsEmpty() {
-    when(idProviderMock.generateId()).thenThrow(new GenerateIdException());
+    when(idProviderMock.saveWithGeneratedId(any())).thenThrow(new GenerateIdException());
 
     var result = objectUnderTest.create(
       EntryInput.builder().name("xyz").build(),
@@ -177,10 +282,18 @@ class EntryServiceTest {
     assertTrue(result.isEmpty());    
   }
 
+  @Test
+  void create_CollectionMissing_ThrowsException() {
+    when(idProviderMock.saveWithGeneratedId(any())).thenThrow(new MissingReferenceException());
+
+    assertThrows(MissingReferenceException.class, () -> {
+      objectUnderTest.create(EntryInput.builder().name("xyz").build(), DEFAULT_COLLECTION_ID);
+    });
+  }
+
   @Test
   void create_SaveReturnsNull_ReturnsEmpty() {
-    when(idProviderMock.generateId()).thenReturn(DEFAULT_ENTRY_ID);
-    when(repositoryMock.save(any(Entry.class))).thenReturn(null);
+    when(idProviderMock.saveWithGeneratedId(any())).thenReturn(null);
 
     var result = objectUnderTest.create(
       EntryInput.builder().name("xyz").build(),
@@ -206,23 +319,201 @@ class EntryServiceTest {
     assertEquals("collectionId is null", exception.getMessage());     
   } 
 
+  @Test
+  void findSliceByCollectionId_WithApproximateTotal_ReturnsSliceWithTotal() {
+    var entries = List.of(new EntryView(DEFAULT_ENTRY_ID, null, null, null));
+
+    when(repositoryMock.findSliceByCollectionId(DEFAULT_COLLECTION_ID, DEFAULT_PAGE_REQUEST))
+      .thenReturn(new SliceImpl<>(entries, DEFAULT_PAGE_REQUEST, false));
+    when(rowCountEstimatorMock.estimateQueryRows(any(), eq(DEFAULT_COLLECTION_ID))).thenReturn(Optional.of(120L));
+
+    var result = objectUnderTest.findSliceByCollectionId(DEFAULT_COLLECTION_ID, DEFAULT_PAGE_REQUEST, true);
+
+    assertEquals(entries, result.getContent());
+    assertFalse(result.isHasNext());
+    assertEquals(120L, result.getApproximateTotal());
+  }
+
+  @Test
+  void findSliceByCollectionId_WithoutApproximateTotal_DoesNotEstimate() {
+    when(repositoryMock.findSliceByCollectionId(DEFAULT_COLLECTION_ID, DEFAULT_PAGE_REQUEST))
+      .thenReturn(new SliceImpl<>(List.of(), DEFAULT_PAGE_REQUEST, false));
+
+    var result = objectUnderTest.findSliceByCollectionId(DEFAULT_COLLECTION_ID, DEFAULT_PAGE_REQUEST, false);
+
+    assertNull(result.getApproximateTotal());
+    verify(rowCountEstimatorMock, never()).estimateQueryRows(any(), any());
+  }
+
+  @Test
+  void exportByCollectionId_WithEntries_ConsumesAllAndClosesStream() {
+    var entries = List.of(
+      new EntryView(UUID.fromString("00000001-1111-0000-0000-000000000001"), INSTANT_PAST, INSTANT_PAST, null),
+      new EntryView(UUID.fromString("00000002-2222-0000-0000-000000000002"), INSTANT_NOW, INSTANT_NOW, null));
+    var closed = new AtomicBoolean();
+    var consumed = new ArrayList<EntryView>();
+
+    when(repositoryMock.streamByCollectionId(DEFAULT_COLLECTION_ID))
+      .thenReturn(entries.stream().onClose(() -> closed.set(true)));
+
+    objectUnderTest.exportByCollectionId(DEFAULT_COLLECTION_ID, consumed::add);
+
+    assertEquals(entries, consumed);
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void exportByCollectionId_ConsumerNull_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> objectUnderTest.exportByCollectionId(DEFAULT_COLLECTION_ID, null));
+  }
+
+  @Test
+  void scrollByCollectionId_NoCursor_FindsFirstEntries() {
+    var entries = List.of(
+      new EntryView(UUID.fromString("00000001-1111-0000-0000-000000000001"), INSTANT_PAST, INSTANT_PAST, null),
+      new EntryView(UUID.fromString("00000002-2222-0000-0000-000000000002"), INSTANT_NOW, INSTANT_NOW, null));
+
+    when(repositoryMock.findFirstByCollectionId(DEFAULT_COLLECTION_ID, PageRequest.ofSize(2))).thenReturn(entries);
+
+    var result = objectUnderTest.scrollByCollectionId(DEFAULT_COLLECTION_ID, null, 1);
+
+    assertEquals(entries.subList(0, 1), result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals(new KeysetCursor(INSTANT_PAST, entries.get(0).id()), KeysetCursor.decode(result.getNextCursor()));
+  }
+
+  @Test
+  void scrollByCollectionId_WithCursor_FindsEntriesAfterCursor() {
+    var cursor = new KeysetCursor(INSTANT_PAST, DEFAULT_ENTRY_ID);
+    var entries = List.of(new EntryView(UUID.fromString("00000002-2222-0000-0000-000000000002"), INSTANT_NOW, INSTANT_NOW, null));
+
+    when(repositoryMock.findByCollectionIdAfter(DEFAULT_COLLECTION_ID, INSTANT_PAST, DEFAULT_ENTRY_ID, PageRequest.ofSize(3)))
+      .thenReturn(entries);
+
+    var result = objectUnderTest.scrollByCollectionId(DEFAULT_COLLECTION_ID, cursor, 2);
+
+    assertEquals(entries, result.getContent());
+    assertFalse(result.isHasNext());
+  }
+
+  @Test
+  void search_MoreHitsThanSize_ReturnsEntriesWithCursorOfLastOne() {
+    var search = new NameSearch(SearchMode.PREFIX, "ent", null, 1);
+    var cursor = new SearchCursor(SearchMode.PREFIX, "Entry A", DEFAULT_ENTRY_ID);
+    var entry = new EntryView(DEFAULT_ENTRY_ID, INSTANT_PAST, INSTANT_PAST, "Entry A");
+    var hits = List.of(
+      new SearchHit<>(entry, cursor),
+      new SearchHit<>(new EntryView(UUID.fromString("00000002-2222-0000-0000-000000000002"), INSTANT_NOW, INSTANT_NOW, "Entry B"),
+        new SearchCursor(SearchMode.PREFIX, "Entry B", UUID.fromString("00000002-2222-0000-0000-000000000002"))));
+
+    when(searchRepositoryMock.search(search, DEFAULT_COLLECTION_ID)).thenReturn(hits);
+
+    var result = objectUnderTest.search(search, DEFAULT_COLLECTION_ID);
+
+    assertEquals(List.of(entry), result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals(cursor, SearchCursor.decode(result.getNextCursor()));
+  }
+
+  @Test
+  void createAll_SomeInputsInvalid_ReturnsResultPerInput() {
+    var validator = Validation.buildDefaultValidatorFactory().getValidator();
+    when(validatorMock.validate(any(EntryInput.class))).thenAnswer(invocation -> validator.validate(invocation.getArgument(0)));
+    when(idProviderMock.saveAllWithGeneratedIds(any()))
+      .thenAnswer(invocation -> invocation.<List<Function<UUID, Entry>>>getArgument(0).stream()
+        .map(entryFactory -> entryFactory.apply(DEFAULT_ENTRY_ID))
+        .toList());
+    when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
+    when(entityManagerMock.getReference(Collection.class, DEFAULT_COLLECTION_ID))
+      .thenReturn(Collection.builder().id(DEFAULT_COLLECTION_ID).build());
+
+    var result = objectUnderTest.createAll(
+      Arrays.asList(EntryInput.builder().name("first").build(), EntryInput.builder().name("").build(), null),
+      DEFAULT_COLLECTION_ID);
+
+    assertNotNull(result);
+    assertEquals(1, result.getCreated());
+    assertEquals(2, result.getFailed());
+
+    var items = result.getItems();
+    assertEquals(3, items.size());
+    assertTrue(items.get(0).isCreated());
+    assertEquals("first", items.get(0).getEntity().getName());
+    assertEquals(INSTANT_NOW, items.get(0).getEntity().getCreatedAt());
+    assertEquals(DEFAULT_COLLECTION_ID, items.get(0).getEntity().getCollection().getId());
+    assertFalse(items.get(1).isCreated());
+    assertEquals(1, items.get(1).getIndex());
+    assertEquals(List.of("name must not be blank"), items.get(1).getErrors());
+    assertFalse(items.get(2).isCreated());
+    assertEquals(List.of("must not be null"), items.get(2).getErrors());
+  }
+
+  @Test
+  void createAll_SomeCreated_EvictsCachedEntryCountOnly() {
+    when(validatorMock.validate(any(EntryInput.class))).thenReturn(Set.of());
+    when(idProviderMock.saveAllWithGeneratedIds(any()))
+      .thenAnswer(invocation -> invocation.<List<Function<UUID, Entry>>>getArgument(0).stream()
+        .map(entryFactory -> entryFactory.apply(DEFAULT_ENTRY_ID))
+        .toList());
+    cacheManager.getCache(CacheNames.COLLECTIONS).put(DEFAULT_COLLECTION_ID, Collection.builder().id(DEFAULT_COLLECTION_ID).build());
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).put(DEFAULT_COLLECTION_ID, 3L);
+
+    objectUnderTest.createAll(List.of(EntryInput.builder().name("first").build()), DEFAULT_COLLECTION_ID);
+
+    assertNull(cacheManager.getCache(CacheNames.ENTRY_COUNTS).get(DEFAULT_COLLECTION_ID));
+    assertNotNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_COLLECTION_ID));
+  }
+
+  @Test
+  void createAll_AllInputsInvalid_DoesNotSave() {
+    when(validatorMock.validate(any(EntryInput.class))).thenReturn(Validation.buildDefaultValidatorFactory()
+      .getValidator().validate(EntryInput.builder().name("").build()));
+
+    var result = objectUnderTest.createAll(List.of(EntryInput.builder().name("").build()), DEFAULT_COLLECTION_ID);
+
+    assertEquals(0, result.getCreated());
+    assertEquals(1, result.getFailed());
+    verify(idProviderMock, never()).saveAllWithGeneratedIds(any());
+  }
+
+  @Test
+  void createAll_GenerateIdThrowsException_ReturnsAllFailed() {
+    when(validatorMock.validate(any(EntryInput.class))).thenReturn(Set.of());
+    when(idProviderMock.saveAllWithGeneratedIds(any())).thenThrow(new GenerateIdException());
+
+    var result = objectUnderTest.createAll(
+      List.of(EntryInput.builder().name("a").build(), EntryInput.builder().name("b").build()),
+      DEFAULT_COLLECTION_ID);
+
+    assertEquals(0, result.getCreated());
+    assertEquals(2, result.getFailed());
+    assertEquals(List.of("Auto-generation of unique entry id failed"), result.getItems().get(1).getErrors());
+  }
+
+  @Test
+  void createAll_GivenCollectionIdIsNull_ThrowsException() {
+    var exception = assertThrows(IllegalArgumentException.class, () -> {
+      objectUnderTest.createAll(List.of(), null);
+    });
+    assertEquals("collectionId is null", exception.getMessage());
+  }
+
   @Test
   void update_Saved_ReturnsEntry() {
-    var originalEntry = Entry.builder()
+    var updatedEntry = Entry.builder()
       .id(DEFAULT_ENTRY_ID)
       .createdAt(INSTANT_PAST)
-      .lastModifiedAt(INSTANT_PAST)
-      .name("Shiny stuff")
+      .lastModifiedAt(INSTANT_NOW)
+      .name("New words")
       .collection(Collection.builder().id(DEFAULT_COLLECTION_ID).build())
       .build();
       
     var modifiedName = "New words";
 
-    when(repositoryMock.findById(eq(DEFAULT_ENTRY_ID))).thenReturn(Optional.of(originalEntry));
     when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
-    when(repositoryMock.save(any(Entry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(repositoryMock.updateNameById(DEFAULT_ENTRY_ID, modifiedName, INSTANT_NOW)).thenReturn(Optional.of(updatedEntry));
     
-    var result = objectUnderTest.update(EntryInput.builder().name(modifiedName).build(), DEFAULT_ENTRY_ID);
+    var result = objectUnderTest.update(EntryInput.builder().name(modifiedName).build(), DEFAULT_ENTRY_ID, null);
 
     assertNotNull(result);
     assertTrue(result.isPresent());
@@ -237,55 +528,159 @@ class EntryServiceTest {
     var relatedCollection = savedEntry.getCollection();
     assertNotNull(relatedCollection);
     assertEquals(DEFAULT_COLLECTION_ID, relatedCollection.getId());
+    verify(nameIndexesMock).renamed(DEFAULT_COLLECTION_ID, DEFAULT_ENTRY_ID, modifiedName);
   }
 
   @Test
   void update_NotFound_ReturnsEmpty() {
-    when(repositoryMock.findById(any())).thenReturn(Optional.empty());
+    when(repositoryMock.updateNameById(any(), any(), any())).thenReturn(Optional.empty());
 
-    var result = objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID);
+    var result = objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID, null);
 
     assertNotNull(result);
     assertTrue(result.isEmpty());
   }
 
   @Test
-  void update_SaveReturnsNull_ReturnsEmpty() {
-    when(repositoryMock.findById(eq(DEFAULT_ENTRY_ID))).thenReturn(Optional.of(Entry.builder().id(DEFAULT_ENTRY_ID).build()));    
-    when(repositoryMock.save(any(Entry.class))).thenReturn(null);
+  void update_Updated_NeitherReadsNorSavesEntity() {
+    when(repositoryMock.updateNameById(any(), any(), any())).thenReturn(Optional.of(Entry.builder()
+      .id(DEFAULT_ENTRY_ID)
+      .collection(Collection.builder().id(DEFAULT_COLLECTION_ID).build())
+      .build()));
 
-    var result = objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID);
+    objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID, null);
 
-    assertNotNull(result);
-    assertTrue(result.isEmpty());
+    verify(repositoryMock, never()).findById(any());
+    verify(repositoryMock, never()).save(any());
   }
 
   @Test
   void update_GivenEntryInputIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
-      objectUnderTest.update(null, DEFAULT_ENTRY_ID);
+      objectUnderTest.update(null, DEFAULT_ENTRY_ID, null);
     });
     assertEquals("entryInput is null", exception.getMessage());     
   }
 
+  @Test
+  void update_Saved_EvictsCachedEntity() {
+    cacheManager.getCache(CacheNames.ENTRIES).put(DEFAULT_ENTRY_ID, Entry.builder().id(DEFAULT_ENTRY_ID).build());
+
+    when(repositoryMock.updateNameById(any(), any(), any())).thenReturn(Optional.of(Entry.builder()
+      .id(DEFAULT_ENTRY_ID)
+      .collection(Collection.builder().id(DEFAULT_COLLECTION_ID).build())
+      .build()));
+
+    objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID, null);
+
+    assertNull(cacheManager.getCache(CacheNames.ENTRIES).get(DEFAULT_ENTRY_ID));
+  }
+
+  @Test
+  void update_ExpectedVersion_UpdatesOnlyInThatVersion() {
+    when(timeFactoryMock.now()).thenReturn(INSTANT_NOW);
+    when(repositoryMock.updateNameByIdAndVersion(DEFAULT_ENTRY_ID, 3L, "New words", INSTANT_NOW))
+      .thenReturn(Optional.of(Entry.builder()
+        .id(DEFAULT_ENTRY_ID)
+        .version(4L)
+        .collection(Collection.builder().id(DEFAULT_COLLECTION_ID).build())
+        .build()));
+
+    var result = objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID, 3L);
+
+    assertTrue(result.isPresent());
+    assertEquals(4L, result.get().getVersion());
+    verify(repositoryMock, never()).updateNameById(any(), any(), any());
+  }
+
+  @Test
+  void update_OtherVersionExists_ThrowsException() {
+    when(repositoryMock.updateNameByIdAndVersion(any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+    when(repositoryMock.existsById(DEFAULT_ENTRY_ID)).thenReturn(true);
+
+    assertThrows(VersionMismatchException.class, () -> {
+      objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID, 3L);
+    });
+  }
+
+  @Test
+  void update_ExpectedVersionNotFound_ReturnsEmpty() {
+    when(repositoryMock.updateNameByIdAndVersion(any(), anyLong(), any(), any())).thenReturn(Optional.empty());
+    when(repositoryMock.existsById(DEFAULT_ENTRY_ID)).thenReturn(false);
+
+    var result = objectUnderTest.update(EntryInput.builder().name("New words").build(), DEFAULT_ENTRY_ID, 3L);
+
+    assertTrue(result.isEmpty());
+  }
+
   @Test
   void update_GivenIdIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
-      objectUnderTest.update(EntryInput.builder().name("New words").build(), null);
+      objectUnderTest.update(EntryInput.builder().name("New words").build(), null, null);
     });
     assertEquals("id is null", exception.getMessage());     
   }  
 
   @Test
-  void delete_GivenIdIsUUID_MethodInvoked() {
-    objectUnderTest.delete(DEFAULT_ENTRY_ID);
-    verify(repositoryMock).deleteById(DEFAULT_ENTRY_ID);
+  void delete_Deleted_ReturnsTrue() {
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ENTRY_ID)).thenReturn(Optional.of(DEFAULT_COLLECTION_ID));
+
+    assertTrue(objectUnderTest.delete(DEFAULT_ENTRY_ID, null));
+    verify(repositoryMock, never()).deleteById(any());
+    verify(nameIndexesMock).removed(DEFAULT_COLLECTION_ID, DEFAULT_ENTRY_ID);
+  }
+
+  @Test
+  void delete_NotFound_ReturnsFalse() {
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ENTRY_ID)).thenReturn(Optional.empty());
+
+    assertFalse(objectUnderTest.delete(DEFAULT_ENTRY_ID, null));
+  }
+
+  @Test
+  void delete_Deleted_EvictsCachedEntity() {
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ENTRY_ID)).thenReturn(Optional.of(DEFAULT_COLLECTION_ID));
+    cacheManager.getCache(CacheNames.ENTRIES).put(DEFAULT_ENTRY_ID, Entry.builder().id(DEFAULT_ENTRY_ID).build());
+
+    objectUnderTest.delete(DEFAULT_ENTRY_ID, null);
+
+    assertNull(cacheManager.getCache(CacheNames.ENTRIES).get(DEFAULT_ENTRY_ID));
+  }
+
+  @Test
+  void delete_Deleted_EvictsCachedEntryCountOnly() {
+    when(repositoryMock.deleteDirectlyById(DEFAULT_ENTRY_ID)).thenReturn(Optional.of(DEFAULT_COLLECTION_ID));
+    cacheManager.getCache(CacheNames.COLLECTIONS).put(DEFAULT_COLLECTION_ID, Collection.builder().id(DEFAULT_COLLECTION_ID).build());
+    cacheManager.getCache(CacheNames.ENTRY_COUNTS).put(DEFAULT_COLLECTION_ID, 3L);
+
+    objectUnderTest.delete(DEFAULT_ENTRY_ID, null);
+
+    assertNull(cacheManager.getCache(CacheNames.ENTRY_COUNTS).get(DEFAULT_COLLECTION_ID));
+    assertNotNull(cacheManager.getCache(CacheNames.COLLECTIONS).get(DEFAULT_COLLECTION_ID));
+  }
+
+  @Test
+  void delete_ExpectedVersion_DeletesOnlyInThatVersion() {
+    when(repositoryMock.deleteDirectlyByIdAndVersion(DEFAULT_ENTRY_ID, 3L)).thenReturn(Optional.of(DEFAULT_COLLECTION_ID));
+
+    assertTrue(objectUnderTest.delete(DEFAULT_ENTRY_ID, 3L));
+    verify(repositoryMock, never()).deleteDirectlyById(any());
+  }
+
+  @Test
+  void delete_OtherVersionExists_ThrowsException() {
+    when(repositoryMock.deleteDirectlyByIdAndVersion(DEFAULT_ENTRY_ID, 3L)).thenReturn(Optional.empty());
+    when(repositoryMock.existsById(DEFAULT_ENTRY_ID)).thenReturn(true);
+
+    assertThrows(VersionMismatchException.class, () -> {
+      objectUnderTest.delete(DEFAULT_ENTRY_ID, 3L);
+    });
   }
 
   @Test
   void delete_GivenIdIsNull_ThrowsException() {
     var exception = assertThrows(IllegalArgumentException.class, () -> {
-      objectUnderTest.delete(null);
+      objectUnderTest.delete(null, null);
     });
     assertEquals("id is null", exception.getMessage());     
   }
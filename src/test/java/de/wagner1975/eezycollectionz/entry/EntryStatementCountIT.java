@@ -0,0 +1,103 @@
+package de.wagner1975.eezycollectionz.entry;
+
+import static de.wagner1975.eezycollectionz.TestConstants.POSTGRESQL_DOCKER_IMAGE_NAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the statements which Hibernate sends to the database when entries are created.
+ */
+@Testcontainers
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.NONE,
+  properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(executionPhase = ExecutionPhase.BEFORE_TEST_METHOD, scripts = "/database/entry_controller_integ_test/before.sql")
+@Sql(executionPhase = ExecutionPhase.AFTER_TEST_METHOD, scripts = "/database/entry_controller_integ_test/after.sql")
+@ActiveProfiles("test")
+class EntryStatementCountIT {
+
+  private static final UUID COLLECTION_ID = UUID.fromString("10000000-a000-4000-8000-10000000a000");
+
+  private static final UUID MISSING_COLLECTION_ID = UUID.fromString("ffffffff-ffff-4fff-8fff-ffffffffffff");
+
+  @Container
+  private static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRESQL_DOCKER_IMAGE_NAME);
+
+  @DynamicPropertySource
+  private static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private EntryController controller;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void create_ExistingCollection_OnlyInsert() {
+    controller.create(EntryInput.builder().name("Counted entry").build(), COLLECTION_ID);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(1, statistics.getEntityInsertCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void create_MissingCollection_OnlyInsertAndNotFound() {
+    var exception = assertThrows(ResponseStatusException.class, () -> {
+      controller.create(EntryInput.builder().name("Counted entry").build(), MISSING_COLLECTION_ID);
+    });
+
+    assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void createAll_ExistingCollection_OnlyOneBatchedInsert() {
+    var entries = List.of(
+      EntryInput.builder().name("Counted entry 1").build(),
+      EntryInput.builder().name("Counted entry 2").build(),
+      EntryInput.builder().name("Counted entry 3").build());
+
+    controller.createAll(EntryBulkInput.builder().entries(entries).build(), COLLECTION_ID);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(3, statistics.getEntityInsertCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+}
@@ -0,0 +1,157 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class CachesTest {
+
+  private static final String KEY = "key";
+
+  @Test
+  void getOrLoad_FoundTwice_LoadedOnce() {
+    var cache = new ConcurrentMapCache("test");
+    var loads = new AtomicInteger();
+
+    var first = Caches.getOrLoad(cache, KEY, () -> Optional.of("value " + loads.incrementAndGet()));
+    var second = Caches.getOrLoad(cache, KEY, () -> Optional.of("value " + loads.incrementAndGet()));
+
+    assertEquals(Optional.of("value 1"), first);
+    assertSame(first.get(), second.get());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void getOrLoad_NotFound_ReturnsEmptyAndCachesNothing() {
+    var cache = new ConcurrentMapCache("test");
+
+    assertTrue(Caches.getOrLoad(cache, KEY, Optional::empty).isEmpty());
+    assertNull(cache.get(KEY));
+  }
+
+  @Test
+  void getOrLoad_LoaderThrowsException_RethrowsIt() {
+    var cache = new ConcurrentMapCache("test");
+    var failure = new IllegalStateException("database down");
+
+    var exception = assertThrows(IllegalStateException.class, () -> {
+      Caches.getOrLoad(cache, KEY, () -> {
+        throw failure;
+      });
+    });
+    assertSame(failure, exception);
+  }
+
+  @Test
+  void getOrLoad_EvictedDuringLoad_LoadedValueNotCached() throws Exception {
+    var cache = new CaffeineCache("test", Caffeine.newBuilder().build());
+    var loading = new CountDownLatch(1);
+    var changed = new CountDownLatch(1);
+
+    var load = CompletableFuture.supplyAsync(() -> Caches.getOrLoad(cache, KEY, () -> {
+      loading.countDown();
+      await(changed);
+      return Optional.of("old value");
+    }));
+    assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+    var eviction = CompletableFuture.runAsync(() -> cache.evict(KEY));
+    assertThrows(TimeoutException.class, () -> eviction.get(200, TimeUnit.MILLISECONDS));
+    changed.countDown();
+    eviction.get(5, TimeUnit.SECONDS);
+
+    assertEquals(Optional.of("old value"), load.get(5, TimeUnit.SECONDS));
+    assertNull(cache.get(KEY));
+  }
+
+  @Test
+  void evictIf_CaffeineCache_EvictsMatchingValues() {
+    var cache = new CaffeineCache("test", Caffeine.newBuilder().build());
+    cache.put("a", "evicted");
+    cache.put("b", "kept");
+
+    Caches.evictIf(cache, "evicted"::equals);
+
+    assertNull(cache.get("a"));
+    assertEquals("kept", cache.get("b").get());
+  }
+
+  @Test
+  void evictIf_ConcurrentMapCache_EvictsMatchingValues() {
+    var cache = new ConcurrentMapCache("test");
+    cache.put("a", "evicted");
+    cache.put("b", "kept");
+
+    Caches.evictIf(cache, "evicted"::equals);
+
+    assertNull(cache.get("a"));
+    assertEquals("kept", cache.get("b").get());
+  }
+
+  @Test
+  void evictAfterCommit_NoTransaction_EvictsAtOnce() {
+    var cache = new ConcurrentMapCache("test");
+    cache.put(KEY, "value");
+
+    Caches.evictAfterCommit(() -> cache.evict(KEY));
+
+    assertNull(cache.get(KEY));
+  }
+
+  @Test
+  void evictAfterCommit_InTransaction_EvictsOnlyAfterCommit() {
+    var cache = new ConcurrentMapCache("test");
+    cache.put(KEY, "value");
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      Caches.evictAfterCommit(() -> cache.evict(KEY));
+      assertEquals("value", cache.get(KEY).get());
+
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+        TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+      assertEquals("value", cache.get(KEY).get());
+
+      TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+      assertNull(cache.get(KEY));
+    }
+    finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void getOrLoad_GivenCacheIsNull_ThrowsException() {
+    var exception = assertThrows(IllegalArgumentException.class, () -> {
+      Caches.getOrLoad(null, KEY, Optional::empty);
+    });
+    assertEquals("cache is null", exception.getMessage());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class CursorPageTest {
+
+  private static final Instant CREATED_AT = Instant.parse("2023-11-16T21:00:44.117212Z");
+
+  private static final List<UUID> IDS = List.of(
+    UUID.fromString("00000001-1111-0000-0000-000000000001"),
+    UUID.fromString("00000002-2222-0000-0000-000000000002"),
+    UUID.fromString("00000003-3333-0000-0000-000000000003"));
+
+  @Test
+  void of_MoreThanSizeFound_HasNextWithCursorOfLastItem() {
+    var result = CursorPage.of(IDS, 2, id -> new KeysetCursor(CREATED_AT, id));
+
+    assertEquals(IDS.subList(0, 2), result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals(new KeysetCursor(CREATED_AT, IDS.get(1)), KeysetCursor.decode(result.getNextCursor()));
+  }
+
+  @Test
+  void of_NotMoreThanSizeFound_HasNoNext() {
+    var result = CursorPage.of(IDS, 3, id -> new KeysetCursor(CREATED_AT, id));
+
+    assertEquals(IDS, result.getContent());
+    assertFalse(result.isHasNext());
+    assertNull(result.getNextCursor());
+  }
+
+  @Test
+  void of_MappedResults_ReturnsMappedContentWithCursorOfLastResult() {
+    var result = CursorPage.of(IDS, 2, UUID::toString, id -> "after-" + id);
+
+    assertEquals(List.of(IDS.get(0).toString(), IDS.get(1).toString()), result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals("after-" + IDS.get(1), result.getNextCursor());
+  }
+}
@@ -0,0 +1,49 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+
+  @Test
+  void of_Version_ReturnsStrongETag() {
+    assertEquals("\"7\"", ETags.of(7L));
+  }
+
+  @Test
+  void of_NoVersion_ReturnsETagOfInitialVersion() {
+    assertEquals("\"0\"", ETags.of(null));
+  }
+
+  @Test
+  void of_VersionAndCount_ReturnsStrongETagOfBoth() {
+    assertEquals("\"7.42\"", ETags.of(7L, 42));
+    assertEquals("\"0.0\"", ETags.of(null, 0));
+  }
+
+  @Test
+  void parseVersion_ETagOfVersion_ReturnsVersion() {
+    assertEquals(Optional.of(7L), ETags.parseVersion(ETags.of(7L)));
+    assertEquals(Optional.of(7L), ETags.parseVersion(" \"7\" "));
+  }
+
+  @Test
+  void parseVersion_ETagOfVersionAndCount_ReturnsVersion() {
+    assertEquals(Optional.of(7L), ETags.parseVersion(ETags.of(7L, 42)));
+  }
+
+  @Test
+  void parseVersion_NoStrongETagOfVersion_ReturnsEmpty() {
+    assertTrue(ETags.parseVersion(null).isEmpty());
+    assertTrue(ETags.parseVersion("W/\"7\"").isEmpty());
+    assertTrue(ETags.parseVersion("\"7\", \"8\"").isEmpty());
+    assertTrue(ETags.parseVersion("7").isEmpty());
+    assertTrue(ETags.parseVersion("\"abc\"").isEmpty());
+    assertTrue(ETags.parseVersion("\"7.\"").isEmpty());
+    assertTrue(ETags.parseVersion("\"99999999999999999999\"").isEmpty());
+  }
+}
@@ -6,6 +6,8 @@ import org.mockito.Mock;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -25,7 +27,7 @@ class GenerateIdForRepositoryOperationTest {
     when(generatorMock.generate()).thenReturn("ab777cd");
     when(repositoryMock.existsById(any())).thenReturn(false);
 
-    var generatedId = new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 0).execute();
+    var generatedId = new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 0, IdGenerationMetrics.NONE).execute();
 
     assertEquals("ab777cd", generatedId);
   }
@@ -35,18 +37,31 @@ class GenerateIdForRepositoryOperationTest {
     when(generatorMock.generate()).thenReturn("xx456pp");
     when(repositoryMock.existsById(any())).thenReturn(true, true, false);
     
-    var generatedId = new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 2).execute();
+    var generatedId = new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 2, IdGenerationMetrics.NONE).execute();
 
     assertEquals("xx456pp", generatedId);
   }
 
+  @Test
+  void execute_SuccessOnRetry_RecordsAttempts() {
+    var registry = new SimpleMeterRegistry();
+    when(generatorMock.generate()).thenReturn("xx456pp");
+    when(repositoryMock.existsById(any())).thenReturn(true, false);
+
+    new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 2, new IdGenerationMetrics(registry)).execute();
+
+    var attempts = registry.get(MetricNames.ID_GENERATION_ATTEMPTS).tags("operation", "generate", "outcome", "success").summary();
+    assertEquals(1, attempts.count());
+    assertEquals(2, attempts.totalAmount());
+  }
+
   @Test
   void execute_ExceedsMaxRetries_ThrowsGeneratedIdException() {
     when(generatorMock.generate()).thenReturn("fg222nm");
     when(repositoryMock.existsById(any())).thenReturn(true, true, false);
     
     assertThrows(GenerateIdException.class, () -> {
-      new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 1).execute();
+      new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 1, IdGenerationMetrics.NONE).execute();
     });
   }
 
@@ -56,7 +71,7 @@ class GenerateIdForRepositoryOperationTest {
     when(repositoryMock.existsById(any())).thenReturn(false);
     
     assertThrows(GenerateIdException.class, () -> {
-      new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 1).execute();
+      new GenerateIdForRepositoryOperation<>(generatorMock, repositoryMock, 1, IdGenerationMetrics.NONE).execute();
     });
   }  
 }
@@ -0,0 +1,132 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ImportReaderTest {
+
+  @SuppressWarnings("rawtypes")
+  private static final Class<Map> TYPE = Map.class;
+
+  @Test
+  void next_Ndjson_ReadsLinesAndSkipsBlankLines() throws IOException {
+    var reader = reader(ImportFormat.NDJSON, "{\"name\":\"a\"}\n\n{\"name\":\"b\"}\n");
+
+    var first = reader.next().orElseThrow();
+    assertEquals(1, first.number());
+    assertEquals(Map.of("name", "a"), first.value());
+    var second = reader.next().orElseThrow();
+    assertEquals(3, second.number());
+    assertEquals(Map.of("name", "b"), second.value());
+    assertTrue(reader.next().isEmpty());
+  }
+
+  @Test
+  void next_NdjsonMalformedLine_ReturnsErrorAndContinues() throws IOException {
+    var reader = reader(ImportFormat.NDJSON, "{\"name\":\n{\"name\":\"b\"}");
+
+    var failed = reader.next().orElseThrow();
+    assertNull(failed.value());
+    assertEquals("Line cannot be read", failed.error());
+    assertEquals(Map.of("name", "b"), reader.next().orElseThrow().value());
+  }
+
+  @Test
+  void next_LineTooLong_ReturnsErrorAndContinues() throws IOException {
+    var reader = reader(ImportFormat.NDJSON, "x".repeat(ImportReader.MAX_LINE_LENGTH + 1) + "\n{\"name\":\"b\"}\r\n");
+
+    var failed = reader.next().orElseThrow();
+    assertEquals(1, failed.number());
+    assertNull(failed.value());
+    assertEquals("Line is longer than " + ImportReader.MAX_LINE_LENGTH + " characters", failed.error());
+    var next = reader.next().orElseThrow();
+    assertEquals(2, next.number());
+    assertEquals(Map.of("name", "b"), next.value());
+    assertTrue(reader.next().isEmpty());
+  }
+
+  @Test
+  void next_LongestLine_Read() throws IOException {
+    var name = "x".repeat(ImportReader.MAX_LINE_LENGTH - "{\"name\":\"\"}".length());
+    var reader = reader(ImportFormat.NDJSON, "{\"name\":\"" + name + "\"}");
+
+    assertEquals(Map.of("name", name), reader.next().orElseThrow().value());
+  }
+
+  @Test
+  void next_Csv_MapsFieldsToHeader() throws IOException {
+    var reader = reader(ImportFormat.CSV, "name,note\n\"a, \"\"b\"\"\",x\nc,\n");
+
+    var first = reader.next().orElseThrow();
+    assertEquals(2, first.number());
+    assertEquals(Map.of("name", "a, \"b\"", "note", "x"), first.value());
+    assertEquals(Map.of("name", "c", "note", ""), reader.next().orElseThrow().value());
+    assertTrue(reader.next().isEmpty());
+  }
+
+  @Test
+  void next_CsvQuotedLineBreak_KeptInField() throws IOException {
+    var reader = reader(ImportFormat.CSV, "name,note\r\n\"a\nb\",x\r\nc,y\n");
+
+    var first = reader.next().orElseThrow();
+    assertEquals(2, first.number());
+    assertEquals(Map.of("name", "a\nb", "note", "x"), first.value());
+    var second = reader.next().orElseThrow();
+    assertEquals(4, second.number());
+    assertEquals(Map.of("name", "c", "note", "y"), second.value());
+    assertTrue(reader.next().isEmpty());
+  }
+
+  @Test
+  void next_CsvWrongNumberOfFields_ReturnsError() throws IOException {
+    var reader = reader(ImportFormat.CSV, "name\na,b\n");
+
+    assertEquals("Line cannot be read", reader.next().orElseThrow().error());
+  }
+
+  @Test
+  void next_CsvUnclosedQuoteInHeader_ThrowsException() {
+    var reader = reader(ImportFormat.CSV, "\"name\na\n");
+
+    var exception = assertThrows(InvalidImportHeaderException.class, reader::next);
+    assertEquals("CSV header cannot be read", exception.getMessage());
+  }
+
+  @Test
+  void next_CsvHeaderLacksRequiredColumn_ThrowsException() {
+    var reader = reader(ImportFormat.CSV, "title,note\na,b\n");
+
+    var exception = assertThrows(InvalidImportHeaderException.class, reader::next);
+    assertEquals("CSV header lacks the columns name", exception.getMessage());
+  }
+
+  @Test
+  void next_NdjsonWithoutRequiredColumn_ReadsLines() throws IOException {
+    var reader = reader(ImportFormat.NDJSON, "{\"title\":\"a\"}\n");
+
+    assertEquals(Map.of("title", "a"), reader.next().orElseThrow().value());
+  }
+
+  @Test
+  void splitCsv_EmptyFields_Kept() {
+    assertEquals(List.of("", "a", ""), ImportReader.splitCsv(",a,"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ImportReader<Map<String, String>> reader(ImportFormat format, String text) {
+    return new ImportReader<>(new BufferedReader(new StringReader(text)), format, new ObjectMapper(), (Class<Map<String, String>>) (Class<?>) TYPE, Set.of("name"));
+  }
+}
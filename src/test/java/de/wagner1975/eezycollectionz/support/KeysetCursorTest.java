@@ -0,0 +1,33 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+  private static final Instant CREATED_AT = Instant.parse("2023-11-16T21:00:44.117212Z");
+  private static final UUID ID = UUID.fromString("20000000-b400-4000-8000-20000000b400");
+
+  @Test
+  void decode_EncodedCursor_ReturnsEqualCursor() {
+    var cursor = new KeysetCursor(CREATED_AT, ID);
+
+    assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  void decode_NoBase64_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("#?!"));
+  }
+
+  @Test
+  void decode_MalformedContent_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+    assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("eHl6fDEyMw"));
+  }
+}
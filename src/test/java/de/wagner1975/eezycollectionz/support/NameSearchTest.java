@@ -0,0 +1,97 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class NameSearchTest {
+
+  private static final UUID ID = UUID.fromString("20000000-b400-4000-8000-20000000b400");
+  private static final UUID ID_1 = UUID.fromString("00000001-1111-0000-0000-000000000001");
+  private static final UUID ID_2 = UUID.fromString("00000002-2222-0000-0000-000000000002");
+  private static final UUID ID_3 = UUID.fromString("00000003-3333-0000-0000-000000000003");
+
+  @Test
+  void sql_PrefixWithCondition_MatchesLowerCasedNamesInByteOrder() {
+    var sql = new NameSearch(SearchMode.PREFIX, "Ent", null, 10).sql("entry", "id, name", "collection_id = :collectionId");
+
+    assertThat(sql, containsString("WHERE collection_id = :collectionId AND lower(name) COLLATE \"C\" LIKE lower(:pattern)"));
+    assertThat(sql, containsString("ORDER BY lower(name) COLLATE \"C\", id LIMIT :limit"));
+    assertThat(sql, not(containsString(":afterId")));
+  }
+
+  @Test
+  void sql_FuzzyAfterCursor_ContinuesInDistanceOrderOnly() {
+    var after = new SearchCursor(SearchMode.FUZZY, "0.5", ID);
+    var sql = new NameSearch(SearchMode.FUZZY, "Entyr", after, 10).sql("entry", "id, name");
+
+    assertThat(sql, containsString(
+      "WHERE name % :query AND name <-> :query >= CAST(:afterKey AS real) AND id NOT IN (:afterIds)"));
+    assertThat(sql, containsString("ORDER BY name <-> :query LIMIT :limit"));
+  }
+
+  @Test
+  void hitMapper_FuzzyTies_CursorHoldsIdsAtSameDistance() throws SQLException {
+    var after = new SearchCursor(SearchMode.FUZZY, "0.5", ID);
+    var mapper = new NameSearch(SearchMode.FUZZY, "Entyr", after, 10).<String>hitMapper(
+      (resultSet, rowNum) -> resultSet.getString("name"));
+
+    var hit1 = mapper.mapRow(row(ID_1, "0.5"), 0);
+    var hit2 = mapper.mapRow(row(ID_2, "0.6"), 1);
+    var hit3 = mapper.mapRow(row(ID_3, "0.6"), 2);
+
+    assertEquals(new SearchCursor(SearchMode.FUZZY, "0.5", List.of(ID, ID_1)), hit1.cursor());
+    assertEquals(new SearchCursor(SearchMode.FUZZY, "0.6", List.of(ID_2)), hit2.cursor());
+    assertEquals(new SearchCursor(SearchMode.FUZZY, "0.6", List.of(ID_2, ID_3)), hit3.cursor());
+    assertEquals("name of " + ID_3, hit3.item());
+  }
+
+  @Test
+  void hitMapper_Prefix_CursorHoldsIdOfRow() throws SQLException {
+    var mapper = new NameSearch(SearchMode.PREFIX, "Ent", null, 10).<String>hitMapper(
+      (resultSet, rowNum) -> resultSet.getString("name"));
+
+    mapper.mapRow(row(ID_1, "Entry A"), 0);
+    var hit = mapper.mapRow(row(ID_2, "Entry A"), 1);
+
+    assertEquals(new SearchCursor(SearchMode.PREFIX, "Entry A", ID_2), hit.cursor());
+  }
+
+  @Test
+  void parameters_QueryWithWildcards_EscapesPatternAndLimitsToOneMore() {
+    var parameters = new NameSearch(SearchMode.PREFIX, "50%_a\\b", null, 10).parameters();
+
+    assertEquals("50\\%\\_a\\\\b%", parameters.getValue("pattern"));
+    assertEquals(11, parameters.getValue("limit"));
+  }
+
+  @Test
+  void new_InvalidArguments_ThrowsException() {
+    var after = new SearchCursor(SearchMode.PREFIX, "Entry", ID);
+
+    assertThrows(IllegalArgumentException.class, () -> new NameSearch(SearchMode.PREFIX, " ", null, 10));
+    assertThrows(IllegalArgumentException.class,
+      () -> new NameSearch(SearchMode.PREFIX, "x".repeat(NameSearch.MAX_QUERY_LENGTH + 1), null, 10));
+    assertThrows(IllegalArgumentException.class, () -> new NameSearch(SearchMode.FUZZY, "Entry", after, 10));
+    assertThrows(IllegalArgumentException.class, () -> new NameSearch(SearchMode.PREFIX, "Entry", null, 0));
+  }
+
+  private static ResultSet row(UUID id, String searchKey) throws SQLException {
+    var resultSet = mock(ResultSet.class);
+    when(resultSet.getObject("id", UUID.class)).thenReturn(id);
+    when(resultSet.getString("search_key")).thenReturn(searchKey);
+    when(resultSet.getString("name")).thenReturn("name of " + id);
+    return resultSet;
+  }
+}
@@ -0,0 +1,102 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PooledIdGeneratorTest {
+
+  private final AtomicInteger counter = new AtomicInteger();
+
+  private final IdGenerator<Integer> delegate = counter::incrementAndGet;
+
+  @Test
+  void constructor_FillsPool() {
+    var generator = new PooledIdGenerator<>(delegate, 8, Runnable::run);
+
+    assertEquals(8, generator.getDepth());
+    assertEquals(8, counter.get());
+  }
+
+  @Test
+  void generate_PoolFilled_ReturnsPooledIdsInOrder() {
+    var generator = new PooledIdGenerator<>(delegate, 8, Runnable::run);
+
+    assertEquals(1, generator.generate());
+    assertEquals(2, generator.generate());
+    assertEquals(0, generator.getStalls());
+  }
+
+  @Test
+  void generate_BelowThreshold_RefillsPool() {
+    var generator = new PooledIdGenerator<>(delegate, 4, Runnable::run);
+
+    generator.generate();
+    generator.generate();
+
+    assertEquals(4, generator.getDepth());
+    assertEquals(6, counter.get());
+  }
+
+  @Test
+  void generate_RingWrapsAround_ReturnsEachIdOnceInOrder() {
+    var generator = new PooledIdGenerator<>(delegate, 4, Runnable::run);
+
+    for (var expected = 1; expected <= 20; expected++) {
+      assertEquals(expected, generator.generate());
+    }
+    assertEquals(0, generator.getStalls());
+  }
+
+  @Test
+  void generate_ConcurrentCallers_ReturnEachIdOnce() throws Exception {
+    var executor = Executors.newSingleThreadExecutor();
+    try (var generator = new PooledIdGenerator<>(delegate, 64, executor)) {
+      var ids = ConcurrentHashMap.<Integer>newKeySet();
+      var callers = IntStream.range(0, 8)
+        .mapToObj(caller -> CompletableFuture.runAsync(() -> {
+          for (var i = 0; i < 10_000; i++) {
+            ids.add(generator.generate());
+          }
+        }))
+        .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(callers).get(30, TimeUnit.SECONDS);
+
+      assertEquals(80_000, ids.size());
+    }
+  }
+
+  @Test
+  void generate_PoolEmpty_FallsBackToDelegateAndCountsStall() {
+    var generator = new PooledIdGenerator<>(delegate, 4, runnable -> {});
+
+    assertEquals(1, generator.generate());
+    assertEquals(1, generator.getStalls());
+  }
+
+  @Test
+  void bindTo_RegistersMeters() {
+    var registry = new SimpleMeterRegistry();
+    var generator = new PooledIdGenerator<>(delegate, 4, Runnable::run);
+    generator.bindTo(registry);
+
+    assertEquals(4.0, registry.get(MetricNames.ID_POOL_DEPTH).gauge().value());
+    assertEquals(1.0, registry.get(MetricNames.ID_POOL_REFILLS).functionCounter().count());
+    assertEquals(0.0, registry.get(MetricNames.ID_POOL_STALLS).functionCounter().count());
+  }
+
+  @Test
+  void constructor_CapacityNotPositive_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> new PooledIdGenerator<>(delegate, 0, Runnable::run));
+  }
+}
@@ -0,0 +1,72 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class RequestParametersTest {
+
+  @Test
+  void keysetCursor_NoCursor_ReturnsNull() {
+    assertNull(RequestParameters.keysetCursor(null, 10));
+  }
+
+  @Test
+  void keysetCursor_InvalidSizeOrCursor_ThrowsBadRequest() {
+    assertBadRequest("Invalid size", () -> RequestParameters.keysetCursor(null, 0));
+    assertBadRequest("Invalid size", () -> RequestParameters.keysetCursor(null, CursorPage.MAX_SIZE + 1));
+    assertBadRequest("Invalid cursor", () -> RequestParameters.keysetCursor("not a cursor", 10));
+  }
+
+  @Test
+  void nameSearch_ValidParameters_ReturnsSearch() {
+    var cursor = new SearchCursor(SearchMode.PREFIX, "Alien", UUID.randomUUID());
+
+    var search = RequestParameters.nameSearch("ali", SearchMode.PREFIX, cursor.encode(), 5);
+
+    assertEquals(new NameSearch(SearchMode.PREFIX, "ali", cursor, 5), search);
+  }
+
+  @Test
+  void nameSearch_InvalidQueryOrCursor_ThrowsBadRequest() {
+    assertBadRequest("Invalid query", () -> RequestParameters.nameSearch(" ", SearchMode.PREFIX, null, 10));
+    assertBadRequest("Invalid query",
+      () -> RequestParameters.nameSearch("x".repeat(NameSearch.MAX_QUERY_LENGTH + 1), SearchMode.PREFIX, null, 10));
+    assertBadRequest("Invalid cursor", () -> RequestParameters.nameSearch("ali", SearchMode.PREFIX, "not a cursor", 10));
+
+    var fuzzyCursor = new SearchCursor(SearchMode.FUZZY, "0.5", UUID.randomUUID()).encode();
+    assertBadRequest("Invalid cursor", () -> RequestParameters.nameSearch("ali", SearchMode.PREFIX, fuzzyCursor, 10));
+  }
+
+  @Test
+  void expectedVersion_NoneOrAny_ReturnsNull() {
+    assertNull(RequestParameters.expectedVersion(null, "Entry was modified"));
+    assertNull(RequestParameters.expectedVersion(" * ", "Entry was modified"));
+  }
+
+  @Test
+  void expectedVersion_ETagOfVersion_ReturnsVersion() {
+    assertEquals(7L, RequestParameters.expectedVersion(ETags.of(7L, 42), "Entry was modified"));
+  }
+
+  @Test
+  void expectedVersion_NoStrongETagOfVersion_ThrowsPreconditionFailed() {
+    var exception = assertThrows(ResponseStatusException.class, () -> {
+      RequestParameters.expectedVersion("W/\"7\"", "Entry was modified");
+    });
+    assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+    assertEquals("Entry was modified", exception.getReason());
+  }
+
+  private static void assertBadRequest(String reason, Runnable call) {
+    var exception = assertThrows(ResponseStatusException.class, call::run);
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    assertEquals(reason, exception.getReason());
+  }
+}
@@ -0,0 +1,65 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(SpringExtension.class)
+class RowCountEstimatorTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplateMock;
+
+  private RowCountEstimator objectUnderTest;
+
+  @BeforeEach
+  void setUp() {
+    objectUnderTest = new RowCountEstimator(jdbcTemplateMock, new ObjectMapper());
+  }
+
+  @Test
+  void estimateTableRows_Analyzed_ReturnsRows() {
+    when(jdbcTemplateMock.query(any(String.class), ArgumentMatchers.<RowMapper<Long>>any(), eq("collection"))).thenReturn(List.of(1234L));
+
+    assertEquals(Optional.of(1234L), objectUnderTest.estimateTableRows("collection"));
+  }
+
+  @Test
+  void estimateTableRows_NeverAnalyzed_ReturnsEmpty() {
+    when(jdbcTemplateMock.query(any(String.class), ArgumentMatchers.<RowMapper<Long>>any(), eq("collection"))).thenReturn(List.of(-1L));
+
+    assertTrue(objectUnderTest.estimateTableRows("collection").isEmpty());
+  }
+
+  @Test
+  void estimateQueryRows_PlanWithRows_ReturnsPlanRows() {
+    when(jdbcTemplateMock.queryForObject(eq("EXPLAIN (FORMAT JSON) SELECT 1 FROM entry"), eq(String.class), any(Object[].class)))
+      .thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 42}}]");
+
+    assertEquals(Optional.of(42L), objectUnderTest.estimateQueryRows("SELECT 1 FROM entry"));
+  }
+
+  @Test
+  void estimateQueryRows_UnexpectedPlan_ReturnsEmpty() {
+    when(jdbcTemplateMock.queryForObject(eq("EXPLAIN (FORMAT JSON) SELECT 1 FROM entry"), eq(String.class), any(Object[].class)))
+      .thenReturn("no json");
+
+    assertTrue(objectUnderTest.estimateQueryRows("SELECT 1 FROM entry").isEmpty());
+  }
+}
@@ -0,0 +1,264 @@
+package de.wagner1975.eezycollectionz.support;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+
+@ExtendWith(SpringExtension.class)
+class SaveWithGeneratedIdOperationTest {
+
+  @Mock
+  private IdGenerator<String> generatorMock;
+
+  @Mock
+  private CrudRepository<String, String> repositoryMock;
+
+  @Test
+  void execute_CheckExistence_ChecksBeforeSave() {
+    when(generatorMock.generate()).thenReturn("ab777cd");
+    when(repositoryMock.existsById(any())).thenReturn(false);
+    when(repositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    var saved = new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 0, IdGenerationStrategy.CHECK_EXISTENCE, IdGenerationMetrics.NONE)
+      .execute(id -> "entity-" + id);
+
+    assertEquals("entity-ab777cd", saved);
+    verify(repositoryMock).existsById("ab777cd");
+  }
+
+  @Test
+  void execute_CheckExistenceExceedsMaxRetries_ThrowsGenerateIdException() {
+    when(generatorMock.generate()).thenReturn("fg222nm");
+    when(repositoryMock.existsById(any())).thenReturn(true);
+
+    assertThrows(GenerateIdException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 1, IdGenerationStrategy.CHECK_EXISTENCE, IdGenerationMetrics.NONE)
+        .execute(id -> "entity-" + id);
+    });
+    verify(repositoryMock, never()).save(any());
+  }
+
+  @Test
+  void execute_OptimisticNoRetryNeeded_SavesWithoutExistenceCheck() {
+    when(generatorMock.generate()).thenReturn("ab777cd");
+    when(repositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    var saved = new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 0, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+      .execute(id -> "entity-" + id);
+
+    assertEquals("entity-ab777cd", saved);
+    verify(repositoryMock, never()).existsById(any());
+  }
+
+  @Test
+  void execute_OptimisticSuccessOnRetry_ReturnsSavedEntity() {
+    when(generatorMock.generate()).thenReturn("xx456pp", "yy789qq");
+    when(repositoryMock.save("entity-xx456pp")).thenThrow(new DuplicateKeyException("duplicate"));
+    when(repositoryMock.save("entity-yy789qq")).thenReturn("entity-yy789qq");
+
+    var saved = new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 2, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+      .execute(id -> "entity-" + id);
+
+    assertEquals("entity-yy789qq", saved);
+    verify(repositoryMock, times(2)).save(any());
+  }
+
+  @Test
+  void execute_OptimisticExceedsMaxRetries_ThrowsGenerateIdException() {
+    when(generatorMock.generate()).thenReturn("fg222nm");
+    when(repositoryMock.save(any())).thenThrow(new DuplicateKeyException("duplicate"));
+
+    assertThrows(GenerateIdException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 1, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+        .execute(id -> "entity-" + id);
+    });
+    verify(repositoryMock, times(2)).save(any());
+  }
+
+  @Test
+  void execute_OptimisticDuplicateKeys_RecordsAttemptsAndOutcome() {
+    var registry = new SimpleMeterRegistry();
+    when(generatorMock.generate()).thenReturn("fg222nm");
+    when(repositoryMock.save(any())).thenThrow(new DuplicateKeyException("duplicate"));
+
+    assertThrows(GenerateIdException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 2, IdGenerationStrategy.OPTIMISTIC, new IdGenerationMetrics(registry))
+        .execute(id -> "entity-" + id);
+    });
+
+    var attempts = registry.get(MetricNames.ID_GENERATION_ATTEMPTS).tags("operation", "save", "outcome", "failure").summary();
+    assertEquals(1, attempts.count());
+    assertEquals(3, attempts.totalAmount());
+    assertEquals(1, registry.get(MetricNames.ID_GENERATION).tags("operation", "save", "outcome", "failure").timer().count());
+  }
+
+  @Test
+  void executeAll_SuccessOnRetry_RecordsAttempts() {
+    var registry = new SimpleMeterRegistry();
+    when(generatorMock.generate()).thenReturn("a1", "b1", "a2", "b2");
+    when(repositoryMock.saveAll(anyIterable()))
+      .thenThrow(new DuplicateKeyException("duplicate"))
+      .thenAnswer(invocation -> invocation.getArgument(0));
+
+    new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 2, IdGenerationStrategy.OPTIMISTIC, new IdGenerationMetrics(registry))
+      .executeAll(List.<Function<String, String>>of(id -> "entity-" + id, id -> "entity-" + id));
+
+    var attempts = registry.get(MetricNames.ID_GENERATION_ATTEMPTS).tags("operation", "saveAll", "outcome", "success").summary();
+    assertEquals(2, attempts.totalAmount());
+  }
+
+  @Test
+  void execute_OptimisticOtherIntegrityViolation_ThrowsException() {
+    when(generatorMock.generate()).thenReturn("fg222nm");
+    when(repositoryMock.save(any())).thenThrow(new DataIntegrityViolationException("foreign key"));
+
+    assertThrows(DataIntegrityViolationException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 3, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+        .execute(id -> "entity-" + id);
+    });
+    verify(repositoryMock, times(1)).save(any());
+  }
+
+  @Test
+  void execute_OptimisticForeignKeyViolation_ThrowsMissingReferenceException() {
+    when(generatorMock.generate()).thenReturn("fg222nm");
+    when(repositoryMock.save(any()))
+      .thenThrow(new DataIntegrityViolationException("constraint", new SQLException("foreign key", "23503")));
+
+    assertThrows(MissingReferenceException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 3, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+        .execute(id -> "entity-" + id);
+    });
+    verify(repositoryMock, times(1)).save(any());
+  }
+
+  @Test
+  void execute_CheckExistenceForeignKeyViolation_ThrowsMissingReferenceException() {
+    when(generatorMock.generate()).thenReturn("fg222nm");
+    when(repositoryMock.existsById("fg222nm")).thenReturn(false);
+    when(repositoryMock.save(any()))
+      .thenThrow(new DataIntegrityViolationException("constraint", new SQLException("foreign key", "23503")));
+
+    assertThrows(MissingReferenceException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 3, IdGenerationStrategy.CHECK_EXISTENCE, IdGenerationMetrics.NONE)
+        .execute(id -> "entity-" + id);
+    });
+  }
+
+  @Test
+  void execute_OptimisticGeneratedIdIsAlwaysNull_ThrowsGenerateIdException() {
+    when(generatorMock.generate()).thenReturn(null);
+
+    assertThrows(GenerateIdException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 1, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+        .execute(id -> "entity-" + id);
+    });
+    verify(repositoryMock, never()).save(any());
+  }
+
+  @Test
+  void executeAll_Optimistic_SavesAllWithOneCall() {
+    when(generatorMock.generate()).thenReturn("aa111bb", "cc222dd");
+    when(repositoryMock.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    var saved = new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 0, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+      .executeAll(List.<Function<String, String>>of(id -> "first-" + id, id -> "second-" + id));
+
+    assertEquals(List.of("first-aa111bb", "second-cc222dd"), saved);
+    verify(repositoryMock, times(1)).saveAll(anyIterable());
+    verify(repositoryMock, never()).findAllById(anyIterable());
+  }
+
+  @Test
+  void executeAll_OptimisticDuplicateKey_RetriesBatchWithNewIds() {
+    when(generatorMock.generate()).thenReturn("aa111bb", "cc222dd", "ee333ff", "gg444hh");
+    when(repositoryMock.saveAll(List.of("entity-aa111bb", "entity-cc222dd"))).thenThrow(new DuplicateKeyException("duplicate"));
+    when(repositoryMock.saveAll(List.of("entity-ee333ff", "entity-gg444hh"))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    var saved = new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 1, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+      .executeAll(List.<Function<String, String>>of(id -> "entity-" + id, id -> "entity-" + id));
+
+    assertEquals(List.of("entity-ee333ff", "entity-gg444hh"), saved);
+  }
+
+  @Test
+  void executeAll_ForeignKeyViolation_ThrowsMissingReferenceException() {
+    when(generatorMock.generate()).thenReturn("aa111bb", "cc222dd");
+    when(repositoryMock.saveAll(anyIterable()))
+      .thenThrow(new DataIntegrityViolationException("constraint", new SQLException("foreign key", "23503")));
+
+    assertThrows(MissingReferenceException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 3, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+        .executeAll(List.<Function<String, String>>of(id -> "entity-" + id, id -> "entity-" + id));
+    });
+    verify(repositoryMock, times(1)).saveAll(anyIterable());
+  }
+
+  @Test
+  void executeAll_DuplicateIdWithinBatch_RetriesBatchWithNewIds() {
+    when(generatorMock.generate()).thenReturn("aa111bb", "aa111bb", "ee333ff", "gg444hh");
+    when(repositoryMock.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    var saved = new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 1, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+      .executeAll(List.<Function<String, String>>of(id -> "entity-" + id, id -> "entity-" + id));
+
+    assertEquals(List.of("entity-ee333ff", "entity-gg444hh"), saved);
+  }
+
+  @Test
+  void executeAll_CheckExistenceIdExists_ThrowsGenerateIdException() {
+    when(generatorMock.generate()).thenReturn("aa111bb");
+    when(repositoryMock.findAllById(anyIterable())).thenReturn(List.of("entity-aa111bb"));
+
+    assertThrows(GenerateIdException.class, () -> {
+      new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 1, IdGenerationStrategy.CHECK_EXISTENCE, IdGenerationMetrics.NONE)
+        .executeAll(List.<Function<String, String>>of(id -> "entity-" + id));
+    });
+    verify(repositoryMock, times(2)).findAllById(anyIterable());
+    verify(repositoryMock, never()).saveAll(anyIterable());
+  }
+
+  @Test
+  void executeAll_NoFactories_ReturnsEmptyList() {
+    var saved = new SaveWithGeneratedIdOperation<>(generatorMock, repositoryMock, 1, IdGenerationStrategy.OPTIMISTIC, IdGenerationMetrics.NONE)
+      .executeAll(List.of());
+
+    assertTrue(saved.isEmpty());
+    verify(generatorMock, never()).generate();
+  }
+
+  @Test
+  void isDuplicateKey_UniqueViolationInCauses_ReturnsTrue() {
+    var ex = new DataIntegrityViolationException("constraint", new SQLException("duplicate key", "23505"));
+
+    assertTrue(SaveWithGeneratedIdOperation.isDuplicateKey(ex));
+  }
+
+  @Test
+  void isDuplicateKey_ForeignKeyViolationInCauses_ReturnsFalse() {
+    var ex = new DataIntegrityViolationException("constraint", new SQLException("foreign key", "23503"));
+
+    assertFalse(SaveWithGeneratedIdOperation.isDuplicateKey(ex));
+  }
+}
@@ -0,0 +1,55 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class SearchCursorTest {
+
+  private static final UUID ID = UUID.fromString("20000000-b400-4000-8000-20000000b400");
+  private static final UUID OTHER_ID = UUID.fromString("20000000-b401-4000-8000-20000000b401");
+
+  @Test
+  void decode_EncodedCursorWithSeparatorInName_ReturnsEqualCursor() {
+    var cursor = new SearchCursor(SearchMode.PREFIX, "Entry | V", ID);
+
+    assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  void decode_EncodedFuzzyCursor_ReturnsEqualCursor() {
+    var cursor = new SearchCursor(SearchMode.FUZZY, "0.4117647", ID);
+
+    assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  void decode_EncodedFuzzyCursorWithTiedIds_ReturnsEqualCursor() {
+    var cursor = new SearchCursor(SearchMode.FUZZY, "0.4117647", List.of(ID, OTHER_ID));
+
+    var decoded = SearchCursor.decode(cursor.encode());
+    assertEquals(cursor, decoded);
+    assertEquals(OTHER_ID, decoded.id());
+  }
+
+  @Test
+  void new_PrefixCursorWithSeveralIds_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> new SearchCursor(SearchMode.PREFIX, "Entry", List.of(ID, OTHER_ID)));
+  }
+
+  @Test
+  void new_FuzzyCursorWithoutDistance_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> new SearchCursor(SearchMode.FUZZY, "Entry", ID));
+  }
+
+  @Test
+  void decode_MalformedContent_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("#?!"));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("bm8tc2VwYXJhdG9y"));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("eHl6fGFiY3wxMjM"));
+  }
+}
@@ -0,0 +1,39 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+class SliceResultTest {
+
+  @Test
+  void of_NoApproximateTotal_TotalIsNull() {
+    var result = SliceResult.of(new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true), null);
+
+    assertEquals(List.of("a", "b"), result.getContent());
+    assertEquals(1, result.getPage());
+    assertEquals(2, result.getSize());
+    assertTrue(result.isHasNext());
+    assertNull(result.getApproximateTotal());
+  }
+
+  @Test
+  void of_ApproximateTotalTooLow_ReturnsKnownMinimum() {
+    var result = SliceResult.of(new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true), 3L);
+
+    assertEquals(5L, result.getApproximateTotal());
+  }
+
+  @Test
+  void of_ApproximateTotalHighEnough_ReturnsApproximateTotal() {
+    var result = SliceResult.of(new SliceImpl<>(List.of("a"), PageRequest.of(0, 2), false), 40L);
+
+    assertEquals(40L, result.getApproximateTotal());
+  }
+}
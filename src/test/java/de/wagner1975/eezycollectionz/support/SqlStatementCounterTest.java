@@ -0,0 +1,52 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+
+class SqlStatementCounterTest {
+
+  @AfterEach
+  void tearDown() {
+    SqlStatementCounter.stop();
+  }
+
+  @Test
+  void stop_AfterStatements_ReturnsCount() {
+    SqlStatementCounter.start();
+    executeStatement();
+    executeStatement();
+
+    assertEquals(OptionalLong.of(2), SqlStatementCounter.current());
+    assertEquals(OptionalLong.of(2), SqlStatementCounter.stop());
+    assertTrue(SqlStatementCounter.current().isEmpty());
+  }
+
+  @Test
+  void current_NotStarted_ReturnsEmpty() {
+    executeStatement();
+
+    assertTrue(SqlStatementCounter.current().isEmpty());
+  }
+
+  @Test
+  void start_AfterStatements_RestartsAtZero() {
+    SqlStatementCounter.start();
+    executeStatement();
+    SqlStatementCounter.start();
+
+    assertEquals(OptionalLong.of(0), SqlStatementCounter.current());
+  }
+
+  private static void executeStatement() {
+    SqlStatementCounter.LISTENER.beforeQuery(new ExecutionInfo(), List.of());
+    SqlStatementCounter.LISTENER.afterQuery(new ExecutionInfo(), List.of());
+  }
+}
@@ -0,0 +1,49 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import net.ttddyy.dsproxy.ExecutionInfo;
+
+class StatementCountFilterTest {
+
+  @Test
+  void doFilter_TwoStatements_HeaderAndMetric() throws ServletException, IOException {
+    var registry = new SimpleMeterRegistry();
+    var request = new MockHttpServletRequest("GET", "/api/collections/1");
+    var response = new MockHttpServletResponse();
+
+    new StatementCountFilter(registry).doFilter(request, response, (filterRequest, filterResponse) -> {
+      filterRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/collections/{id}");
+      SqlStatementCounter.LISTENER.afterQuery(new ExecutionInfo(), List.of());
+      SqlStatementCounter.LISTENER.afterQuery(new ExecutionInfo(), List.of());
+    });
+
+    assertEquals("2", response.getHeader(StatementCountFilter.HEADER));
+    var summary = registry.get(MetricNames.HTTP_STATEMENTS).tags("method", "GET", "uri", "/api/collections/{id}").summary();
+    assertEquals(1, summary.count());
+    assertEquals(2, summary.totalAmount());
+    assertTrue(SqlStatementCounter.current().isEmpty());
+  }
+
+  @Test
+  void doFilter_ResponseCommitted_NoHeader() throws ServletException, IOException {
+    var response = new MockHttpServletResponse();
+
+    new StatementCountFilter(new SimpleMeterRegistry()).doFilter(new MockHttpServletRequest(), response,
+      (filterRequest, filterResponse) -> filterResponse.flushBuffer());
+
+    assertNull(response.getHeader(StatementCountFilter.HEADER));
+  }
+}
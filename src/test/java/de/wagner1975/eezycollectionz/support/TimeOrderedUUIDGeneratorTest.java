@@ -0,0 +1,62 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUUIDGeneratorTest {
+
+  private static final Instant INSTANT_NOW = Instant.parse("2023-12-13T08:11:22.963Z");
+
+  @Test
+  void generate_Invoked_IsVersion7WithRfcVariant() {
+    var result = new TimeOrderedUUIDGenerator().generate();
+
+    assertNotNull(result);
+    assertEquals(7, result.version());
+    assertEquals(2, result.variant());
+  }
+
+  @Test
+  void generate_Invoked_ContainsTimestamp() {
+    var clock = Clock.fixed(INSTANT_NOW, ZoneOffset.UTC);
+
+    var result = new TimeOrderedUUIDGenerator(clock, new Random()).generate();
+
+    assertEquals(INSTANT_NOW.toEpochMilli(), result.getMostSignificantBits() >>> 16);
+  }
+
+  @Test
+  void generate_SameMillisecond_StrictlyIncreasing() {
+    var generator = new TimeOrderedUUIDGenerator(Clock.fixed(INSTANT_NOW, ZoneOffset.UTC), new Random());
+
+    var previous = generator.generate();
+    for (var i = 0; i < 10_000; i++) {
+      var next = generator.generate();
+      assertTrue(next.compareTo(previous) > 0);
+      assertEquals(7, next.version());
+      previous = next;
+    }
+  }
+
+  @Test
+  void generate_ClockMovesBackwards_StrictlyIncreasing() {
+    var clockMock = mock(Clock.class);
+    when(clockMock.millis()).thenReturn(INSTANT_NOW.toEpochMilli(), INSTANT_NOW.minusSeconds(1).toEpochMilli());
+    var generator = new TimeOrderedUUIDGenerator(clockMock, new Random());
+
+    var before = generator.generate();
+    var after = generator.generate();
+
+    assertTrue(after.compareTo(before) > 0);
+  }
+}
@@ -0,0 +1,41 @@
+package de.wagner1975.eezycollectionz.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+class VirtualThreadConfigurationTest {
+
+  @Test
+  void newVirtualThreadPerTaskExecutor_Invoked_PresentFromJava24() {
+    var executor = VirtualThreadConfiguration.newVirtualThreadPerTaskExecutor();
+
+    assertEquals(Runtime.version().feature() >= 24, executor.isPresent());
+    executor.ifPresent(ExecutorService::shutdown);
+  }
+
+  @Test
+  void newVirtualThreadPerTaskExecutor_Java21PinsInSynchronized_Empty() {
+    assertTrue(VirtualThreadConfiguration.newVirtualThreadPerTaskExecutor(21).isEmpty());
+  }
+
+  @Test
+  @EnabledForJreRange(max = JRE.JAVA_20)
+  void customize_BeforeJava21_ExecutorKept() {
+    var protocolHandler = mock(ProtocolHandler.class);
+
+    new VirtualThreadConfiguration().virtualThreadProtocolHandlerCustomizer().customize(protocolHandler);
+
+    verify(protocolHandler, never()).setExecutor(any());
+  }
+}
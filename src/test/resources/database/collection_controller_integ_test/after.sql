@@ -1 +1,2 @@
+DELETE FROM entry;
 DELETE FROM collection;
@@ -0,0 +1,15 @@
+-- 1000 further collections of 100 entries each, whose names match neither the prefixes nor the
+-- similar names of the test queries, for the planner to face tables of realistic size
+INSERT INTO collection ("id", "created_at", "last_modified_at", "name")
+SELECT gen_random_uuid(), timestamp with time zone '2023-11-01 00:00:00+00' + c * interval '1 minute',
+  timestamp with time zone '2023-11-01 00:00:00+00' + c * interval '1 minute', 'Seeded ' || md5(c::text)
+FROM generate_series(1, 1000) c;
+
+INSERT INTO entry ("id", "created_at", "last_modified_at", "name", "collection_id")
+SELECT gen_random_uuid(), c.created_at + e * interval '1 second', c.created_at + e * interval '1 second',
+  'Seeded ' || md5(c.id::text || e), c.id
+FROM collection c CROSS JOIN generate_series(1, 100) e
+WHERE c.name LIKE 'Seeded %';
+
+ANALYZE collection;
+ANALYZE entry;